@@ -6,15 +6,31 @@ import dev.satyrn.papermc.api.storage.v1.MySQLConnectionManager;
 import dev.satyrn.xpeconomy.api.economy.AccountManager;
 import dev.satyrn.xpeconomy.commands.*;
 import dev.satyrn.xpeconomy.configuration.Configuration;
+import dev.satyrn.xpeconomy.economy.BalanceChangePublisher;
+import dev.satyrn.xpeconomy.economy.BinaryAccountManager;
+import dev.satyrn.xpeconomy.economy.BulkOperationEngine;
+import dev.satyrn.xpeconomy.economy.EconomyWriter;
 import dev.satyrn.xpeconomy.economy.ExperienceEconomy;
 import dev.satyrn.xpeconomy.economy.MySQLAccountManager;
+import dev.satyrn.xpeconomy.economy.PlayerAccountManagerBase;
+import dev.satyrn.xpeconomy.economy.SQLiteAccountManager;
+import dev.satyrn.xpeconomy.economy.WorldGroupPartitions;
 import dev.satyrn.xpeconomy.economy.YamlAccountManager;
+import dev.satyrn.xpeconomy.listeners.CommandPermissionEventListener;
 import dev.satyrn.xpeconomy.listeners.ExperienceBottleEventListener;
 import dev.satyrn.xpeconomy.listeners.InventoryEventListener;
 import dev.satyrn.xpeconomy.listeners.PlayerEventListener;
 import dev.satyrn.xpeconomy.listeners.WorldEventListener;
+import dev.satyrn.xpeconomy.storage.PooledConnectionManager;
+import dev.satyrn.xpeconomy.storage.StorageExecutor;
+import dev.satyrn.xpeconomy.tasks.AccountCacheEvictionTask;
+import dev.satyrn.xpeconomy.tasks.BalanceChangePublishTask;
+import dev.satyrn.xpeconomy.tasks.ConnectionPoolEvictionTask;
+import dev.satyrn.xpeconomy.tasks.HoldExpiryTask;
 import dev.satyrn.xpeconomy.utils.EconomyMethod;
+import dev.satyrn.xpeconomy.utils.PlayerResolver;
 import dev.satyrn.xpeconomy.utils.PlayerXPUtils;
+import dev.satyrn.xpeconomy.utils.StorageType;
 import net.milkbowl.vault.economy.Economy;
 import net.milkbowl.vault.permission.Permission;
 import org.bstats.bukkit.Metrics;
@@ -24,12 +40,16 @@ import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.javatuples.Pair;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeSet;
 import java.util.logging.Level;
 
 /**
@@ -41,6 +61,22 @@ public final class ExperienceEconomyPlugin extends JavaPlugin {
     private I18n i18n;
     // The account manager instance.
     private AccountManager accountManager;
+    // The MySQL connection pool, if the MySQL backend is in use.
+    private PooledConnectionManager connectionPool;
+    // The economy writer, if balance changes are applied on a single writer thread.
+    private EconomyWriter economyWriter;
+    // Applies balance commands to every account chosen by a selector.
+    private BulkOperationEngine bulkOperationEngine;
+    // The world group account partitions, if world groups are enabled.
+    private WorldGroupPartitions worldGroupPartitions;
+    // Resolves player name or UUID command arguments to accounts.
+    private PlayerResolver playerResolver;
+    // The player event listener.
+    private PlayerEventListener playerEventListener;
+    // The xpeconomy command handler, whose completions are cached.
+    private XPEconomyCommandHandler xpEconomyCommandHandler;
+    // The help command handler, whose pages are cached.
+    private HelpCommandHandler helpCommandHandler;
     // The telemetry instance.
     private Metrics metrics;
     // The configuration instance.
@@ -61,10 +97,22 @@ public final class ExperienceEconomyPlugin extends JavaPlugin {
             this.getLogger().setLevel(Level.INFO);
         }
 
+        if (this.worldGroupPartitions != null) {
+            this.worldGroupPartitions.setWorldGroups(WorldGroupPartitions.readWorldGroups(this.getConfig()
+                    .getConfigurationSection("worldGroups.groups"), this.getLogger()));
+        }
+
         if (this.i18n == null && I18n.getInstance() != null) {
             this.i18n = I18n.getInstance();
             this.i18n.setLocale(this.configuration.locale.value());
         }
+
+        if (this.xpEconomyCommandHandler != null) {
+            this.xpEconomyCommandHandler.invalidateCompletions();
+        }
+        if (this.helpCommandHandler != null) {
+            this.helpCommandHandler.invalidate();
+        }
     }
 
     /**
@@ -79,15 +127,17 @@ public final class ExperienceEconomyPlugin extends JavaPlugin {
             return;
         }
 
-        // Save the default config and accounts.yml
+        // Save the default config
         this.saveDefaultConfig();
-        if (!new File(this.getDataFolder().getPath() + "/accounts.yml").exists()) {
-            this.saveResource("accounts.yml", false);
-        }
 
         // Initialize configuration handler.
         this.configuration = new Configuration(this);
 
+        // Save the default accounts.yml. Sharded YAML storage uses one file per shard instead.
+        if (configuration.storageShards.value() == 1 && !new File(this.getDataFolder().getPath() + "/accounts.yml").exists()) {
+            this.saveResource("accounts.yml", false);
+        }
+
         // Setup logging level
         if (configuration.debug.value()) {
             this.getLogger().setLevel(Level.ALL);
@@ -108,7 +158,12 @@ public final class ExperienceEconomyPlugin extends JavaPlugin {
         // bStats metrics
         if (configuration.metrics.value() && this.metrics == null) {
             final Metrics metrics = new Metrics(this, 14015);
-            metrics.addCustomChart(new SimplePie("account_storage", () -> configuration.mysql.enabled.value() ? "MySQL" : "YAML"));
+            metrics.addCustomChart(new SimplePie("account_storage", () -> switch (configuration.getStorageType()) {
+                case MYSQL -> "MySQL";
+                case SQLITE -> "SQLite";
+                case BINARY -> "Binary";
+                default -> "YAML";
+            }));
             metrics.addCustomChart(new SimplePie("bottle_options_enabled", () -> configuration.bottleOptions.enabled.value() ? "Yes" : "No"));
             metrics.addCustomChart(new SimplePie("economy_method", () -> configuration.economyMethod.value()
                     .toString()
@@ -187,7 +242,46 @@ public final class ExperienceEconomyPlugin extends JavaPlugin {
                     .info(String.format("[%s] Plugin disabled. This may be due to a missing dependency. Do you have Vault installed?", this.getName()));
         }
 
-        this.accountManager.save();
+        if (this.playerEventListener != null) {
+            this.getLogger()
+                    .log(Level.FINE, "[Event] Account prefetch: {0} hit(s), {1} miss(es).", new Object[]{this.playerEventListener.getPrefetchHits(), this.playerEventListener.getPrefetchMisses()});
+        }
+
+        // Apply running bulk operations and queued balance changes before the final save.
+        if (this.bulkOperationEngine != null) {
+            this.bulkOperationEngine.close();
+        }
+        if (this.economyWriter != null) {
+            this.economyWriter.close();
+        }
+        if (this.accountManager.whenLoaded().isCompletedExceptionally()) {
+            this.getLogger()
+                    .warning("[Storage] Account data failed to load. Skipping the final save so stored accounts are not overwritten.");
+        } else if (this.accountManager.whenLoaded().isDone()) {
+            this.accountManager.flushAsync().join();
+        } else {
+            this.getLogger()
+                    .warning("[Storage] Account data did not finish loading. Skipping the final save so stored accounts are not overwritten.");
+        }
+        if (this.worldGroupPartitions != null) {
+            for (final Map.Entry<String, PlayerAccountManagerBase> partition : this.worldGroupPartitions.getPartitions().entrySet()) {
+                if (partition.getValue().isLoadFailed()) {
+                    this.getLogger()
+                            .log(Level.WARNING, "[Storage] Account data for world group {0} failed to load. Skipping its final save.", partition.getKey());
+                } else if (partition.getValue().whenLoaded().isDone()) {
+                    partition.getValue().flushAsync().join();
+                } else {
+                    this.getLogger()
+                            .log(Level.WARNING, "[Storage] Account data for world group {0} did not finish loading. Skipping its final save.", partition.getKey());
+                }
+                partition.getValue().close();
+            }
+        }
+        // World group partitions share the default accounts' storage executor, which is shut down here.
+        this.accountManager.close();
+        if (this.connectionPool != null) {
+            this.connectionPool.close();
+        }
 
         this.i18n.disable();
     }
@@ -199,24 +293,27 @@ public final class ExperienceEconomyPlugin extends JavaPlugin {
      * @param permissionProvider The permission manager instance.
      */
     private void registerCommands(final AccountManager accountManager, final Permission permissionProvider, final Configuration configuration) {
+        final PlayerResolver playerResolver = this.playerResolver;
+        this.bulkOperationEngine = new BulkOperationEngine(this, accountManager, permissionProvider, configuration);
         final CommandHandler aboutCommandHandler = new AboutCommandHandler(this, permissionProvider);
-        final CommandHandler addCommandHandler = new AddCommandHandler(this, permissionProvider, accountManager, configuration).setupCommand(this, "add");
-        final CommandHandler balanceCommandHandler = new BalanceCommandHandler(this, permissionProvider, accountManager, configuration).setupCommand(this, "balance");
-        final CommandHandler deductCommandHandler = new DeductCommandHandler(this, permissionProvider, accountManager, configuration).setupCommand(this, "deduct");
-        final CommandHandler experienceCommandHandler = new ExperienceCommandHandler(this, permissionProvider).setupCommand(this, "experience");
-        final CommandHandler helpCommandHandler = new HelpCommandHandler(this, permissionProvider);
-        final CommandHandler payCommandHandler = new PayCommandHandler(this, permissionProvider, accountManager, configuration).setupCommand(this, "pay");
+        final CommandHandler addCommandHandler = new AddCommandHandler(this, permissionProvider, accountManager, configuration, playerResolver, this.bulkOperationEngine).setupCommand(this, "add");
+        final CommandHandler balanceCommandHandler = new BalanceCommandHandler(this, permissionProvider, accountManager, configuration, playerResolver).setupCommand(this, "balance");
+        final CommandHandler deductCommandHandler = new DeductCommandHandler(this, permissionProvider, accountManager, configuration, playerResolver, this.bulkOperationEngine).setupCommand(this, "deduct");
+        final CommandHandler experienceCommandHandler = new ExperienceCommandHandler(this, permissionProvider, playerResolver).setupCommand(this, "experience");
+        final HelpCommandHandler helpCommandHandler = new HelpCommandHandler(this, permissionProvider);
+        final CommandHandler payCommandHandler = new PayCommandHandler(this, permissionProvider, accountManager, configuration, playerResolver).setupCommand(this, "pay");
         final CommandHandler reloadCommandHandler = new ReloadCommandHandler(this, permissionProvider, configuration);
-        final CommandHandler setCommandHandler = new SetCommandHandler(this, permissionProvider, accountManager, configuration).setupCommand(this, "setbalance");
-        final CommandHandler syncCommandHandler = new SyncCommandHandler(this, permissionProvider, accountManager, configuration).setupCommand(this, "syncxp");
-        final CommandHandler transferCommandHandler = new TransferCommandHandler(this, permissionProvider, accountManager, configuration).setupCommand(this, "transfer");
+        final CommandHandler setCommandHandler = new SetCommandHandler(this, permissionProvider, accountManager, configuration, playerResolver, this.bulkOperationEngine).setupCommand(this, "setbalance");
+        final CommandHandler syncCommandHandler = new SyncCommandHandler(this, permissionProvider, accountManager, configuration, playerResolver).setupCommand(this, "syncxp");
+        final CommandHandler transferCommandHandler = new TransferCommandHandler(this, permissionProvider, accountManager, configuration, playerResolver).setupCommand(this, "transfer");
 
         // TODO: Move subcommands into a resource file of some sort.
-        new XPEconomyCommandHandler(this, permissionProvider).registerSubcommand("about", aboutCommandHandler)
+        final XPEconomyCommandHandler xpEconomyCommandHandler = new XPEconomyCommandHandler(this, permissionProvider);
+        xpEconomyCommandHandler.registerSubcommand("about", aboutCommandHandler)
                 .registerSubcommand("add", "xpeconomy.balance.add", addCommandHandler, "addbal", "addbalance")
                 .registerSubcommand("balance", "xpeconomy.balance", balanceCommandHandler, "bal")
                 .registerSubcommand("deduct", "xpeconomy.balance.deduct", deductCommandHandler, "deductbal", "deductbalance", "remove", "removebal", "removebalance")
-                .registerSubcommand("experience", experienceCommandHandler, "xpeconomy.experience", "exp", "xp")
+                .registerSubcommand("experience", "xpeconomy.experience", experienceCommandHandler, "exp", "xp")
                 .registerSubcommand("help", helpCommandHandler)
                 .registerSubcommand("pay", "xpeconomy.pay", payCommandHandler, true, false)
                 .registerSubcommand("reload", "xpeconomy.reload", reloadCommandHandler)
@@ -224,6 +321,11 @@ public final class ExperienceEconomyPlugin extends JavaPlugin {
                 .registerSubcommand("sync", "xpeconomy.balance.sync", syncCommandHandler, "syncxp")
                 .registerSubcommand("transfer", "xpeconomy.balance.transfer", transferCommandHandler, "xfer")
                 .setupCommand(this, "xpeconomy");
+        this.getServer()
+                .getPluginManager()
+                .registerEvents(new CommandPermissionEventListener(xpEconomyCommandHandler, helpCommandHandler), this);
+        this.xpEconomyCommandHandler = xpEconomyCommandHandler;
+        this.helpCommandHandler = helpCommandHandler;
     }
 
     private Permission initializePermissionsProvider() {
@@ -254,21 +356,96 @@ public final class ExperienceEconomyPlugin extends JavaPlugin {
      * @return The account manager instance.
      */
     private AccountManager initializeEconomy(Configuration configuration) {
-        final AccountManager accountManager;
-        if (configuration.mysql.enabled.value()) {
+        if (configuration.getStorageType() == StorageType.MYSQL) {
             final MySQLConnectionManager connection = new MySQLConnectionManager(this, configuration.mysql);
-            accountManager = new MySQLAccountManager(configuration, this, connection);
-        } else {
-            accountManager = new YamlAccountManager(configuration, this);
+            this.connectionPool = new PooledConnectionManager(this, connection, configuration.connectionPool);
+            // Check for idle connections once a minute.
+            new ConnectionPoolEvictionTask(this, this.connectionPool).runTaskTimerAsynchronously(this, 1200L, 1200L);
+        }
+        final PlayerAccountManagerBase accountManager = this.createAccountManager(configuration, null, null);
+        final BalanceChangePublisher balanceChangePublisher = new BalanceChangePublisher(this);
+        accountManager.setBalanceChangePublisher(balanceChangePublisher);
+        // Publish the balance changes of each tick once, at the start of the next tick.
+        new BalanceChangePublishTask(balanceChangePublisher).runTaskTimer(this, 1L, 1L);
+        if (!accountManager.isLazyLoading() && configuration.accountCache.enabled.value()) {
+            this.getLogger()
+                    .warning("[Storage] The account cache is not supported by YAML storage. All accounts will be kept in memory.");
+        }
+
+        if (configuration.worldGroups.enabled.value()) {
+            final Map<String, String> worldGroups = WorldGroupPartitions.readWorldGroups(this.getConfig()
+                    .getConfigurationSection("worldGroups.groups"), this.getLogger());
+            final Map<String, PlayerAccountManagerBase> partitions = new LinkedHashMap<>();
+            for (final String group : new TreeSet<>(worldGroups.values())) {
+                // Partitions share the default accounts' storage executor, so the storage concurrency limit is global.
+                partitions.put(group, this.createAccountManager(configuration, group, accountManager.getStorageExecutor()));
+            }
+            this.worldGroupPartitions = new WorldGroupPartitions(accountManager, partitions, worldGroups);
+            this.getLogger().log(Level.FINE, "[Economy] World groups with separate accounts: {0}", partitions.keySet());
         }
-        accountManager.load();
 
-        final ExperienceEconomy economy = new ExperienceEconomy(this, accountManager, configuration);
+        if (configuration.singleWriter.value()) {
+            this.economyWriter = new EconomyWriter(this);
+        }
+        accountManager.setEconomyWriter(this.economyWriter);
+        // Only the default accounts are mirrored by player experience, which is only changed on the main thread.
+        accountManager.setExperienceExecutor(task -> {
+            if (this.isEnabled()) {
+                this.getServer().getScheduler().runTask(this, task);
+            }
+        });
+        if (this.worldGroupPartitions != null) {
+            for (final PlayerAccountManagerBase partition : this.worldGroupPartitions.getPartitions().values()) {
+                partition.setEconomyWriter(this.economyWriter);
+            }
+        }
+        this.playerResolver = new PlayerResolver(this.getServer(), accountManager);
+        // Names remembered as unknown are forgotten as soon as an account is added under them.
+        accountManager.setAccountListener(account -> this.playerResolver.forget(account.getName()));
+        final ExperienceEconomy economy = new ExperienceEconomy(this, accountManager, configuration, this.economyWriter, this.worldGroupPartitions, accountManager.getBanks());
         this.getServer().getServicesManager().register(Economy.class, economy, this, ServicePriority.Highest);
 
         return accountManager;
     }
 
+    /**
+     * Creates the account manager for the configured storage backend and starts loading its accounts in the
+     * background. Lookups wait for loading to finish, up to the configured timeout.
+     *
+     * @param configuration The configuration instance.
+     * @param partition       The world group whose accounts are held, or {@code null} for the default accounts.
+     * @param storageExecutor The storage executor shared with other account managers, or {@code null} to create one.
+     * @return The account manager instance.
+     */
+    private PlayerAccountManagerBase createAccountManager(final Configuration configuration, final @Nullable String partition, final @Nullable StorageExecutor storageExecutor) {
+        final PlayerAccountManagerBase accountManager = switch (configuration.getStorageType()) {
+            case MYSQL -> new MySQLAccountManager(configuration, this, this.connectionPool, partition, storageExecutor);
+            case SQLITE -> new SQLiteAccountManager(configuration, this, partition, storageExecutor);
+            case BINARY -> new BinaryAccountManager(configuration, this, partition, storageExecutor);
+            default -> new YamlAccountManager(configuration, this, partition, storageExecutor);
+        };
+        if (accountManager.isLazyLoading()) {
+            // Check for idle accounts once a minute.
+            new AccountCacheEvictionTask(this, accountManager).runTaskTimerAsynchronously(this, 1200L, 1200L);
+        }
+        // Advance the hold expiry wheel once a second.
+        new HoldExpiryTask(this, accountManager).runTaskTimerAsynchronously(this, 20L, 20L);
+
+        final String description = partition == null ? "account data" : "account data for world group " + partition;
+        final long loadStart = System.currentTimeMillis();
+        accountManager.loadAsync(accountManager.getStorageExecutor())
+                .whenComplete((ignored, ex) -> {
+                    if (ex != null) {
+                        this.getLogger()
+                                .log(Level.SEVERE, "[Storage] Failed to load " + description + ". Saving and creating accounts are disabled until the storage problem is fixed and the server is restarted, so stored accounts are not overwritten.", ex);
+                    } else {
+                        this.getLogger()
+                                .log(Level.FINE, "[Storage] Finished loading {0} in {1} ms.", new Object[]{description, System.currentTimeMillis() - loadStart});
+                    }
+                });
+        return accountManager;
+    }
+
     /**
      * Registers the various event listeners.
      *
@@ -276,8 +453,14 @@ public final class ExperienceEconomyPlugin extends JavaPlugin {
      */
     private void registerEvents(final AccountManager accountManager, final Permission permission, final Configuration configuration) {
         this.getServer().getPluginManager().registerEvents(new InventoryEventListener(this, accountManager), this);
-        this.getServer().getPluginManager().registerEvents(new PlayerEventListener(this, accountManager), this);
+        this.playerEventListener = new PlayerEventListener(this, accountManager, this.playerResolver);
+        this.getServer().getPluginManager().registerEvents(this.playerEventListener, this);
         this.getServer().getPluginManager().registerEvents(new WorldEventListener(this, accountManager), this);
+        if (this.worldGroupPartitions != null) {
+            for (final AccountManager partition : this.worldGroupPartitions.getPartitions().values()) {
+                this.getServer().getPluginManager().registerEvents(new WorldEventListener(this, partition), this);
+            }
+        }
         this.getServer()
                 .getPluginManager()
                 .registerEvents(new ExperienceBottleEventListener(this, accountManager, permission, configuration), this);
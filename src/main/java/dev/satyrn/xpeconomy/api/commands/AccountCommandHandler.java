@@ -1,12 +1,24 @@
 package dev.satyrn.xpeconomy.api.commands;
 
+import dev.satyrn.papermc.api.lang.v1.I18n;
 import dev.satyrn.xpeconomy.api.economy.AccountManager;
 import dev.satyrn.xpeconomy.configuration.Configuration;
+import dev.satyrn.xpeconomy.economy.BulkOperationEngine;
+import dev.satyrn.xpeconomy.utils.AccountSelector;
 import dev.satyrn.xpeconomy.utils.EconomyMethod;
+import dev.satyrn.xpeconomy.utils.PlayerResolver;
 import net.milkbowl.vault.permission.Permission;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Level;
+
 
 /**
  * Represents a command handler which manages accounts.
@@ -19,6 +31,8 @@ public abstract class AccountCommandHandler extends VaultCommandHandler {
     private final @NotNull AccountManager accountManager;
     // The configuration.
     private final @NotNull Configuration configuration;
+    // Resolves player arguments to accounts and online players.
+    private final @NotNull PlayerResolver playerResolver;
 
     /**
      * Represents a command which manages accounts or account balances.
@@ -27,11 +41,13 @@ public abstract class AccountCommandHandler extends VaultCommandHandler {
      * @param permission     The permission instance.
      * @param accountManager The account manager.
      * @param configuration  The configuration instance.
+     * @param playerResolver The player resolver instance.
      */
-    protected AccountCommandHandler(final @NotNull Plugin plugin, final @NotNull Permission permission, final @NotNull AccountManager accountManager, final @NotNull Configuration configuration) {
+    protected AccountCommandHandler(final @NotNull Plugin plugin, final @NotNull Permission permission, final @NotNull AccountManager accountManager, final @NotNull Configuration configuration, final @NotNull PlayerResolver playerResolver) {
         super(plugin, permission);
         this.accountManager = accountManager;
         this.configuration = configuration;
+        this.playerResolver = playerResolver;
     }
 
     /**
@@ -43,6 +59,15 @@ public abstract class AccountCommandHandler extends VaultCommandHandler {
         return accountManager;
     }
 
+    /**
+     * Gets the player resolver, which every account command uses to resolve its player arguments.
+     *
+     * @return The player resolver instance.
+     */
+    public @NotNull PlayerResolver getPlayerResolver() {
+        return this.playerResolver;
+    }
+
     /**
      * Gets the economy method.
      *
@@ -60,4 +85,65 @@ public abstract class AccountCommandHandler extends VaultCommandHandler {
     public @NotNull Configuration getConfiguration() {
         return configuration;
     }
+
+    /**
+     * Applies a balance operation to every account chosen by a selector argument. The sender is told when the
+     * operation starts, and again once every selected account has been changed.
+     * <p>
+     * Player senders need the operation's bulk permission. Online players with the operation's exempt permission are
+     * skipped unless the sender bypasses exempt checks.
+     *
+     * @param sender      The command sender.
+     * @param engine      The bulk operation engine.
+     * @param operation   The operation.
+     * @param amountArg   The amount argument. Amounts ending with {@code %} are percentages of each balance.
+     * @param selectorArg The selector argument.
+     */
+    protected final void runBulkOperation(final @NotNull CommandSender sender, final @NotNull BulkOperationEngine engine, final @NotNull BulkOperationEngine.Operation operation, final @NotNull String amountArg, final @NotNull String selectorArg) {
+        final String name = operation.getName();
+        final Permission permission = this.getPermission();
+        if (sender instanceof final Player player && !permission.has(player, "xpeconomy.balance." + name + ".bulk")) {
+            sender.sendMessage(I18n.tr("command.balance." + name + ".bulk.permission"));
+            return;
+        }
+
+        final Optional<AccountSelector> selector = AccountSelector.parse(selectorArg);
+        if (selector.isEmpty()) {
+            sender.sendMessage(I18n.tr("command.generic.selector.invalid", selectorArg));
+            return;
+        }
+
+        final EconomyMethod economyMethod = this.getEconomyMethod();
+        final Optional<BulkOperationEngine.Amount> amount = BulkOperationEngine.Amount.parse(amountArg, economyMethod);
+        if (amount.isEmpty()) {
+            sender.sendMessage(I18n.tr("command.balance." + name + ".parameter.amount.invalid", amountArg));
+            return;
+        }
+
+        // Exempt status is checked the same way as for a single player: only online players other than the sender.
+        final Set<UUID> exempt = new HashSet<>();
+        if (sender instanceof final Player player && !permission.has(player, "xpeconomy.balance." + name + ".exempt.bypass")) {
+            for (final Player target : this.getPlugin().getServer().getOnlinePlayers()) {
+                if (!target.getUniqueId().equals(player.getUniqueId()) && permission.has(target, "xpeconomy.balance." + name + ".exempt")) {
+                    exempt.add(target.getUniqueId());
+                }
+            }
+        }
+
+        final String amountText = amount.get().toString(economyMethod);
+        sender.sendMessage(I18n.tr("command.balance." + name + ".bulk.started", amountText, selector.get()));
+        engine.submit(selector.get(), operation, amount.get(), exempt).whenComplete((result, ex) -> this.getPlugin()
+                .getServer()
+                .getScheduler()
+                .runTask(this.getPlugin(), () -> {
+                    if (ex != null) {
+                        this.getPlugin()
+                                .getLogger()
+                                .log(Level.WARNING, String.format("[Command] Bulk %s for %s failed.", name, selector.get()), ex);
+                        sender.sendMessage(I18n.tr("command.balance." + name + ".bulk.failure"));
+                    } else {
+                        sender.sendMessage(I18n.tr("command.balance." + name + ".bulk.result", amountText, result.applied(), selector.get(), result.exempt(), result.failed()));
+                    }
+                }));
+    }
 }
@@ -84,7 +84,31 @@ public interface Account {
     @NotNull Account setBalanceRaw(final @NotNull BigInteger value, final boolean updateXPValue);
 
     /**
-     * Checks whether the account can withdraw a given amount.
+     * Sets the raw balance value only if it has not changed since it was read, without updating the player's XP.
+     *
+     * @param expected The raw balance which was read.
+     * @param value    The new raw balance.
+     * @return {@code true} if the balance was set; {@code false} if it had changed, and was left as it is.
+     */
+    boolean compareAndSetBalanceRaw(final @NotNull BigInteger expected, final @NotNull BigInteger value);
+
+    /**
+     * Adds a raw amount to the balance, which may be negative, without updating the player's XP.
+     *
+     * @param delta The raw amount to add.
+     * @return The new raw balance.
+     */
+    @NotNull BigInteger addBalanceRaw(final @NotNull BigInteger delta);
+
+    /**
+     * Gets the raw experience point amount held on the account by active {@link Hold holds}, which cannot be spent.
+     *
+     * @return The raw held amount.
+     */
+    @NotNull BigInteger getHeldRaw();
+
+    /**
+     * Checks whether the account can withdraw a given amount. Held amounts cannot be withdrawn.
      *
      * @param value The amount to withdraw.
      * @return Whether the account can withdraw a given amount.
@@ -98,10 +122,26 @@ public interface Account {
      */
     boolean withdraw(final @NotNull BigDecimal value);
 
+    /**
+     * Withdraws a given amount from the account and optionally updates the player's XP value.
+     *
+     * @param value         The amount to withdraw.
+     * @param updateXPValue If true, also updates the player's XP to match.
+     */
+    boolean withdraw(final @NotNull BigDecimal value, final boolean updateXPValue);
+
     /**
      * Deposits a given amount into the account.
      *
      * @param value The amount to deposit.
      */
     boolean deposit(final @NotNull BigDecimal value);
+
+    /**
+     * Deposits a given amount into the account and optionally updates the player's XP value.
+     *
+     * @param value         The amount to deposit.
+     * @param updateXPValue If true, also updates the player's XP to match.
+     */
+    boolean deposit(final @NotNull BigDecimal value, final boolean updateXPValue);
 }
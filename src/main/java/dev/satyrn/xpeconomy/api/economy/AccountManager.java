@@ -4,25 +4,68 @@ import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Manages, creates, saves, and loads player accounts.
+ * <p>
+ * The blocking methods wait on their {@link AsyncAccountManager} counterparts.
  *
  * @author Isabel Maskrey
  * @since 1.0-SNAPSHOT
  */
-public interface AccountManager {
+public interface AccountManager extends AsyncAccountManager {
     /**
      * Loads player account data from storage.
+     *
+     * @throws IllegalStateException Thrown if the stored account data cannot be read.
      */
     void load();
 
+    /**
+     * Loads player account data from storage on the given executor.
+     * <p>
+     * Until loading finishes, account lookups and creation wait for it to complete, up to the configured load
+     * timeout.
+     *
+     * @param executor The executor to load account data on.
+     * @return A future which completes when loading finishes, or completes exceptionally if loading fails.
+     */
+    @NotNull CompletableFuture<Void> loadAsync(final @NotNull Executor executor);
+
+    /**
+     * Gets a future which completes once account data has finished loading, or completes exceptionally if loading
+     * failed. Account data which failed to load is never saved, so the stored accounts are not overwritten.
+     *
+     * @return The load completion future.
+     */
+    @NotNull CompletableFuture<Void> whenLoaded();
+
     /**
      * Saves player account data to storage.
      */
     void save();
 
+    /**
+     * Writes a single account to storage if it has changed since it was last saved. Storage backends which cannot
+     * write a single account on its own write it at the next full save instead.
+     *
+     * @param uuid The player UUID.
+     */
+    void saveAccount(final @NotNull UUID uuid);
+
+    /**
+     * Releases any storage resources held by the account manager. Called after the final save.
+     */
+    void close();
+
     /**
      * Checks if an account exists for a given player UUID.
      *
@@ -32,10 +75,10 @@ public interface AccountManager {
     boolean hasAccount(final @NotNull UUID uuid);
 
     /**
-     * Creates an account for a player.
+     * Creates an account for a player. If the player already has an account, it is returned instead.
      *
      * @param player The player instance.
-     * @return The new account.
+     * @return The new account, or the player's existing account.
      */
     @NotNull Account createAccount(final @NotNull OfflinePlayer player);
 
@@ -46,4 +89,61 @@ public interface AccountManager {
      * @return The account instance.
      */
     @Nullable Account getAccount(final @NotNull UUID uuid);
+
+    /**
+     * Checks whether an account is held in memory, without loading it from storage.
+     *
+     * @param uuid The player UUID.
+     * @return Whether the account is in memory.
+     */
+    boolean isAccountLoaded(final @NotNull UUID uuid);
+
+    /**
+     * Applies balance changes to many accounts in one call. Changes for the same player are combined, and each
+     * account is changed, and marked for saving, once. Player experience is not updated.
+     *
+     * @param deltas The amount to add to each player's balance. Negative amounts are withdrawn.
+     * @return The accounts which were changed, by player UUID. Players without an account, and changes which would
+     *         leave a balance below zero, are skipped.
+     */
+    @NotNull Map<UUID, Account> applyBatch(final @NotNull Collection<? extends Map.Entry<UUID, BigDecimal>> deltas);
+
+    /**
+     * Places a hold on part of an account's balance, so it cannot be spent until the hold is committed, released, or
+     * expires.
+     *
+     * @param uuid     The player UUID.
+     * @param amount   The amount to hold.
+     * @param duration How long the hold lasts if it is not committed or released.
+     * @return The hold, or {@code null} if the player has no account or the balance which is not already held does
+     *         not cover the amount.
+     */
+    @Nullable Hold placeHold(final @NotNull UUID uuid, final @NotNull BigDecimal amount, final @NotNull Duration duration);
+
+    /**
+     * Finds the names of account owners starting with a prefix, ignoring case. Includes stored accounts which are not
+     * loaded into memory when the storage backend can index their names.
+     *
+     * @param prefix The prefix.
+     * @param limit  The largest number of names to return.
+     * @return Up to {@code limit} names in alphabetical order.
+     */
+    @NotNull List<String> findAccountNames(final @NotNull String prefix, final int limit);
+
+    /**
+     * Finds the UUID of the account owner with a name, ignoring case. Includes stored accounts which are not loaded
+     * into memory when the storage backend can index their names.
+     *
+     * @param name The account owner's name.
+     * @return The player UUID, or {@code null} if no known account has the name.
+     */
+    @Nullable UUID findAccountOwner(final @NotNull String name);
+
+    /**
+     * Gets the UUIDs of every account owner. Includes stored accounts which are not loaded into memory when the
+     * storage backend can index them.
+     *
+     * @return A snapshot of the account owners' UUIDs.
+     */
+    @NotNull List<UUID> getAccountOwners();
 }
@@ -0,0 +1,76 @@
+package dev.satyrn.xpeconomy.api.economy;
+
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Looks up, creates, changes, and saves player accounts without blocking the calling thread.
+ * <p>
+ * Requests which can be answered from memory complete immediately on the calling thread. Requests which need storage
+ * run on the account manager's asynchronous executor. Requests made while account data is still loading complete once
+ * it finishes.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.2
+ */
+public interface AsyncAccountManager {
+    /**
+     * Gets an account with a specific player UUID.
+     *
+     * @param uuid The player UUID.
+     * @return A future completed with the account, or with {@code null} if the player has no account.
+     */
+    @NotNull CompletableFuture<@Nullable Account> getAccountAsync(final @NotNull UUID uuid);
+
+    /**
+     * Creates an account for a player.
+     *
+     * @param player The player instance.
+     * @return A future completed with the new account.
+     */
+    @NotNull CompletableFuture<Account> createAccountAsync(final @NotNull OfflinePlayer player);
+
+    /**
+     * Applies a change to an account once it is available. The change may run off the main thread, so it must not
+     * update the player's experience.
+     *
+     * @param uuid     The player UUID.
+     * @param mutation The change to apply.
+     * @param <T>      The result type of the change.
+     * @return A future completed with the result of the change, or completed exceptionally with a
+     *         {@link java.util.NoSuchElementException} if the player has no account.
+     */
+    <T> @NotNull CompletableFuture<T> mutateAsync(final @NotNull UUID uuid, final @NotNull Function<? super Account, ? extends T> mutation);
+
+    /**
+     * Moves an amount from one account to another. The amount is returned to the source account if it cannot be
+     * deposited.
+     *
+     * @param source The UUID of the player to withdraw from.
+     * @param target The UUID of the player to deposit to.
+     * @param amount The amount to move.
+     * @return A future completed with {@code true} if the amount was moved; otherwise, {@code false}.
+     */
+    @NotNull CompletableFuture<Boolean> transferAsync(final @NotNull UUID source, final @NotNull UUID target, final @NotNull BigDecimal amount);
+
+    /**
+     * Saves player account data to storage.
+     *
+     * @return A future completed once the save finishes.
+     */
+    @NotNull CompletableFuture<Void> flushAsync();
+
+    /**
+     * Writes a single account to storage if it has changed since it was last saved.
+     *
+     * @param uuid The player UUID.
+     * @return A future completed once the write finishes.
+     */
+    @NotNull CompletableFuture<Void> saveAccountAsync(final @NotNull UUID uuid);
+}
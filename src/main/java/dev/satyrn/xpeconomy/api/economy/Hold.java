@@ -0,0 +1,72 @@
+package dev.satyrn.xpeconomy.api.economy;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.util.UUID;
+
+/**
+ * A hold on part of an account's balance, for transactions which complete in two steps.
+ * <p>
+ * While a hold is active, its amount cannot be spent by anything else: {@link Account#has(java.math.BigDecimal)} and
+ * withdrawals only see the balance which is not held. A hold ends when it is committed, which withdraws its amount,
+ * when it is released, which returns its amount to the spendable balance, or when it expires.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.2
+ */
+public interface Hold {
+    /**
+     * Gets the UUID of the player whose account the hold is on.
+     *
+     * @return The player UUID.
+     */
+    @NotNull UUID getUUID();
+
+    /**
+     * Gets the raw experience point amount held.
+     *
+     * @return The raw amount.
+     */
+    @NotNull BigInteger getAmountRaw();
+
+    /**
+     * Gets the time the hold expires if it has not been committed or released.
+     *
+     * @return The expiry time, in milliseconds since the epoch.
+     */
+    long getExpiresAt();
+
+    /**
+     * Checks whether the hold is still active.
+     *
+     * @return {@code true} if the hold has not been committed, released, or expired; otherwise, {@code false}.
+     */
+    boolean isActive();
+
+    /**
+     * Withdraws the held amount from the account and ends the hold, updating the player's XP value. Hold commits may
+     * be made on any thread; the XP value is only changed on the main thread, so commits made elsewhere schedule the
+     * update there.
+     *
+     * @return {@code true} if the amount was withdrawn; {@code false} if the hold was no longer active, or if the
+     * balance was set directly below the held amount, in which case the hold is released.
+     */
+    boolean commit();
+
+    /**
+     * Withdraws the held amount from the account and ends the hold, optionally updating the player's XP value.
+     *
+     * @param updateXPValue If true, also updates the player's XP to match.
+     * @return {@code true} if the amount was withdrawn; {@code false} if the hold was no longer active, or if the
+     * balance was set directly below the held amount, in which case the hold is released.
+     */
+    boolean commit(final boolean updateXPValue);
+
+    /**
+     * Ends the hold without withdrawing its amount.
+     *
+     * @return {@code true} if the hold was released; {@code false} if it was no longer active.
+     */
+    boolean release();
+}
@@ -0,0 +1,74 @@
+package dev.satyrn.xpeconomy.api.events;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Called on the main thread once per server tick with every player account balance which changed during the
+ * previous tick.
+ * <p>
+ * Changes to the same account within a tick are combined into one, from the balance before the first change to the
+ * balance after the last. Only the default accounts are reported; world group balances are not.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.2
+ */
+public final class BalanceChangeEvent extends Event {
+    // The handlers of the event.
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    // The balance changes.
+    private final @NotNull List<BalanceChange> changes;
+
+    /**
+     * Creates a new balance change event.
+     *
+     * @param changes The balance changes.
+     */
+    public BalanceChangeEvent(final @NotNull List<BalanceChange> changes) {
+        this.changes = List.copyOf(changes);
+    }
+
+    /**
+     * Gets the handlers of the event.
+     *
+     * @return The handler list.
+     */
+    public static @NotNull HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+
+    /**
+     * Gets the handlers of the event.
+     *
+     * @return The handler list.
+     */
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    /**
+     * Gets the balance changes, one per account.
+     *
+     * @return The balance changes.
+     */
+    public @NotNull List<BalanceChange> getChanges() {
+        return this.changes;
+    }
+
+    /**
+     * A change to an account's raw experience point balance.
+     *
+     * @param uuid       The player UUID.
+     * @param oldBalance The raw balance before the change.
+     * @param newBalance The raw balance after the change.
+     */
+    public record BalanceChange(@NotNull UUID uuid, @NotNull BigInteger oldBalance, @NotNull BigInteger newBalance) {
+    }
+}
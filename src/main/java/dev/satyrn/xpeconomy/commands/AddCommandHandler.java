@@ -5,9 +5,11 @@ import dev.satyrn.xpeconomy.api.commands.AccountCommandHandler;
 import dev.satyrn.xpeconomy.api.economy.Account;
 import dev.satyrn.xpeconomy.api.economy.AccountManager;
 import dev.satyrn.xpeconomy.configuration.Configuration;
+import dev.satyrn.xpeconomy.economy.BulkOperationEngine;
+import dev.satyrn.xpeconomy.utils.AccountSelector;
 import dev.satyrn.xpeconomy.utils.Commands;
+import dev.satyrn.xpeconomy.utils.PlayerResolver;
 import net.milkbowl.vault.permission.Permission;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -27,16 +29,22 @@ import java.util.Optional;
  * @since 1.0-SNAPSHOT
  */
 public final class AddCommandHandler extends AccountCommandHandler {
+    // Applies the command to every account chosen by a selector.
+    private final @NotNull BulkOperationEngine bulkOperationEngine;
+
     /**
      * Initializes a new command handler with the permission manager instance.
      *
-     * @param plugin         The plugin instance.
-     * @param permission     The permission manager instance.
-     * @param accountManager The account manager instance.
-     * @param configuration  The plugin configuration instance.
+     * @param plugin              The plugin instance.
+     * @param permission          The permission manager instance.
+     * @param accountManager      The account manager instance.
+     * @param configuration       The plugin configuration instance.
+     * @param playerResolver      The player resolver instance.
+     * @param bulkOperationEngine The bulk operation engine instance.
      */
-    public AddCommandHandler(final @NotNull Plugin plugin, final @NotNull Permission permission, final @NotNull AccountManager accountManager, final @NotNull Configuration configuration) {
-        super(plugin, permission, accountManager, configuration);
+    public AddCommandHandler(final @NotNull Plugin plugin, final @NotNull Permission permission, final @NotNull AccountManager accountManager, final @NotNull Configuration configuration, final @NotNull PlayerResolver playerResolver, final @NotNull BulkOperationEngine bulkOperationEngine) {
+        super(plugin, permission, accountManager, configuration, playerResolver);
+        this.bulkOperationEngine = bulkOperationEngine;
     }
 
     /**
@@ -69,6 +77,11 @@ public final class AddCommandHandler extends AccountCommandHandler {
             return true;
         }
 
+        if (args.length == playerArgIndex + 1 && AccountSelector.isSelector(args[playerArgIndex])) {
+            this.runBulkOperation(sender, this.bulkOperationEngine, BulkOperationEngine.Operation.ADD, args[amountArgIndex], args[playerArgIndex]);
+            return true;
+        }
+
         if (args.length < amountArgIndex + 1) {
             sender.sendMessage(I18n.tr("command.balance.add.parameter.amount.missing"));
             return true;
@@ -83,42 +96,42 @@ public final class AddCommandHandler extends AccountCommandHandler {
             return true;
         }
 
-        final @NotNull OfflinePlayer target;
+        final PlayerResolver.Target target;
 
         if (args.length < playerArgIndex + 1) {
             if (sender instanceof Player player) {
-                target = player;
+                target = this.getPlayerResolver().resolve(player);
             } else {
                 sender.sendMessage(I18n.tr("command.balance.add.parameter.player.missing"));
                 return true;
             }
         } else {
             final String targetName = args[playerArgIndex];
-            final Optional<OfflinePlayer> result = Commands.getPlayer(targetName);
+            final Optional<PlayerResolver.Target> result = this.getPlayerResolver().resolve(targetName);
             if (result.isEmpty()) {
                 sender.sendMessage(I18n.tr("command.generic.invalidTarget", targetName));
                 return true;
             }
             target = result.get();
 
-            if (sender instanceof final Player player && player.getUniqueId() != target.getUniqueId()) {
+            if (sender instanceof final Player player && !target.isSender(player)) {
                 if (!permission.has(player, "xpeconomy.balance.add.others")) {
                     sender.sendMessage(I18n.tr("command.balance.add.permission.others"));
                     return true;
                 }
-                if (permission.has(target.getPlayer(), "xpeconomy.balance.add.exempt") && !permission.has(player, "xpeconomy.balance.add.exempt.bypass")) {
-                    sender.sendMessage(I18n.tr("command.balance.add.permission.exempt", target.getName() == null ? target.getUniqueId() : target.getName()));
+                if (target.player() != null && permission.has(target.player(), "xpeconomy.balance.add.exempt") && !permission.has(player, "xpeconomy.balance.add.exempt.bypass")) {
+                    sender.sendMessage(I18n.tr("command.balance.add.permission.exempt", target.name()));
                     return true;
                 }
             }
         }
 
-        final Account account = this.getAccountManager().getAccount(target.getUniqueId());
+        final Account account = target.account();
         if (account == null) {
-            if (sender instanceof final Player player && player.getUniqueId() == target.getUniqueId()) {
+            if (sender instanceof final Player player && target.isSender(player)) {
                 sender.sendMessage(I18n.tr("command.generic.invalidSender.noAccount"));
             } else {
-                sender.sendMessage(I18n.tr("command.generic.invalidTarget.noAccount", target.getName() == null ? target.getUniqueId() : target.getName()));
+                sender.sendMessage(I18n.tr("command.generic.invalidTarget.noAccount", target.name()));
             }
             return true;
         }
@@ -128,12 +141,12 @@ public final class AddCommandHandler extends AccountCommandHandler {
             return true;
         }
 
-        if ((sender instanceof final Player player) && player.getUniqueId() == target.getUniqueId()) {
+        if ((sender instanceof final Player player) && target.isSender(player)) {
             sender.sendMessage(I18n.tr("command.balance.add.result", this.getEconomyMethod()
                     .toString(amount, true), this.getEconomyMethod().toString(account.getBalance(), true)));
         } else {
             sender.sendMessage(I18n.tr("command.balance.add.result.others", this.getEconomyMethod()
-                    .toString(amount, true), target.getName() == null ? target.getUniqueId() : target.getName(), this.getEconomyMethod()
+                    .toString(amount, true), target.name(), this.getEconomyMethod()
                     .toString(account.getBalance(), true)));
         }
 
@@ -167,7 +180,10 @@ public final class AddCommandHandler extends AccountCommandHandler {
                 completionOptions.add(this.getEconomyMethod().toString(BigDecimal.TEN));
             } else if (args.length == playerArgIndex + 1) {
                 if (!(sender instanceof Player) || this.getPermission().has(sender, "xpeconomy.balance.add.others")) {
-                    completionOptions.addAll(Commands.getPlayerNames());
+                    completionOptions.addAll(Commands.getPlayerNames(this.getAccountManager(), args[args.length - 1]));
+                }
+                if (!(sender instanceof Player) || this.getPermission().has(sender, "xpeconomy.balance.add.bulk")) {
+                    completionOptions.addAll(AccountSelector.complete(args[args.length - 1]));
                 }
             }
         }
@@ -6,8 +6,8 @@ import dev.satyrn.xpeconomy.api.economy.Account;
 import dev.satyrn.xpeconomy.api.economy.AccountManager;
 import dev.satyrn.xpeconomy.configuration.Configuration;
 import dev.satyrn.xpeconomy.utils.Commands;
+import dev.satyrn.xpeconomy.utils.PlayerResolver;
 import net.milkbowl.vault.permission.Permission;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -31,9 +31,10 @@ public final class BalanceCommandHandler extends AccountCommandHandler {
      *
      * @param accountManager The account manager instance.
      * @param permission     The permission manager instance.
+     * @param playerResolver The player resolver instance.
      */
-    public BalanceCommandHandler(final @NotNull Plugin plugin, final @NotNull Permission permission, final @NotNull AccountManager accountManager, final @NotNull Configuration configuration) {
-        super(plugin, permission, accountManager, configuration);
+    public BalanceCommandHandler(final @NotNull Plugin plugin, final @NotNull Permission permission, final @NotNull AccountManager accountManager, final @NotNull Configuration configuration, final @NotNull PlayerResolver playerResolver) {
+        super(plugin, permission, accountManager, configuration, playerResolver);
     }
 
     /**
@@ -66,53 +67,53 @@ public final class BalanceCommandHandler extends AccountCommandHandler {
             return true;
         }
 
-        final OfflinePlayer target;
+        final PlayerResolver.Target target;
 
         if (args.length < playerArgIndex + 1) {
             if (sender instanceof final Player player) {
-                target = player;
+                target = this.getPlayerResolver().resolve(player);
             } else {
                 sender.sendMessage(I18n.tr("command.balance.parameter.player.missing"));
                 return true;
             }
         } else {
             final String playerArg = args[playerArgIndex];
-            final Optional<OfflinePlayer> result = Commands.getPlayer(playerArg);
+            final Optional<PlayerResolver.Target> result = this.getPlayerResolver().resolve(playerArg);
             if (result.isEmpty()) {
                 sender.sendMessage(I18n.tr("command.generic.invalidTarget", playerArg));
                 return true;
             }
             target = result.get();
 
-            if (sender instanceof final Player player && player.getUniqueId() != target.getUniqueId()) {
+            if (sender instanceof final Player player && !target.isSender(player)) {
                 if (!permission.has(sender, "xpeconomy.balance.others")) {
                     sender.sendMessage(I18n.tr("command.balance.permission.others"));
                     return true;
                 }
 
-                if (permission.has(target.getPlayer(), "xpeconomy.balance.exempt") && !permission.has(sender, "xpeconomy.balance.exempt.bypass")) {
-                    sender.sendMessage(I18n.tr("command.balance.permission.exempt", target.getName() == null ? target.getUniqueId() : target.getName()));
+                if (target.player() != null && permission.has(target.player(), "xpeconomy.balance.exempt") && !permission.has(sender, "xpeconomy.balance.exempt.bypass")) {
+                    sender.sendMessage(I18n.tr("command.balance.permission.exempt", target.name()));
                     return true;
                 }
             }
         }
 
-        final Account account = this.getAccountManager().getAccount(target.getUniqueId());
+        final Account account = target.account();
         if (account == null) {
-            if (sender instanceof final Player player && player.getUniqueId() == target.getUniqueId()) {
+            if (sender instanceof final Player player && target.isSender(player)) {
                 sender.sendMessage(I18n.tr("command.generic.invalidSender.noAccount"));
             } else {
-                sender.sendMessage(I18n.tr("command.generic.invalidTarget.noAccount", target.getName() == null ? target.getUniqueId() : target.getName()));
+                sender.sendMessage(I18n.tr("command.generic.invalidTarget.noAccount", target.name()));
             }
             return true;
         }
 
         final BigDecimal amount = account.getBalance();
 
-        if (sender instanceof final Player player && player.getUniqueId() == target.getUniqueId()) {
+        if (sender instanceof final Player player && target.isSender(player)) {
             sender.sendMessage(I18n.tr("command.balance.result", this.getEconomyMethod().toString(amount, true)));
         } else {
-            sender.sendMessage(I18n.tr("command.balance.result.others", target.getName() == null ? account.getName() : target.getName(), this.getEconomyMethod()
+            sender.sendMessage(I18n.tr("command.balance.result.others", target.name(), this.getEconomyMethod()
                     .toString(amount, true)));
         }
 
@@ -140,13 +141,13 @@ public final class BalanceCommandHandler extends AccountCommandHandler {
             if (sender instanceof final Player player) {
                 if (this.getPermission().has(player, "xpeconomy.balance")) {
                     if (this.getPermission().has(player, "xpeconomy.balance.others")) {
-                        completionOptions.addAll(Commands.getPlayerNames());
+                        completionOptions.addAll(Commands.getPlayerNames(this.getAccountManager(), args[args.length - 1]));
                     } else {
                         completionOptions.add(player.getName());
                     }
                 }
             } else {
-                completionOptions.addAll(Commands.getPlayerNames());
+                completionOptions.addAll(Commands.getPlayerNames(this.getAccountManager(), args[args.length - 1]));
             }
         }
 
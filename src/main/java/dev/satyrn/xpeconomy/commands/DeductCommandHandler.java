@@ -5,9 +5,11 @@ import dev.satyrn.xpeconomy.api.commands.AccountCommandHandler;
 import dev.satyrn.xpeconomy.api.economy.Account;
 import dev.satyrn.xpeconomy.api.economy.AccountManager;
 import dev.satyrn.xpeconomy.configuration.Configuration;
+import dev.satyrn.xpeconomy.economy.BulkOperationEngine;
+import dev.satyrn.xpeconomy.utils.AccountSelector;
 import dev.satyrn.xpeconomy.utils.Commands;
+import dev.satyrn.xpeconomy.utils.PlayerResolver;
 import net.milkbowl.vault.permission.Permission;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -25,16 +27,22 @@ import java.util.Optional;
  * @author Isabel Maskrey (saturniidae)
  */
 public final class DeductCommandHandler extends AccountCommandHandler {
+    // Applies the command to every account chosen by a selector.
+    private final @NotNull BulkOperationEngine bulkOperationEngine;
+
     /**
      * Creates a new instance of the remove command handler.
      *
-     * @param plugin         The plugin instance
-     * @param permission     The permission manager object.
-     * @param accountManager The account manager instance.
-     * @param configuration  The plugin configuration.
+     * @param plugin              The plugin instance
+     * @param permission          The permission manager object.
+     * @param accountManager      The account manager instance.
+     * @param configuration       The plugin configuration.
+     * @param playerResolver      The player resolver.
+     * @param bulkOperationEngine The bulk operation engine.
      */
-    public DeductCommandHandler(final @NotNull Plugin plugin, final @NotNull Permission permission, final @NotNull AccountManager accountManager, final @NotNull Configuration configuration) {
-        super(plugin, permission, accountManager, configuration);
+    public DeductCommandHandler(final @NotNull Plugin plugin, final @NotNull Permission permission, final @NotNull AccountManager accountManager, final @NotNull Configuration configuration, final @NotNull PlayerResolver playerResolver, final @NotNull BulkOperationEngine bulkOperationEngine) {
+        super(plugin, permission, accountManager, configuration, playerResolver);
+        this.bulkOperationEngine = bulkOperationEngine;
     }
 
     /**
@@ -67,6 +75,11 @@ public final class DeductCommandHandler extends AccountCommandHandler {
             return true;
         }
 
+        if (args.length == playerArgIndex + 1 && AccountSelector.isSelector(args[playerArgIndex])) {
+            this.runBulkOperation(sender, this.bulkOperationEngine, BulkOperationEngine.Operation.DEDUCT, args[amountArgIndex], args[playerArgIndex]);
+            return true;
+        }
+
         if (args.length < amountArgIndex + 1) {
             sender.sendMessage(I18n.tr("command.balance.deduct.parameter.amount.missing"));
             return true;
@@ -86,50 +99,50 @@ public final class DeductCommandHandler extends AccountCommandHandler {
             return true;
         }
 
-        final OfflinePlayer target;
+        final PlayerResolver.Target target;
         if (args.length < playerArgIndex + 1) {
             if (sender instanceof Player) {
-                target = (Player) sender;
+                target = this.getPlayerResolver().resolve((Player) sender);
             } else {
                 sender.sendMessage(I18n.tr("command.balance.deduct.parameter.player.missing"));
                 return true;
             }
         } else {
             final String targetName = args[playerArgIndex];
-            final Optional<OfflinePlayer> result = Commands.getPlayer(targetName);
+            final Optional<PlayerResolver.Target> result = this.getPlayerResolver().resolve(targetName);
             if (result.isEmpty()) {
                 sender.sendMessage(I18n.tr("command.generic.invalidTarget", targetName));
                 return true;
             }
             target = result.get();
-            if (sender instanceof final Player player && player.getUniqueId() != target.getUniqueId()) {
+            if (sender instanceof final Player player && !target.isSender(player)) {
                 if (!permission.has(player, "xpeconomy.balance.deduct.others")) {
                     sender.sendMessage(I18n.tr("command.balance.deduct.permission.others"));
                     return true;
                 }
-                if (permission.has(target.getPlayer(), "xpeconomy.balance.deduct.exempt") && !permission.has(player, "xpeconomy.balance.deduct.exempt.bypass")) {
-                    sender.sendMessage(I18n.tr("xpeconomy.balance.deduct.permission.exempt", target.getName() == null ? target.getUniqueId() : target.getName()));
+                if (target.player() != null && permission.has(target.player(), "xpeconomy.balance.deduct.exempt") && !permission.has(player, "xpeconomy.balance.deduct.exempt.bypass")) {
+                    sender.sendMessage(I18n.tr("xpeconomy.balance.deduct.permission.exempt", target.name()));
                     return true;
                 }
             }
         }
 
-        final Account account = this.getAccountManager().getAccount(target.getUniqueId());
+        final Account account = target.account();
         if (account == null) {
-            if (sender instanceof final Player player && player.getUniqueId() == target.getUniqueId()) {
+            if (sender instanceof final Player player && target.isSender(player)) {
                 sender.sendMessage(I18n.tr("command.generic.invalidSender.noAccount"));
             } else {
-                sender.sendMessage(I18n.tr("command.generic.invalidTarget.noAccount", target.getName() == null ? target.getUniqueId() : target.getName()));
+                sender.sendMessage(I18n.tr("command.generic.invalidTarget.noAccount", target.name()));
             }
             return true;
         }
 
         if (amount.compareTo(account.getBalance()) > 0) {
-            if (sender instanceof final Player player && player.getUniqueId() == target.getUniqueId()) {
+            if (sender instanceof final Player player && target.isSender(player)) {
                 sender.sendMessage(I18n.tr("command.balance.deduct.failure.lowBalance", this.getEconomyMethod()
                         .toString(account.getBalance(), true), this.getEconomyMethod().toString(amount, true)));
             } else {
-                sender.sendMessage(I18n.tr("command.balance.deduct.failure.lowBalance.others", target.getName() == null ? target.getUniqueId() : target.getName(), this.getEconomyMethod()
+                sender.sendMessage(I18n.tr("command.balance.deduct.failure.lowBalance.others", target.name(), this.getEconomyMethod()
                         .toString(account.getBalance(), true), this.getEconomyMethod().toString(amount, true)));
             }
             return true;
@@ -140,12 +153,12 @@ public final class DeductCommandHandler extends AccountCommandHandler {
             return true;
         }
 
-        if (sender instanceof final Player player && player.getUniqueId() == target.getUniqueId()) {
+        if (sender instanceof final Player player && target.isSender(player)) {
             sender.sendMessage(I18n.tr("command.balance.deduct.result", this.getEconomyMethod()
                     .toString(amount, true), this.getEconomyMethod().toString(account.getBalance(), true)));
         } else {
             sender.sendMessage(I18n.tr("command.balance.deduct.result.others", this.getEconomyMethod()
-                    .toString(amount, true), target.getName() == null ? account.getName() : target.getName(), this.getEconomyMethod()
+                    .toString(amount, true), target.name(), this.getEconomyMethod()
                     .toString(account.getBalance(), true)));
         }
 
@@ -180,7 +193,10 @@ public final class DeductCommandHandler extends AccountCommandHandler {
             } else if (args.length == playerArgIndex + 1) { // Are we currently editing the player argument?
                 if (!(sender instanceof Player) || this.getPermission()
                         .has(sender, "xpeconomy.balance.deduct.others")) {
-                    completionOptions.addAll(Commands.getPlayerNames());
+                    completionOptions.addAll(Commands.getPlayerNames(this.getAccountManager(), args[args.length - 1]));
+                }
+                if (!(sender instanceof Player) || this.getPermission().has(sender, "xpeconomy.balance.deduct.bulk")) {
+                    completionOptions.addAll(AccountSelector.complete(args[args.length - 1]));
                 }
             }
         }
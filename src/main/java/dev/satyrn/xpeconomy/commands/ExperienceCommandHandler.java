@@ -3,6 +3,7 @@ package dev.satyrn.xpeconomy.commands;
 import dev.satyrn.papermc.api.lang.v1.I18n;
 import dev.satyrn.xpeconomy.api.commands.VaultCommandHandler;
 import dev.satyrn.xpeconomy.utils.Commands;
+import dev.satyrn.xpeconomy.utils.PlayerResolver;
 import dev.satyrn.xpeconomy.utils.PlayerXPUtils;
 import net.milkbowl.vault.permission.Permission;
 import org.bukkit.command.Command;
@@ -19,13 +20,18 @@ import java.util.List;
 import java.util.Optional;
 
 public final class ExperienceCommandHandler extends VaultCommandHandler {
+    // Resolves player arguments to online players.
+    private final @NotNull PlayerResolver playerResolver;
+
     /**
      * Initializes a new command handler with the permission manager instance.
      *
-     * @param permission The permission manager instance.
+     * @param permission     The permission manager instance.
+     * @param playerResolver The player resolver instance.
      */
-    public ExperienceCommandHandler(final @NotNull Plugin plugin, final @NotNull Permission permission) {
+    public ExperienceCommandHandler(final @NotNull Plugin plugin, final @NotNull Permission permission, final @NotNull PlayerResolver playerResolver) {
         super(plugin, permission);
+        this.playerResolver = playerResolver;
     }
 
     /**
@@ -51,7 +57,7 @@ public final class ExperienceCommandHandler extends VaultCommandHandler {
                 sender.sendMessage(I18n.tr("command.generic.usage", this.getUsage(sender, command)));
             } else if (this.getPermission().has(player, "xpeconomy.experience")) {
                 if (args.length == playerArgIndex + 1) {
-                    final Optional<? extends Player> result = Commands.getOnlinePlayer(args[playerArgIndex]);
+                    final Optional<Player> result = this.playerResolver.resolveOnline(args[playerArgIndex]);
                     if (result.isPresent()) {
                         final Player target = result.get();
 
@@ -64,7 +70,7 @@ public final class ExperienceCommandHandler extends VaultCommandHandler {
                         // The target player is the sender player; or
                         // The sender player has the "check others" permission and the target is not exempt, or
                         // The sender player has the "check others" permission, the target is exempt, and the sender bypasses exempt checks.
-                        if (target.getUniqueId() == player.getUniqueId()) {
+                        if (target.getUniqueId().equals(player.getUniqueId())) {
                             sender.sendMessage(I18n.tr("command.experience.result", target.getLevel(), I18n.tr(target.getLevel() == 1 ? "experience.level" : "experience.level.plural"), formatter.format(currentLevelProgress), I18n.tr(currentLevelProgress.compareTo(BigInteger.ONE) == 0 ? "experience.point" : "experience.point.plural"), formatter.format(totalXPValue), I18n.tr(totalXPValue.compareTo(BigInteger.ONE) == 0 ? "experience.point" : "experience.point.plural")));
                         } else {
                             if (!this.getPermission().has(player, "xpeconomy.experience.others")) {
@@ -95,7 +101,7 @@ public final class ExperienceCommandHandler extends VaultCommandHandler {
             } else if (args.length > playerArgIndex + 1) {
                 sender.sendMessage(I18n.tr("command.generic.usage", this.getUsage(sender, command)));
             } else {
-                Optional<? extends Player> result = Commands.getOnlinePlayer(args[playerArgIndex]);
+                Optional<Player> result = this.playerResolver.resolveOnline(args[playerArgIndex]);
                 if (result.isPresent()) {
                     final Player target = result.get();
 
@@ -134,13 +140,13 @@ public final class ExperienceCommandHandler extends VaultCommandHandler {
             if (sender instanceof final Player player) {
                 if (this.getPermission().has(player, "xpeconomy.experience")) {
                     if (this.getPermission().has(player, "xpeconomy.experience.others")) {
-                        completionOptions.addAll(Commands.getPlayerNames());
+                        completionOptions.addAll(Commands.getOnlinePlayerNames(args[args.length - 1]));
                     } else {
                         completionOptions.add(player.getName());
                     }
                 }
             } else {
-                completionOptions.addAll(Commands.getPlayerNames());
+                completionOptions.addAll(Commands.getOnlinePlayerNames(args[args.length - 1]));
             }
         }
 
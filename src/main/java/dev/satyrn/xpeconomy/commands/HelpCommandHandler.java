@@ -20,14 +20,29 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class HelpCommandHandler extends VaultCommandHandler {
+    // The width of a help page, in characters.
+    private static final int PAGE_WIDTH = 65;
+    // The number of lines on a help page.
+    private static final int PAGE_HEIGHT = 8;
+
     private final @NotNull List<HelpProvider> helpProviders = new ArrayList<>();
+    // The help permissions granted to each player, cached until their permissions may have changed.
+    private final @NotNull Map<UUID, Set<String>> grantedPermissions = new ConcurrentHashMap<>();
+    // The translated help pages, by locale, kind of sender, and set of granted help permissions.
+    private final @NotNull Map<HelpKey, HelpPages> helpPages = new ConcurrentHashMap<>();
 
     /**
      * Creates a handler for the help subcommand.
@@ -93,7 +108,7 @@ public class HelpCommandHandler extends VaultCommandHandler {
                     }
                 }
 
-                this.helpProviders.add(new HelpProvider(name, permission, allowPlayers, allowNonPlayers, playerUsageKeys, nonPlayerUsageKeys, aliases, this.getPermission()));
+                this.helpProviders.add(new HelpProvider(name, permission, allowPlayers, allowNonPlayers, playerUsageKeys, nonPlayerUsageKeys, aliases));
             }
         } catch (IOException ex) {
             logger.log(Level.SEVERE, "[Help] Failed to load help providers file. Plugin help command will not work properly.", ex);
@@ -145,85 +160,142 @@ public class HelpCommandHandler extends VaultCommandHandler {
             return true;
         }
 
+        final @NotNull HelpPages helpPages = this.getHelpPages(sender);
+        final @Nullable List<String> pages;
         if (commandName == null) {
-            final StringBuilder helpBuilder = new StringBuilder(I18n.tr("command.help.result",
-                    this.getPlugin().getDescription().getName(),
-                    this.getPlugin().getDescription().getVersion(),
-                    String.join(", ", this.getPlugin().getDescription().getAuthors())));
-            for (final @NotNull HelpProvider provider : this.helpProviders) {
-                final @Nullable String listEntry = provider.getListEntry(sender);
-                if (listEntry != null && !listEntry.isBlank()) {
-                    helpBuilder.append('\n').append(listEntry);
-                }
-            }
-
-            final ChatPaginator.ChatPage chatPage = ChatPaginator.paginate(helpBuilder.toString(), page, 65, 8);
-            if (page > chatPage.getTotalPages()) {
-                if (chatPage.getTotalPages() == 1) {
-                    sender.sendMessage(I18n.tr("command.help.invalidPage.single", page));
-                } else {
-                    sender.sendMessage(I18n.tr("command.help.invalidPage.range", page, chatPage.getTotalPages()));
-                }
+            pages = helpPages.listPages();
+        } else {
+            pages = helpPages.commandPages().get(commandName.toLowerCase(Locale.ROOT));
+            if (pages == null) {
+                sender.sendMessage(I18n.tr("command.help.unknown_command", commandName));
                 return true;
             }
+        }
 
-            final StringBuilder message = new StringBuilder(String.join("\n", chatPage.getLines()));
-            if (chatPage.getTotalPages() > 1) {
-                message.append("\n")
-                        .append(I18n.tr("command.help.list.pagination",
-                                chatPage.getPageNumber(),
-                                chatPage.getTotalPages()));
+        if (page > pages.size()) {
+            if (pages.size() == 1) {
+                sender.sendMessage(I18n.tr("command.help.invalidPage.single", page));
+            } else {
+                sender.sendMessage(I18n.tr("command.help.invalidPage.range", page, pages.size()));
             }
-            sender.sendMessage(message.toString());
-        } else {
-            getHelpResults(commandName, sender, page);
+            return true;
         }
+        sender.sendMessage(pages.get(page - 1));
 
         return true;
     }
 
     /**
-     * Gets help on a single command.
+     * Discards every cached help page and granted permission set, so help is rebuilt from the current translations
+     * and permissions.
+     */
+    public void invalidate() {
+        this.grantedPermissions.clear();
+        this.helpPages.clear();
+    }
+
+    /**
+     * Discards the permissions cached for a player, so they are checked again the next time the player asks for
+     * help.
      *
-     * @param command The command to get help for.
-     * @param sender  The command sender.
-     * @param page    The page to display.
+     * @param uuid The player UUID.
      */
-    private void getHelpResults(@NotNull String command, @NotNull CommandSender sender, int page) {
-        @Nullable String commandHelp = null;
+    public void invalidate(final @NotNull UUID uuid) {
+        this.grantedPermissions.remove(uuid);
+    }
 
-        final @NotNull Optional<HelpProvider> result = this.helpProviders.stream()
-                .filter(provider -> provider.isMatch(command))
-                .findFirst();
+    /**
+     * Gets the help pages a sender may see, building them the first time they are requested for the current locale,
+     * kind of sender, and set of granted help permissions.
+     *
+     * @param sender The command sender.
+     * @return The help pages.
+     */
+    private @NotNull HelpPages getHelpPages(final @NotNull CommandSender sender) {
+        final boolean isPlayer = sender instanceof Player;
+        final @NotNull Set<String> granted = sender instanceof final Player player
+                ? this.grantedPermissions.computeIfAbsent(player.getUniqueId(), uuid -> this.findGrantedPermissions(player))
+                : Set.of();
+        final I18n i18n = I18n.getInstance();
+        return this.helpPages.computeIfAbsent(new HelpKey(i18n == null ? null : i18n.getLocale(), isPlayer, granted),
+                key -> this.buildHelpPages(key.player(), key.permissions()));
+    }
 
-        if (result.isPresent()) {
-            final @NotNull HelpProvider helpProvider = result.get();
-            commandHelp = helpProvider.getEntry(sender);
+    /**
+     * Checks which of the permissions required by help providers a player has.
+     *
+     * @param player The player.
+     * @return The granted permissions.
+     */
+    private @NotNull Set<String> findGrantedPermissions(final @NotNull Player player) {
+        final Set<String> granted = new HashSet<>();
+        for (final @NotNull HelpProvider provider : this.helpProviders) {
+            final @Nullable String permission = provider.defaultPermission();
+            if (permission != null && !permission.isBlank() && !granted.contains(permission) && this.getPermission()
+                    .has(player, permission)) {
+                granted.add(permission);
+            }
         }
+        return Set.copyOf(granted);
+    }
 
-        if (commandHelp == null) {
-            sender.sendMessage(I18n.tr("command.help.unknown_command", command));
-            return;
-        }
+    /**
+     * Translates and paginates the help list and the help for each command.
+     *
+     * @param isPlayer Whether the help is for a player.
+     * @param granted  The help permissions granted to the sender.
+     * @return The help pages.
+     */
+    private @NotNull HelpPages buildHelpPages(final boolean isPlayer, final @NotNull Set<String> granted) {
+        final StringBuilder helpBuilder = new StringBuilder(I18n.tr("command.help.result",
+                this.getPlugin().getDescription().getName(),
+                this.getPlugin().getDescription().getVersion(),
+                String.join(", ", this.getPlugin().getDescription().getAuthors())));
+        final List<String> names = new ArrayList<>();
+        final Map<String, List<String>> commandPages = new HashMap<>();
+        for (final @NotNull HelpProvider provider : this.helpProviders) {
+            if (!provider.isSenderValid(isPlayer) || !provider.isAllowed(isPlayer, granted)) {
+                continue;
+            }
+            final @NotNull String listEntry = provider.getListEntry();
+            if (!listEntry.isBlank()) {
+                helpBuilder.append('\n').append(listEntry);
+            }
+            names.add(provider.name());
 
-        final ChatPaginator.ChatPage chatPage = ChatPaginator.paginate(commandHelp, page, 65, 8);
-        if (page > chatPage.getTotalPages()) {
-            if (chatPage.getTotalPages() == 1) {
-                sender.sendMessage(I18n.tr("command.help.invalidPage.single", page));
-            } else {
-                sender.sendMessage(I18n.tr("command.help.invalidPage.range", page, chatPage.getTotalPages()));
+            final @NotNull String entry = provider.getEntry(isPlayer);
+            final List<String> keys = new ArrayList<>(provider.aliases().size() + 1);
+            keys.add(provider.name().toLowerCase(Locale.ROOT));
+            for (final @NotNull String alias : provider.aliases()) {
+                keys.add(alias.toLowerCase(Locale.ROOT));
+            }
+            for (final @NotNull String key : keys) {
+                commandPages.putIfAbsent(key, paginate(entry, (page, totalPages) -> I18n.tr("command.help.pagination", page, totalPages, key)));
             }
-            return;
         }
-        final StringBuilder message = new StringBuilder(String.join("\n", chatPage.getLines()));
-        if (chatPage.getTotalPages() > 1) {
-            message.append("\n")
-                    .append(I18n.tr("command.help.pagination",
-                            chatPage.getPageNumber(),
-                            chatPage.getTotalPages(),
-                            command.toLowerCase(Locale.ROOT)));
+        return new HelpPages(paginate(helpBuilder.toString(), (page, totalPages) -> I18n.tr("command.help.list.pagination", page, totalPages)), Map.copyOf(commandPages), List.copyOf(names));
+    }
+
+    /**
+     * Splits text into chat pages.
+     *
+     * @param text   The text.
+     * @param footer Creates the footer shown below each page from the page number and total page count, if the text
+     *               spans more than one page.
+     * @return The pages, each ready to send.
+     */
+    private static @NotNull List<String> paginate(final @NotNull String text, final @NotNull BiFunction<Integer, Integer, String> footer) {
+        final int totalPages = ChatPaginator.paginate(text, 1, PAGE_WIDTH, PAGE_HEIGHT).getTotalPages();
+        final List<String> pages = new ArrayList<>(totalPages);
+        for (int page = 1; page <= totalPages; page++) {
+            final ChatPaginator.ChatPage chatPage = ChatPaginator.paginate(text, page, PAGE_WIDTH, PAGE_HEIGHT);
+            final StringBuilder message = new StringBuilder(String.join("\n", chatPage.getLines()));
+            if (totalPages > 1) {
+                message.append("\n").append(footer.apply(page, totalPages));
+            }
+            pages.add(message.toString());
         }
-        sender.sendMessage(message.toString());
+        return List.copyOf(pages);
     }
 
     /**
@@ -246,11 +318,7 @@ public class HelpCommandHandler extends VaultCommandHandler {
         final List<String> completionOptions = new ArrayList<>();
 
         if (args.length == pageOrCommandIndex + 1) {
-            for (final @NotNull HelpProvider helpProvider : helpProviders) {
-                if (helpProvider.isSenderValid(sender) && helpProvider.isAllowed(sender)) {
-                    completionOptions.add(helpProvider.name);
-                }
-            }
+            completionOptions.addAll(this.getHelpPages(sender).names());
         }
 
         return completionOptions;
@@ -262,39 +330,48 @@ public class HelpCommandHandler extends VaultCommandHandler {
                                 boolean allowNonPlayer,
                                 @NotNull List<String> playerUsageKeys,
                                 @NotNull List<String> nonPlayerUsageKeys,
-                                @NotNull List<String> aliases,
-                                @NotNull Permission permission) {
-        private boolean isSenderValid(final @NotNull CommandSender sender) {
-            return sender instanceof Player ? this.allowPlayer : this.allowNonPlayer;
+                                @NotNull List<String> aliases) {
+        private boolean isSenderValid(final boolean isPlayer) {
+            return isPlayer ? this.allowPlayer : this.allowNonPlayer;
         }
 
-        private boolean isAllowed(final @NotNull CommandSender sender) {
-            return !(sender instanceof Player) || (this.defaultPermission == null || this.defaultPermission.isBlank() || this.permission.has(sender, this.defaultPermission));
+        private boolean isAllowed(final boolean isPlayer, final @NotNull Set<String> granted) {
+            return !isPlayer || (this.defaultPermission == null || this.defaultPermission.isBlank() || granted.contains(this.defaultPermission));
         }
 
-        public @Nullable String getListEntry(final @NotNull CommandSender sender) {
-            if (this.isSenderValid(sender) && this.isAllowed(sender)) {
-                return I18n.tr("command.help.list." + this.name);
-            }
-            return null;
+        public @NotNull String getListEntry() {
+            return I18n.tr("command.help.list." + this.name);
         }
 
-        private @NotNull String getUsage(final @NotNull CommandSender sender) {
-            final @NotNull List<String> usage = sender instanceof Player ? this.playerUsageKeys : this.nonPlayerUsageKeys;
+        private @NotNull String getUsage(final boolean isPlayer) {
+            final @NotNull List<String> usage = isPlayer ? this.playerUsageKeys : this.nonPlayerUsageKeys;
             return String.join("\n", usage.stream().map(key -> String.format(" - %s", I18n.tr(key))).toList());
         }
 
-        public @Nullable String getEntry(final @NotNull CommandSender sender) {
-            if (this.isSenderValid(sender) && this.isAllowed(sender)) {
-                return I18n.tr("command.help." + this.name, "\n" + this.getUsage(sender));
-            }
-            return null;
+        public @NotNull String getEntry(final boolean isPlayer) {
+            return I18n.tr("command.help." + this.name, "\n" + this.getUsage(isPlayer));
         }
+    }
 
-        public boolean isMatch(final @NotNull String name) {
-            return this.name.equalsIgnoreCase(name) || this.aliases.stream()
-                    .anyMatch(alias -> alias.equalsIgnoreCase(name));
-        }
+    /**
+     * Identifies a set of help pages.
+     *
+     * @param locale      The locale the pages are translated into.
+     * @param player      Whether the pages are for players.
+     * @param permissions The help permissions granted to the senders the pages are for.
+     */
+    private record HelpKey(@Nullable String locale, boolean player, @NotNull Set<String> permissions) {
+    }
 
+    /**
+     * Translated and paginated help.
+     *
+     * @param listPages    The pages of the help list.
+     * @param commandPages The pages of the help for each command, by lowercase command name and alias.
+     * @param names        The names of the commands listed.
+     */
+    private record HelpPages(@NotNull List<String> listPages,
+                             @NotNull Map<String, List<String>> commandPages,
+                             @NotNull List<String> names) {
     }
 }
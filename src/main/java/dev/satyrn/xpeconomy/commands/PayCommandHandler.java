@@ -6,8 +6,8 @@ import dev.satyrn.xpeconomy.api.economy.Account;
 import dev.satyrn.xpeconomy.api.economy.AccountManager;
 import dev.satyrn.xpeconomy.configuration.Configuration;
 import dev.satyrn.xpeconomy.utils.Commands;
+import dev.satyrn.xpeconomy.utils.PlayerResolver;
 import net.milkbowl.vault.permission.Permission;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -18,7 +18,6 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.regex.Pattern;
 
 /**
@@ -35,9 +34,10 @@ public final class PayCommandHandler extends AccountCommandHandler {
      * @param permission     The permission manager instance
      * @param accountManager The account manager
      * @param configuration  The configuration instance
+     * @param playerResolver The player resolver instance
      */
-    public PayCommandHandler(final @NotNull Plugin plugin, final @NotNull Permission permission, final @NotNull AccountManager accountManager, final @NotNull Configuration configuration) {
-        super(plugin, permission, accountManager, configuration);
+    public PayCommandHandler(final @NotNull Plugin plugin, final @NotNull Permission permission, final @NotNull AccountManager accountManager, final @NotNull Configuration configuration, final @NotNull PlayerResolver playerResolver) {
+        super(plugin, permission, accountManager, configuration, playerResolver);
     }
 
     /**
@@ -67,22 +67,21 @@ public final class PayCommandHandler extends AccountCommandHandler {
                 final BigDecimal payment = this.getEconomyMethod()
                         .scale(BigDecimal.valueOf(Double.parseDouble(args[isSubCommand ? 2 : 1])));
                 final String targetName = args[isSubCommand ? 1 : 0];
-                final Optional<OfflinePlayer> result = Commands.getPlayer(targetName);
+                final Optional<PlayerResolver.Target> result = this.getPlayerResolver().resolve(targetName);
                 if (result.isPresent()) {
-                    final OfflinePlayer target = result.get();
-                    final UUID senderId = ((Player) sender).getUniqueId();
-                    if (target.getUniqueId() != senderId) {
-                        Account senderAccount = this.getAccountManager().getAccount(senderId);
+                    final PlayerResolver.Target target = result.get();
+                    if (!target.isSender(sender)) {
+                        Account senderAccount = this.getAccountManager().getAccount(((Player) sender).getUniqueId());
                         if (senderAccount != null) {
                             if (senderAccount.has(payment)) {
-                                Account targetAccount = this.getAccountManager().getAccount(target.getUniqueId());
+                                Account targetAccount = target.account();
                                 if (targetAccount != null) {
                                     senderAccount.withdraw(payment);
                                     targetAccount.deposit(payment);
-                                    sender.sendMessage(I18n.tr("command.pay.result", target.getName() == null ? targetAccount.getName() : target.getName(), this.getEconomyMethod()
+                                    sender.sendMessage(I18n.tr("command.pay.result", target.name(), this.getEconomyMethod()
                                             .toString(payment, true)));
                                 } else {
-                                    sender.sendMessage(I18n.tr("command.generic.invalidTarget.noAccount", target.getName() == null ? target.getUniqueId() : target.getName()));
+                                    sender.sendMessage(I18n.tr("command.generic.invalidTarget.noAccount", target.name()));
                                 }
                             } else {
                                 sender.sendMessage(I18n.tr("command.pay.insufficientBalance"));
@@ -124,7 +123,7 @@ public final class PayCommandHandler extends AccountCommandHandler {
         if (args.length == (isSubCommand ? 2 : 1)) {
             // First argument: player name.
             if (!(sender instanceof Player) || this.getPermission().has(sender, "xpeconomy.pay")) {
-                completionOptions.addAll(Commands.getPlayerNames());
+                completionOptions.addAll(Commands.getPlayerNames(this.getAccountManager(), args[args.length - 1]));
             }
         } else if (args.length == (isSubCommand ? 3 : 2)) {
             completionOptions.add(this.getEconomyMethod().toString(BigDecimal.ZERO));
@@ -6,6 +6,7 @@ import dev.satyrn.xpeconomy.api.economy.Account;
 import dev.satyrn.xpeconomy.api.economy.AccountManager;
 import dev.satyrn.xpeconomy.configuration.Configuration;
 import dev.satyrn.xpeconomy.utils.Commands;
+import dev.satyrn.xpeconomy.utils.PlayerResolver;
 import dev.satyrn.xpeconomy.utils.PlayerXPUtils;
 import net.milkbowl.vault.permission.Permission;
 import org.bukkit.command.Command;
@@ -16,6 +17,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -31,9 +33,10 @@ public final class SyncCommandHandler extends AccountCommandHandler {
      * @param permission     The permission instance
      * @param accountManager The account manager
      * @param configuration  The configuration manager
+     * @param playerResolver The player resolver
      */
-    public SyncCommandHandler(final @NotNull Plugin plugin, final @NotNull Permission permission, final @NotNull AccountManager accountManager, final @NotNull Configuration configuration) {
-        super(plugin, permission, accountManager, configuration);
+    public SyncCommandHandler(final @NotNull Plugin plugin, final @NotNull Permission permission, final @NotNull AccountManager accountManager, final @NotNull Configuration configuration, final @NotNull PlayerResolver playerResolver) {
+        super(plugin, permission, accountManager, configuration, playerResolver);
     }
 
     /**
@@ -65,23 +68,24 @@ public final class SyncCommandHandler extends AccountCommandHandler {
             return true;
         }
 
-        final Player target;
+        final PlayerResolver.Target target;
         if (args.length < playerArgIndex + 1) {
             if (sender instanceof Player) {
-                target = (Player) sender;
+                target = this.getPlayerResolver().resolve((Player) sender);
             } else {
                 sender.sendMessage(I18n.tr("command.balance.sync.parameter.player.missing"));
                 return true;
             }
         } else {
             final String targetName = args[playerArgIndex];
-            final Optional<? extends Player> result = Commands.getOnlinePlayer(targetName);
-            if (result.isEmpty()) {
+            final Optional<PlayerResolver.Target> result = this.getPlayerResolver().resolve(targetName);
+            // Only online players have experience to synchronize.
+            if (result.isEmpty() || result.get().player() == null) {
                 sender.sendMessage(I18n.tr("command.generic.invalidTarget", targetName));
                 return true;
             }
             target = result.get();
-            if (sender instanceof final Player player && player.getUniqueId() != target.getUniqueId()) {
+            if (sender instanceof final Player player && !target.isSender(player)) {
                 if (!permission.has(player, "xpeconomy.balance.sync.others")) {
                     sender.sendMessage(I18n.tr("command.balance.sync.permission.others"));
                     return true;
@@ -89,23 +93,23 @@ public final class SyncCommandHandler extends AccountCommandHandler {
             }
         }
 
-        final Account account = this.getAccountManager().getAccount(target.getUniqueId());
+        final Account account = target.account();
         if (account == null) {
-            if (sender instanceof final Player player && player.getUniqueId() == target.getUniqueId()) {
+            if (sender instanceof final Player player && target.isSender(player)) {
                 sender.sendMessage(I18n.tr("command.generic.invalidSender.noAccount"));
             } else {
-                sender.sendMessage(I18n.tr("command.generic.invalidTarget.noAccount", target.getName()));
+                sender.sendMessage(I18n.tr("command.generic.invalidTarget.noAccount", target.name()));
             }
             return true;
         }
 
-        account.setBalanceRaw(PlayerXPUtils.getPlayerXPTotal(target), false);
+        account.setBalanceRaw(PlayerXPUtils.getPlayerXPTotal(Objects.requireNonNull(target.player())), false);
 
-        if (sender instanceof final Player player && player.getUniqueId() == target.getUniqueId()) {
+        if (sender instanceof final Player player && target.isSender(player)) {
             sender.sendMessage(I18n.tr("command.balance.sync.result", this.getEconomyMethod()
                     .toString(account.getBalance(), true)));
         } else {
-            sender.sendMessage(I18n.tr("command.balance.sync.result.others", target.getName(), this.getEconomyMethod()
+            sender.sendMessage(I18n.tr("command.balance.sync.result.others", target.name(), this.getEconomyMethod()
                     .toString(account.getBalance(), true)));
         }
 
@@ -134,7 +138,7 @@ public final class SyncCommandHandler extends AccountCommandHandler {
         if (!(sender instanceof Player) || this.getPermission().has(sender, "xpeconomy.balance.sync")) {
             if (args.length == playerArgIndex + 1) { // Are we currently editing the player argument?
                 if (!(sender instanceof Player) || this.getPermission().has(sender, "xpeconomy.balance.sync.others")) {
-                    completionOptions.addAll(Commands.getPlayerNames());
+                    completionOptions.addAll(Commands.getPlayerNames(this.getAccountManager(), args[args.length - 1]));
                 }
             }
         }
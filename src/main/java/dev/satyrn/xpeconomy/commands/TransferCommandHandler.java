@@ -6,8 +6,8 @@ import dev.satyrn.xpeconomy.api.economy.Account;
 import dev.satyrn.xpeconomy.api.economy.AccountManager;
 import dev.satyrn.xpeconomy.configuration.Configuration;
 import dev.satyrn.xpeconomy.utils.Commands;
+import dev.satyrn.xpeconomy.utils.PlayerResolver;
 import net.milkbowl.vault.permission.Permission;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -15,7 +15,6 @@ import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 
 import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -32,12 +31,14 @@ public final class TransferCommandHandler extends AccountCommandHandler {
      * @param permission The permission manager object
      * @param accountManager The account manager instance
      * @param configuration The current economy method
+     * @param playerResolver The player resolver
      */
     public TransferCommandHandler(final @NotNull Plugin plugin,
                                   final @NotNull Permission permission,
                                   final @NotNull AccountManager accountManager,
-                                  final @NotNull Configuration configuration) {
-        super(plugin, permission, accountManager, configuration);
+                                  final @NotNull Configuration configuration,
+                                  final @NotNull PlayerResolver playerResolver) {
+        super(plugin, permission, accountManager, configuration, playerResolver);
     }
 
     /**
@@ -91,35 +92,35 @@ public final class TransferCommandHandler extends AccountCommandHandler {
             return true;
         }
 
-        final OfflinePlayer target;
+        final PlayerResolver.Target target;
         if (args.length < playerArgIndex + 1) {
             sender.sendMessage(I18n.tr("command.balance.transfer.parameter.player.missing"));
             return true;
         } else {
             final String targetName = args[playerArgIndex];
-            final Optional<OfflinePlayer> result = Commands.getPlayer(targetName);
+            final Optional<PlayerResolver.Target> result = this.getPlayerResolver().resolve(targetName);
             if (result.isEmpty()) {
                 sender.sendMessage(I18n.tr("command.generic.invalidTarget", targetName));
                 return true;
             }
             target = result.get();
             if (sender instanceof final Player player
-                    && player.getUniqueId() != target.getUniqueId()) {
-                if (permission.has(target.getPlayer(), "xpeconomy.balance.transfer.exempt")
+                    && !target.isSender(player)) {
+                if (target.player() != null && permission.has(target.player(), "xpeconomy.balance.transfer.exempt")
                         && !permission.has(player, "xpeconomy.balance.transfer.exempt.bypass")) {
-                    sender.sendMessage(I18n.tr("xpeconomy.balance.transfer.permission.exempt", target.getName() == null ? target.getUniqueId() : target.getName()));
+                    sender.sendMessage(I18n.tr("xpeconomy.balance.transfer.permission.exempt", target.name()));
                     return true;
                 }
             }
         }
 
-        final OfflinePlayer recipient;
+        final PlayerResolver.Target recipient;
         if (args.length < recipientArgIndex + 1) {
             sender.sendMessage(I18n.tr("command.balance.transfer.parameter.recipient.missing"));
             return true;
         } else {
-            final String targetName = args[playerArgIndex];
-            final Optional<OfflinePlayer> result = Commands.getPlayer(targetName);
+            final String targetName = args[recipientArgIndex];
+            final Optional<PlayerResolver.Target> result = this.getPlayerResolver().resolve(targetName);
             if (result.isEmpty()) {
                 sender.sendMessage(I18n.tr("command.generic.invalidTarget", targetName));
                 return true;
@@ -127,38 +128,36 @@ public final class TransferCommandHandler extends AccountCommandHandler {
             recipient = result.get();
         }
 
-        if (recipient.getUniqueId() == target.getUniqueId()) {
+        if (recipient.uuid().equals(target.uuid())) {
             sender.sendMessage(I18n.tr("command.balance.transfer.self"));
             return true;
         }
 
-        final Account account = this.getAccountManager().getAccount(target.getUniqueId());
+        final Account account = target.account();
         if (account == null) {
             if (sender instanceof final Player player
-                    && player.getUniqueId() == target.getUniqueId()) {
+                    && target.isSender(player)) {
                 sender.sendMessage(I18n.tr("command.generic.invalidSender.noAccount"));
             } else {
-                sender.sendMessage(I18n.tr("command.generic.invalidTarget.noAccount", target.getName() == null ? target.getUniqueId() : target.getName()));
+                sender.sendMessage(I18n.tr("command.generic.invalidTarget.noAccount", target.name()));
             }
             return true;
         }
 
-        final Account recipientAccount = this.getAccountManager().getAccount(recipient.getUniqueId());
+        final Account recipientAccount = recipient.account();
         if (recipientAccount == null) {
             if (sender instanceof final Player player
-                    && player.getUniqueId() == target.getUniqueId()) {
+                    && target.isSender(player)) {
                 sender.sendMessage(I18n.tr("command.generic.invalidSender.noAccount"));
             } else {
-                sender.sendMessage(I18n.tr("command.generic.invalidTarget.noAccount", recipient.getName() == null ? recipient.getUniqueId() : recipient.getName()));
+                sender.sendMessage(I18n.tr("command.generic.invalidTarget.noAccount", recipient.name()));
             }
             return true;
         }
 
-        final BigInteger rawAccountBalance = account.getBalanceRaw();
-
         if (amount.compareTo(account.getBalance()) > 0) {
             sender.sendMessage(I18n.tr("command.balance.transfer.failure.lowBalance",
-                    target.getName() == null ? target.getUniqueId() : target.getName(),
+                    target.name(),
                     this.getEconomyMethod().toString(account.getBalance(), true),
                     this.getEconomyMethod().toString(amount, true)));
             return true;
@@ -166,20 +165,21 @@ public final class TransferCommandHandler extends AccountCommandHandler {
 
         if (!account.withdraw(amount)) {
             sender.sendMessage(I18n.tr("command.balance.transfer.failure.withdraw",
-                    target.getName() == null ? account.getName() : target.getName()));
+                    target.name()));
             return true;
         }
         if (!recipientAccount.deposit(amount)) {
-            account.setBalanceRaw(rawAccountBalance, true);
+            // Return the withdrawn amount rather than restoring the old balance, so concurrent changes are kept.
+            account.deposit(amount);
             sender.sendMessage(I18n.tr("command.balance.transfer.failure.deposit",
-                    recipient.getName() == null ? recipientAccount.getName() : recipient.getName(),
-                    target.getName() == null ? account.getName() : target.getName()));
+                    recipient.name(),
+                    target.name()));
             return true;
         }
 
         sender.sendMessage(I18n.tr("command.balance.transfer.result",
-                target.getName() == null ? account.getName() : target.getName(),
-                recipient.getName() == null ? recipientAccount.getName() : recipient.getName()));
+                target.name(),
+                recipient.name()));
 
         return true;
     }
@@ -211,7 +211,7 @@ public final class TransferCommandHandler extends AccountCommandHandler {
                 completionOptions.add(this.getEconomyMethod().toString(BigDecimal.ONE));
                 completionOptions.add(this.getEconomyMethod().toString(BigDecimal.TEN));
             } else if (args.length == playerArgIndex + 1 || args.length == recipientArgIndex + 1) { // Are we currently editing the player argument?
-                completionOptions.addAll(Commands.getPlayerNames());
+                completionOptions.addAll(Commands.getPlayerNames(this.getAccountManager(), args[args.length - 1]));
             }
         }
 
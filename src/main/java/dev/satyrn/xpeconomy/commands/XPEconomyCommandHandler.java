@@ -15,11 +15,18 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 public final class XPEconomyCommandHandler extends VaultCommandHandler {
-    // A list of all registered subcommands.
+    // All registered subcommands, in registration order.
     private final @NotNull List<Subcommand> subcommands = new ArrayList<>();
+    // The registered subcommands, by lowercase name and alias.
+    private final @NotNull Map<String, Subcommand> subcommandsByAlias = new HashMap<>();
+    // The subcommand names each player may use, cached until their permissions may have changed.
+    private final @NotNull Map<UUID, Set<String>> playerCompletions = new ConcurrentHashMap<>();
+    // The subcommand names non-player senders may use, or null until first requested.
+    private volatile @Nullable Set<String> nonPlayerCompletions;
 
     /**
      * Creates a new command executor.
@@ -47,12 +54,9 @@ public final class XPEconomyCommandHandler extends VaultCommandHandler {
         final @NotNull String subcommandAlias = args.length >= 1 ? args[0] : "";
 
         if (!subcommandAlias.isBlank()) {
-            final @NotNull Optional<Subcommand> result = this.subcommands.stream()
-                    .filter(subcommand -> subcommand.isMatch(subcommandAlias))
-                    .findFirst();
+            final @Nullable Subcommand subcommand = this.getSubcommand(subcommandAlias);
 
-            if (result.isPresent()) {
-                final @NotNull Subcommand subcommand = result.get();
+            if (subcommand != null) {
                 if (!subcommand.isSenderValid(sender)) {
                     sender.sendMessage(I18n.tr(sender instanceof Player ? "command.xpEconomy.invalidSubcommand.requireNonPlayer" : "command.xpEconomy.invalidSubcommand.requirePlayer", subcommand.name()));
                     return true;
@@ -91,19 +95,13 @@ public final class XPEconomyCommandHandler extends VaultCommandHandler {
     public @NotNull List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String alias, @NotNull String[] args) {
         final List<String> completionOptions = new ArrayList<>();
         if (args.length == 1) {
-            completionOptions.addAll(this.subcommands.stream()
-                    .filter(subcommand -> subcommand.isSenderValid(sender) && subcommand.isAllowed(sender))
-                    .map(Subcommand::name)
-                    .toList());
+            completionOptions.addAll(this.getCompletions(sender));
         } else if (args.length > 1) {
-            final String subcommandAlias = args[0].toLowerCase(Locale.ROOT);
+            final String subcommandAlias = args[0];
             if (!subcommandAlias.isBlank()) {
-                final @NotNull Optional<Subcommand> result = this.subcommands.stream()
-                        .filter(subcommand -> subcommand.isMatch(subcommandAlias))
-                        .findFirst();
-                if (result.isPresent()) {
-                    final @NotNull Subcommand subcommand = result.get();
-                    if (subcommand.isSenderValid(sender) && subcommand.isAllowed(sender)) {
+                final @Nullable Subcommand subcommand = this.getSubcommand(subcommandAlias);
+                if (subcommand != null) {
+                    if (this.getCompletions(sender).contains(subcommand.name())) {
                         final @Nullable List<String> subcommandCompletionOptions = subcommand.onTabComplete(sender, command, alias, args);
                         if (subcommandCompletionOptions != null && !subcommandCompletionOptions.isEmpty()) {
                             completionOptions.addAll(subcommandCompletionOptions);
@@ -161,10 +159,18 @@ public final class XPEconomyCommandHandler extends VaultCommandHandler {
                                                       final boolean allowPlayer,
                                                       final boolean allowNonPlayer,
                                                       final @NotNull String... aliases) {
-        if (this.subcommands.stream()
-                .noneMatch(subcommand -> subcommand.isMatch(name) || Arrays.stream(aliases)
-                        .anyMatch(subcommand::isMatch))) {
-            this.subcommands.add(new Subcommand(name, defaultPermission, commandHandler, this.getPermission(), allowPlayer, allowNonPlayer, aliases));
+        final List<String> keys = new ArrayList<>(aliases.length + 1);
+        keys.add(name.toLowerCase(Locale.ROOT));
+        for (final String alias : aliases) {
+            keys.add(alias.toLowerCase(Locale.ROOT));
+        }
+        if (keys.stream().distinct().count() == keys.size() && keys.stream().noneMatch(this.subcommandsByAlias::containsKey)) {
+            final Subcommand subcommand = new Subcommand(name, defaultPermission, commandHandler, this.getPermission(), allowPlayer, allowNonPlayer, aliases);
+            this.subcommands.add(subcommand);
+            for (final String key : keys) {
+                this.subcommandsByAlias.put(key, subcommand);
+            }
+            this.invalidateCompletions();
         } else {
             this.getPlugin()
                     .getLogger()
@@ -174,6 +180,68 @@ public final class XPEconomyCommandHandler extends VaultCommandHandler {
         return this;
     }
 
+    /**
+     * Forgets the subcommand names cached for a player, so they are checked against the player's permissions again
+     * the next time they are completed.
+     *
+     * @param uuid The player UUID.
+     */
+    public void invalidateCompletions(final @NotNull UUID uuid) {
+        this.playerCompletions.remove(uuid);
+    }
+
+    /**
+     * Forgets the subcommand names cached for every sender.
+     */
+    public void invalidateCompletions() {
+        this.playerCompletions.clear();
+        this.nonPlayerCompletions = null;
+    }
+
+    /**
+     * Gets a subcommand by name or alias, ignoring case.
+     *
+     * @param alias The subcommand name or alias.
+     * @return The subcommand, or {@code null} if no subcommand has the name or alias.
+     */
+    private @Nullable Subcommand getSubcommand(final @NotNull String alias) {
+        return this.subcommandsByAlias.get(alias.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Gets the names of the subcommands a sender may use, from the cache if they were already checked.
+     *
+     * @param sender The command sender.
+     * @return The subcommand names, in registration order.
+     */
+    private @NotNull Set<String> getCompletions(final @NotNull CommandSender sender) {
+        if (sender instanceof final Player player) {
+            return this.playerCompletions.computeIfAbsent(player.getUniqueId(), uuid -> this.findCompletions(player));
+        }
+        Set<String> completions = this.nonPlayerCompletions;
+        if (completions == null) {
+            completions = this.findCompletions(sender);
+            this.nonPlayerCompletions = completions;
+        }
+        return completions;
+    }
+
+    /**
+     * Checks which subcommands a sender may use.
+     *
+     * @param sender The command sender.
+     * @return The subcommand names, in registration order.
+     */
+    private @NotNull Set<String> findCompletions(final @NotNull CommandSender sender) {
+        final Set<String> completions = new LinkedHashSet<>();
+        for (final Subcommand subcommand : this.subcommands) {
+            if (subcommand.isSenderValid(sender) && subcommand.isAllowed(sender)) {
+                completions.add(subcommand.name());
+            }
+        }
+        return Collections.unmodifiableSet(completions);
+    }
+
     private record Subcommand(@NotNull String name,
                               @Nullable String defaultPermission,
                               @NotNull CommandHandler commandHandler,
@@ -216,17 +284,6 @@ public final class XPEconomyCommandHandler extends VaultCommandHandler {
             return this.commandHandler.onTabComplete(sender, command, alias, args);
         }
 
-        /**
-         * Checks if a given subcommand matches this record.
-         *
-         * @param subcommand The subcommand to execute.
-         * @return {@code true} if the subcommand is a match; otherwise, {@code false}
-         */
-        public boolean isMatch(final @NotNull String subcommand) {
-            return this.name.equalsIgnoreCase(subcommand) || Arrays.stream(this.aliases)
-                    .anyMatch(alias -> alias.equalsIgnoreCase(subcommand));
-        }
-
         /**
          * Checks if a given command sender is valid for the subcommand.
          *
@@ -4,6 +4,7 @@ import dev.satyrn.papermc.api.configuration.v1.*;
 import dev.satyrn.papermc.api.configuration.v3.BigDecimalNode;
 import dev.satyrn.papermc.api.configuration.v5.MySQLConfiguration;
 import dev.satyrn.xpeconomy.utils.EconomyMethod;
+import dev.satyrn.xpeconomy.utils.StorageType;
 import org.bukkit.Material;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
@@ -19,6 +20,93 @@ public final class Configuration extends ConfigurationContainer {
      */
     public final transient MySQLConfiguration mysql = new MySQLConfiguration(this);
 
+    /**
+     * The MySQL connection pool settings configuration container.
+     */
+    public final transient @NotNull ConnectionPoolContainer connectionPool = new ConnectionPoolContainer(this.mysql);
+
+    /**
+     * Whether the MySQL database is shared with other servers, which may create accounts this server has not loaded.
+     */
+    public final transient @NotNull BooleanNode mysqlSharedStorage = new BooleanNode(this.mysql, "sharedStorage");
+
+    /**
+     * The account storage backend. MySQL is always used when it is enabled in the MySQL settings.
+     */
+    public final transient EnumNode<StorageType> accountStorage = new EnumNode<>(this, "accountStorage") {
+        @Override
+        public @NotNull StorageType parse(@NotNull String value) throws IllegalArgumentException {
+            return StorageType.valueOf(value.toUpperCase(Locale.ROOT));
+        }
+
+        @Override
+        public @NotNull StorageType getDefault() {
+            return StorageType.getDefault();
+        }
+    };
+
+    /**
+     * The YAML account storage settings configuration container.
+     */
+    public final transient @NotNull YamlStorageContainer yamlStorage = new YamlStorageContainer(this);
+
+    /**
+     * The number of milliseconds account lookups wait for account data to finish loading at startup.
+     */
+    public final transient @NotNull IntegerNode loadTimeout = new IntegerNode(this, "loadTimeout", 0, Integer.MAX_VALUE) {
+        @Override
+        public @NotNull Integer defaultValue() {
+            return 10000;
+        }
+    };
+
+    /**
+     * The number of shards accounts are partitioned into. Each shard is saved under its own lock, in parallel where
+     * the storage backend allows it.
+     */
+    public final transient @NotNull IntegerNode storageShards = new IntegerNode(this, "storageShards", 1, 256) {
+        @Override
+        public @NotNull Integer defaultValue() {
+            return 1;
+        }
+    };
+
+    /**
+     * The account cache settings configuration container.
+     */
+    public final transient @NotNull AccountCacheContainer accountCache = new AccountCacheContainer(this);
+
+    /**
+     * The number of threads which run asynchronous account requests and storage reads and writes, or 0 to run each
+     * on its own virtual thread.
+     */
+    public final transient @NotNull IntegerNode asyncThreads = new IntegerNode(this, "asyncThreads", 0, Integer.MAX_VALUE) {
+        @Override
+        public @NotNull Integer defaultValue() {
+            return 0;
+        }
+    };
+
+    /**
+     * The maximum number of storage reads and writes which may run at once.
+     */
+    public final transient @NotNull IntegerNode storageConcurrency = new IntegerNode(this, "storageConcurrency", 1, Integer.MAX_VALUE) {
+        @Override
+        public @NotNull Integer defaultValue() {
+            return 16;
+        }
+    };
+
+    /**
+     * Whether economy balance changes are applied one at a time on a dedicated writer thread.
+     */
+    public final transient @NotNull BooleanNode singleWriter = new BooleanNode(this, "singleWriter");
+
+    /**
+     * The world groups configuration container.
+     */
+    public final transient @NotNull WorldGroupsContainer worldGroups = new WorldGroupsContainer(this);
+
     /**
      * The initial account balance for new player accounts.
      */
@@ -73,6 +161,175 @@ public final class Configuration extends ConfigurationContainer {
         super(plugin);
     }
 
+    /**
+     * Gets the account storage backend to use.
+     *
+     * @return MYSQL if the MySQL backend is enabled; otherwise, the configured account storage type.
+     */
+    public @NotNull StorageType getStorageType() {
+        if (this.mysql.enabled.value()) {
+            return StorageType.MYSQL;
+        }
+        return this.accountStorage.value();
+    }
+
+    /**
+     * Represents the MySQL connection pool configuration container.
+     *
+     * @author Isabel Maskrey
+     * @since 1.1.2
+     */
+    public static final class ConnectionPoolContainer extends ConfigurationContainer {
+        /**
+         * The maximum number of connections the pool may hold open at once.
+         */
+        public final @NotNull IntegerNode maxSize = new IntegerNode(this, "maxSize", 1, Integer.MAX_VALUE) {
+            @Override
+            public @NotNull Integer defaultValue() {
+                return 4;
+            }
+        };
+        /**
+         * The number of seconds an unused connection may sit in the pool before it is closed.
+         */
+        public final @NotNull IntegerNode idleTimeout = new IntegerNode(this, "idleTimeout", 1, Integer.MAX_VALUE) {
+            @Override
+            public @NotNull Integer defaultValue() {
+                return 300;
+            }
+        };
+        /**
+         * The number of seconds to wait for a pooled connection to respond to a validation check.
+         */
+        public final @NotNull IntegerNode validationTimeout = new IntegerNode(this, "validationTimeout", 1, Integer.MAX_VALUE) {
+            @Override
+            public @NotNull Integer defaultValue() {
+                return 5;
+            }
+        };
+        /**
+         * The number of milliseconds to wait for a free connection when the pool is exhausted.
+         */
+        public final @NotNull IntegerNode connectionTimeout = new IntegerNode(this, "connectionTimeout", 0, Integer.MAX_VALUE) {
+            @Override
+            public @NotNull Integer defaultValue() {
+                return 10000;
+            }
+        };
+        /**
+         * The number of prepared statements to cache on each pooled connection.
+         */
+        public final @NotNull IntegerNode statementCacheSize = new IntegerNode(this, "statementCacheSize", 0, Integer.MAX_VALUE) {
+            @Override
+            public @NotNull Integer defaultValue() {
+                return 16;
+            }
+        };
+
+        /**
+         * Creates a new connection pool configuration container.
+         *
+         * @param parent The parent configuration container.
+         */
+        ConnectionPoolContainer(final @NotNull ConfigurationContainer parent) {
+            super(parent, "connectionPool");
+        }
+    }
+
+    /**
+     * Represents the YAML account storage configuration container.
+     *
+     * @author Isabel Maskrey
+     * @since 1.1.2
+     */
+    public static final class YamlStorageContainer extends ConfigurationContainer {
+        /**
+         * Whether account records are decoded on multiple threads while accounts.yml is read.
+         */
+        public final @NotNull BooleanNode parallelLoad = new BooleanNode(this, "parallelLoad");
+        /**
+         * The number of account records read from accounts.yml before they are decoded as a batch.
+         */
+        public final @NotNull IntegerNode loadChunkSize = new IntegerNode(this, "loadChunkSize", 1, Integer.MAX_VALUE) {
+            @Override
+            public @NotNull Integer defaultValue() {
+                return 1024;
+            }
+        };
+
+        /**
+         * Creates a new YAML storage configuration container.
+         *
+         * @param parent The parent configuration container.
+         */
+        YamlStorageContainer(final @NotNull ConfigurationContainer parent) {
+            super(parent, "yamlStorage");
+        }
+    }
+
+    /**
+     * Represents the account cache configuration container.
+     *
+     * @author Isabel Maskrey
+     * @since 1.1.2
+     */
+    public static final class AccountCacheContainer extends ConfigurationContainer {
+        /**
+         * Whether accounts are loaded on demand and evicted once idle, instead of all being kept in memory.
+         */
+        public final @NotNull BooleanNode enabled = new BooleanNode(this, "enabled");
+        /**
+         * The number of accounts to keep in memory before the least recently used offline accounts are evicted.
+         */
+        public final @NotNull IntegerNode maxSize = new IntegerNode(this, "maxSize", 0, Integer.MAX_VALUE) {
+            @Override
+            public @NotNull Integer defaultValue() {
+                return 1000;
+            }
+        };
+        /**
+         * The number of seconds an offline account may go unused before it is evicted.
+         */
+        public final @NotNull IntegerNode idleTimeout = new IntegerNode(this, "idleTimeout", 60, Integer.MAX_VALUE) {
+            @Override
+            public @NotNull Integer defaultValue() {
+                return 900;
+            }
+        };
+
+        /**
+         * Creates a new account cache configuration container.
+         *
+         * @param parent The parent configuration container.
+         */
+        AccountCacheContainer(final @NotNull ConfigurationContainer parent) {
+            super(parent, "accountCache");
+        }
+    }
+
+    /**
+     * Represents the world groups configuration container. The groups themselves are read from the
+     * {@code worldGroups.groups} section, with one list of world names per group.
+     *
+     * @author Isabel Maskrey
+     * @since 1.1.2
+     */
+    public static final class WorldGroupsContainer extends ConfigurationContainer {
+        /**
+         * Whether worlds in a group use their own accounts through the world-aware economy methods.
+         */
+        public final @NotNull BooleanNode enabled = new BooleanNode(this, "enabled");
+
+        /**
+         * Creates a new world groups configuration container.
+         *
+         * @param parent The parent configuration container.
+         */
+        WorldGroupsContainer(final @NotNull ConfigurationContainer parent) {
+            super(parent, "worldGroups");
+        }
+    }
+
     /**
      * Represents a bottle options configuration container.
      *
@@ -0,0 +1,260 @@
+package dev.satyrn.xpeconomy.economy;
+
+import dev.satyrn.xpeconomy.utils.PlayerNameTrie;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A partition of the accounts held in memory, selected by player UUID hash. Each shard tracks which of its accounts
+ * have unsaved changes and is persisted under its own lock, so saves of different shards can run at the same time.
+ */
+final class AccountShard {
+    // The index of the shard.
+    private final int index;
+    // The accounts in the shard, indexed by player UUID.
+    private final @NotNull Map<UUID, PlayerAccount> accounts = new ConcurrentHashMap<>();
+    // The accounts in the shard which changed since they were last written.
+    private final @NotNull Set<PlayerAccount> dirtyAccounts = ConcurrentHashMap.newKeySet();
+    // Held while the shard is written to storage.
+    private final @NotNull ReentrantLock lock = new ReentrantLock();
+    // Publishes balance changes of accounts in the shard, or null if they are not published.
+    private volatile @Nullable BalanceChangePublisher balanceChangePublisher;
+    // The names of the accounts known to the account manager.
+    private final @NotNull PlayerNameTrie accountNames;
+
+    /**
+     * Creates a new shard.
+     *
+     * @param index        The index of the shard.
+     * @param accountNames The names of the accounts known to the account manager, updated as accounts are added and
+     *                     renamed.
+     */
+    AccountShard(final int index, final @NotNull PlayerNameTrie accountNames) {
+        this.index = index;
+        this.accountNames = accountNames;
+    }
+
+    /**
+     * Gets the index of the shard.
+     *
+     * @return The shard index.
+     */
+    int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Gets the lock held while the shard is written to storage.
+     *
+     * @return The shard lock.
+     */
+    @NotNull ReentrantLock getLock() {
+        return this.lock;
+    }
+
+    /**
+     * Gets an account in the shard.
+     *
+     * @param uuid The player UUID.
+     * @return The account, or {@code null} if it is not in the shard.
+     */
+    @Nullable PlayerAccount get(final @NotNull UUID uuid) {
+        return this.accounts.get(uuid);
+    }
+
+    /**
+     * Checks whether an account is in the shard.
+     *
+     * @param uuid The player UUID.
+     * @return Whether the account is in the shard.
+     */
+    boolean contains(final @NotNull UUID uuid) {
+        return this.accounts.containsKey(uuid);
+    }
+
+    /**
+     * Adds an account to the shard, replacing any account with the same UUID.
+     *
+     * @param account The account.
+     */
+    void put(final @NotNull PlayerAccount account) {
+        final PlayerAccount previous = this.accounts.put(account.getUUID(), account);
+        if (previous != null && previous != account) {
+            previous.setShard(null);
+            this.dirtyAccounts.remove(previous);
+        }
+        this.attach(account);
+    }
+
+    /**
+     * Adds an account to the shard unless an account with the same UUID is already present.
+     *
+     * @param account The account.
+     * @return The account now in the shard.
+     */
+    @NotNull PlayerAccount putIfAbsent(final @NotNull PlayerAccount account) {
+        final PlayerAccount existing = this.accounts.putIfAbsent(account.getUUID(), account);
+        if (existing != null) {
+            return existing;
+        }
+        this.attach(account);
+        return account;
+    }
+
+    /**
+     * Evicts an account from the shard if it is still the account held for its UUID and has no unsaved changes and
+     * no holds. The account is checked and marked evicted while its map entry is locked, so no change, hold, or load
+     * can slip in between the check and the removal.
+     *
+     * @param account The account.
+     * @return Whether the account was evicted.
+     */
+    boolean evict(final @NotNull PlayerAccount account) {
+        final boolean[] evicted = {false};
+        this.accounts.computeIfPresent(account.getUUID(), (uuid, current) -> {
+            if (current != account || !account.evict()) {
+                return current;
+            }
+            evicted[0] = true;
+            return null;
+        });
+        if (evicted[0]) {
+            this.dirtyAccounts.remove(account);
+        }
+        return evicted[0];
+    }
+
+    /**
+     * Gets the account held for the UUID of an evicted account, adding the evicted account back if no other account
+     * has been loaded for it since.
+     *
+     * @param account The evicted account.
+     * @return The account now held in the shard.
+     */
+    @NotNull PlayerAccount readmit(final @NotNull PlayerAccount account) {
+        final boolean[] readmitted = {false};
+        final PlayerAccount current = this.accounts.computeIfAbsent(account.getUUID(), uuid -> {
+            readmitted[0] = account.revive();
+            return readmitted[0] ? account : null;
+        });
+        if (readmitted[0]) {
+            this.attach(account);
+        }
+        // The account was revived by another thread and is no longer evicted.
+        return current == null ? account : current;
+    }
+
+    /**
+     * Gets the accounts in the shard. The view reflects later changes.
+     *
+     * @return The accounts.
+     */
+    @NotNull Collection<PlayerAccount> getAccounts() {
+        return this.accounts.values();
+    }
+
+    /**
+     * Gets the number of accounts in the shard.
+     *
+     * @return The number of accounts.
+     */
+    int size() {
+        return this.accounts.size();
+    }
+
+    /**
+     * Checks whether any account in the shard changed since it was last written.
+     *
+     * @return Whether the shard has unsaved changes.
+     */
+    boolean hasChanges() {
+        return !this.dirtyAccounts.isEmpty();
+    }
+
+    /**
+     * Records that an account in the shard changed.
+     *
+     * @param account The account.
+     */
+    void markDirty(final @NotNull PlayerAccount account) {
+        this.dirtyAccounts.add(account);
+    }
+
+    /**
+     * Sets the publisher which balance changes of accounts in the shard are reported to.
+     *
+     * @param balanceChangePublisher The publisher, or {@code null} to stop reporting balance changes.
+     */
+    void setBalanceChangePublisher(final @Nullable BalanceChangePublisher balanceChangePublisher) {
+        this.balanceChangePublisher = balanceChangePublisher;
+    }
+
+    /**
+     * Records that the balance of an account in the shard changed.
+     *
+     * @param account    The account.
+     * @param oldBalance The raw balance before the change.
+     * @param newBalance The raw balance after the change.
+     */
+    void balanceChanged(final @NotNull PlayerAccount account, final @NotNull BigInteger oldBalance, final @NotNull BigInteger newBalance) {
+        final BalanceChangePublisher publisher = this.balanceChangePublisher;
+        if (publisher != null) {
+            publisher.record(account.getUUID(), oldBalance, newBalance);
+        }
+    }
+
+    /**
+     * Records that the name of an account in the shard changed.
+     *
+     * @param account The account.
+     * @param oldName The name before the change.
+     */
+    void nameChanged(final @NotNull PlayerAccount account, final @NotNull String oldName) {
+        this.accountNames.remove(oldName, account.getUUID());
+        this.accountNames.add(account.getName(), account.getUUID());
+    }
+
+    /**
+     * Removes and returns the accounts which still have unsaved changes. Accounts which change again while they are
+     * being written are marked dirty again by the change.
+     *
+     * @return The changed accounts.
+     */
+    @NotNull List<PlayerAccount> drainDirtyAccounts() {
+        final List<PlayerAccount> drained = new ArrayList<>();
+        for (final PlayerAccount account : this.dirtyAccounts) {
+            // Accounts written on their own since they were marked have nothing left to save.
+            if (this.dirtyAccounts.remove(account) && account.isDirty()) {
+                drained.add(account);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Marks accounts dirty again after a write failed.
+     *
+     * @param accounts The accounts which were not written.
+     */
+    void requeue(final @NotNull Collection<PlayerAccount> accounts) {
+        for (final PlayerAccount account : accounts) {
+            if (account.isDirty()) {
+                this.dirtyAccounts.add(account);
+            }
+        }
+    }
+
+    // Starts tracking changes to an account, marking it dirty if it already has unsaved changes.
+    private void attach(final @NotNull PlayerAccount account) {
+        account.setShard(this);
+        this.accountNames.add(account.getName(), account.getUUID());
+        if (account.isDirty()) {
+            this.dirtyAccounts.add(account);
+        }
+    }
+}
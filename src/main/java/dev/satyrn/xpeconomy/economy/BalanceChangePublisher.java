@@ -0,0 +1,76 @@
+package dev.satyrn.xpeconomy.economy;
+
+import dev.satyrn.xpeconomy.api.events.BalanceChangeEvent;
+import dev.satyrn.xpeconomy.api.events.BalanceChangeEvent.BalanceChange;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects balance changes from any thread and publishes them as one {@link BalanceChangeEvent} per tick.
+ * <p>
+ * Changes are only collected while a listener is registered for the event, so the economy pays nothing for it
+ * otherwise.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.2
+ */
+public final class BalanceChangePublisher {
+    // The plugin instance.
+    private final transient @NotNull Plugin plugin;
+    // The changes since the last publish, combined per account.
+    private final @NotNull Map<UUID, BalanceChange> pendingChanges = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new balance change publisher.
+     *
+     * @param plugin The plugin instance.
+     */
+    public BalanceChangePublisher(final @NotNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Records a balance change, combining it with any earlier change to the same account since the last publish.
+     *
+     * @param uuid       The player UUID.
+     * @param oldBalance The raw balance before the change.
+     * @param newBalance The raw balance after the change.
+     */
+    void record(final @NotNull UUID uuid, final @NotNull BigInteger oldBalance, final @NotNull BigInteger newBalance) {
+        if (BalanceChangeEvent.getHandlerList().getRegisteredListeners().length == 0) {
+            return;
+        }
+        this.pendingChanges.merge(uuid, new BalanceChange(uuid, oldBalance, newBalance), (earlier, later) -> new BalanceChange(uuid, earlier.oldBalance(), later.newBalance()));
+    }
+
+    /**
+     * Calls a balance change event with every change recorded since the last publish. Must be called on the main
+     * thread.
+     *
+     * @return The number of changes published.
+     */
+    public int publish() {
+        if (this.pendingChanges.isEmpty()) {
+            return 0;
+        }
+        final List<BalanceChange> changes = new ArrayList<>(this.pendingChanges.size());
+        for (final UUID uuid : this.pendingChanges.keySet()) {
+            final BalanceChange change = this.pendingChanges.remove(uuid);
+            // Changes which cancelled each other out are dropped.
+            if (change != null && !change.oldBalance().equals(change.newBalance())) {
+                changes.add(change);
+            }
+        }
+        if (!changes.isEmpty()) {
+            this.plugin.getServer().getPluginManager().callEvent(new BalanceChangeEvent(changes));
+        }
+        return changes.size();
+    }
+}
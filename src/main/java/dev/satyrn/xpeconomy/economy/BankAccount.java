@@ -0,0 +1,249 @@
+package dev.satyrn.xpeconomy.economy;
+
+import dev.satyrn.xpeconomy.configuration.Configuration;
+import dev.satyrn.xpeconomy.utils.EconomyMethod;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Represents a named bank account with an owner and a set of members. Bank balances are never mirrored by a player's
+ * experience.
+ * <p>
+ * Deposits and withdrawals replace the immutable balance with a single compare-and-set, so concurrent changes from
+ * any thread are applied atomically without a lock.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.2
+ */
+public final class BankAccount {
+    // The configuration.
+    private final transient @NotNull Configuration configuration;
+    // The bank name, as it was created.
+    private final @NotNull String name;
+    // The UUID of the bank owner.
+    private final @NotNull UUID owner;
+    // The UUIDs of the bank members, other than the owner.
+    private final @NotNull Set<UUID> members = ConcurrentHashMap.newKeySet();
+    // The raw balance.
+    private final @NotNull AtomicReference<BigInteger> balance = new AtomicReference<>(BigInteger.ZERO);
+    // Incremented each time the balance or members change.
+    private final @NotNull AtomicLong revision = new AtomicLong();
+    // The revision which was last written to storage. New banks start out unsaved.
+    private volatile long persistedRevision = -1L;
+
+    /**
+     * Creates a new bank account with an empty balance.
+     *
+     * @param configuration The configuration instance.
+     * @param name          The bank name.
+     * @param owner         The UUID of the bank owner.
+     */
+    BankAccount(final @NotNull Configuration configuration, final @NotNull String name, final @NotNull UUID owner) {
+        this.configuration = configuration;
+        this.name = name;
+        this.owner = owner;
+    }
+
+    // Gets the current economy method.
+    private EconomyMethod getEconomyMethod() {
+        return this.configuration.economyMethod.value();
+    }
+
+    /**
+     * Gets the bank name.
+     *
+     * @return The bank name.
+     */
+    public @NotNull String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the UUID of the bank owner.
+     *
+     * @return The owner's player UUID.
+     */
+    public @NotNull UUID getOwner() {
+        return this.owner;
+    }
+
+    /**
+     * Checks whether a player owns the bank.
+     *
+     * @param uuid The player UUID.
+     * @return Whether the player is the owner.
+     */
+    public boolean isOwner(final @NotNull UUID uuid) {
+        return this.owner.equals(uuid);
+    }
+
+    /**
+     * Checks whether a player is a member of the bank. The owner is always a member.
+     *
+     * @param uuid The player UUID.
+     * @return Whether the player is a member.
+     */
+    public boolean isMember(final @NotNull UUID uuid) {
+        return this.owner.equals(uuid) || this.members.contains(uuid);
+    }
+
+    /**
+     * Gets the members of the bank, other than the owner.
+     *
+     * @return An unmodifiable view of the member UUIDs.
+     */
+    public @NotNull Set<UUID> getMembers() {
+        return Collections.unmodifiableSet(this.members);
+    }
+
+    /**
+     * Adds a member to the bank.
+     *
+     * @param uuid The player UUID.
+     * @return {@code true} if the player was not already a member; otherwise, {@code false}.
+     */
+    public boolean addMember(final @NotNull UUID uuid) {
+        if (this.owner.equals(uuid) || !this.members.add(uuid)) {
+            return false;
+        }
+        this.revision.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Removes a member from the bank.
+     *
+     * @param uuid The player UUID.
+     * @return {@code true} if the player was a member; otherwise, {@code false}.
+     */
+    public boolean removeMember(final @NotNull UUID uuid) {
+        if (!this.members.remove(uuid)) {
+            return false;
+        }
+        this.revision.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Gets the balance of the bank.
+     *
+     * @return The bank balance.
+     */
+    public @NotNull BigDecimal getBalance() {
+        return this.getEconomyMethod().fromRawBalance(this.balance.get());
+    }
+
+    /**
+     * Gets the raw balance of the bank.
+     *
+     * @return The raw experience point balance.
+     */
+    public @NotNull BigInteger getBalanceRaw() {
+        return this.balance.get();
+    }
+
+    /**
+     * Checks whether the bank can withdraw a given amount.
+     *
+     * @param value The amount to withdraw.
+     * @return Whether the bank can withdraw the amount.
+     */
+    public boolean has(final @NotNull BigDecimal value) {
+        return this.balance.get().compareTo(this.getEconomyMethod().toRawBalance(value, BigInteger.ZERO)) >= 0;
+    }
+
+    /**
+     * Withdraws a given amount from the bank if its balance covers it.
+     *
+     * @param value The amount to withdraw.
+     * @return {@code true} if the amount was withdrawn; otherwise, {@code false}.
+     */
+    public boolean withdraw(final @NotNull BigDecimal value) {
+        if (value.signum() < 0) {
+            return false;
+        }
+        final EconomyMethod economyMethod = this.getEconomyMethod();
+        final BigInteger required = economyMethod.toRawBalance(value, BigInteger.ZERO);
+        BigInteger current;
+        BigInteger updated;
+        do {
+            current = this.balance.get();
+            if (current.compareTo(required) < 0) {
+                return false;
+            }
+            updated = current.add(economyMethod.toRawBalance(value.negate(), current));
+        } while (!this.balance.compareAndSet(current, updated));
+        this.revision.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Deposits a given amount into the bank.
+     *
+     * @param value The amount to deposit.
+     * @return {@code true} if the amount was deposited; otherwise, {@code false}.
+     */
+    public boolean deposit(final @NotNull BigDecimal value) {
+        if (value.signum() < 0) {
+            return false;
+        }
+        final EconomyMethod economyMethod = this.getEconomyMethod();
+        BigInteger current;
+        BigInteger updated;
+        do {
+            current = this.balance.get();
+            updated = current.add(economyMethod.toRawBalance(value, current));
+        } while (!this.balance.compareAndSet(current, updated));
+        this.revision.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Restores the raw balance and members read from storage. Only used while loading.
+     *
+     * @param balance The raw balance.
+     * @param members The member UUIDs.
+     */
+    void restore(final @NotNull BigInteger balance, final @NotNull Set<UUID> members) {
+        this.balance.set(balance);
+        this.members.addAll(members);
+        this.members.remove(this.owner);
+        this.persistedRevision = this.revision.get();
+    }
+
+    /**
+     * Gets the current revision of the bank. Storage backends capture this before writing the bank so that changes
+     * made during the write are not lost.
+     *
+     * @return The current revision.
+     */
+    long getRevision() {
+        return this.revision.get();
+    }
+
+    /**
+     * Checks whether the bank has changed since it was last written to storage.
+     *
+     * @return {@code true} if the bank has unsaved changes; otherwise, {@code false}.
+     */
+    boolean isDirty() {
+        return this.revision.get() != this.persistedRevision;
+    }
+
+    /**
+     * Records that the bank was written to storage as of a given revision.
+     *
+     * @param revision The revision which was written.
+     */
+    void markPersisted(final long revision) {
+        this.persistedRevision = revision;
+    }
+}
@@ -0,0 +1,194 @@
+package dev.satyrn.xpeconomy.economy;
+
+import dev.satyrn.xpeconomy.configuration.Configuration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the bank accounts in memory, indexed by case-insensitive bank name. Tracks which banks were deleted since
+ * they were last written, so storage backends can remove them.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.2
+ */
+public final class BankIndex {
+    /**
+     * The maximum length of a bank name.
+     */
+    public static final int MAX_NAME_LENGTH = 64;
+
+    // The configuration.
+    private final transient @NotNull Configuration configuration;
+    // The banks, indexed by lower case name.
+    private final @NotNull Map<String, BankAccount> banks = new ConcurrentHashMap<>();
+    // The lower case names of banks deleted since they were last written.
+    private final @NotNull Set<String> deletedBanks = ConcurrentHashMap.newKeySet();
+    // Held while the banks are written to storage.
+    private final @NotNull ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Creates a new, empty bank index.
+     *
+     * @param configuration The configuration instance.
+     */
+    BankIndex(final @NotNull Configuration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Gets the key a bank is indexed and stored under.
+     *
+     * @param name The bank name.
+     * @return The lower case bank name.
+     */
+    static @NotNull String getKey(final @NotNull String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Checks whether a name may be used for a bank.
+     *
+     * @param name The bank name.
+     * @return Whether the name is not blank and no longer than {@link #MAX_NAME_LENGTH}.
+     */
+    public static boolean isValidName(final @Nullable String name) {
+        return name != null && !name.isBlank() && name.length() <= MAX_NAME_LENGTH;
+    }
+
+    /**
+     * Gets a bank by name.
+     *
+     * @param name The bank name, in any case.
+     * @return The bank, or {@code null} if no bank has the name.
+     */
+    public @Nullable BankAccount get(final @NotNull String name) {
+        return this.banks.get(getKey(name));
+    }
+
+    /**
+     * Creates a bank with an empty balance.
+     *
+     * @param name  The bank name.
+     * @param owner The UUID of the bank owner.
+     * @return The new bank, or {@code null} if the name is invalid or another bank already has it.
+     */
+    public @Nullable BankAccount create(final @NotNull String name, final @NotNull UUID owner) {
+        if (!isValidName(name)) {
+            return null;
+        }
+        final String key = getKey(name);
+        final BankAccount bank = new BankAccount(this.configuration, name, owner);
+        if (this.banks.putIfAbsent(key, bank) != null) {
+            return null;
+        }
+        // A stored bank with the same name is overwritten rather than deleted.
+        this.deletedBanks.remove(key);
+        return bank;
+    }
+
+    /**
+     * Deletes a bank.
+     *
+     * @param name The bank name, in any case.
+     * @return The deleted bank, or {@code null} if no bank has the name.
+     */
+    public @Nullable BankAccount delete(final @NotNull String name) {
+        final String key = getKey(name);
+        final BankAccount bank = this.banks.remove(key);
+        if (bank != null) {
+            this.deletedBanks.add(key);
+        }
+        return bank;
+    }
+
+    /**
+     * Gets the names of every bank, sorted alphabetically.
+     *
+     * @return The bank names.
+     */
+    public @NotNull List<String> getNames() {
+        final List<String> names = new ArrayList<>(this.banks.size());
+        for (final BankAccount bank : this.banks.values()) {
+            names.add(bank.getName());
+        }
+        names.sort(String.CASE_INSENSITIVE_ORDER);
+        return names;
+    }
+
+    /**
+     * Gets every bank.
+     *
+     * @return An unmodifiable view of the banks.
+     */
+    public @NotNull Collection<BankAccount> getBanks() {
+        return Collections.unmodifiableCollection(this.banks.values());
+    }
+
+    /**
+     * Adds a bank read from storage, replacing any bank with the same name.
+     *
+     * @param bank The bank.
+     */
+    void put(final @NotNull BankAccount bank) {
+        this.banks.put(getKey(bank.getName()), bank);
+    }
+
+    /**
+     * Checks whether any bank was changed, created, or deleted since the banks were last written.
+     *
+     * @return Whether the banks have unsaved changes.
+     */
+    boolean hasChanges() {
+        if (!this.deletedBanks.isEmpty()) {
+            return true;
+        }
+        for (final BankAccount bank : this.banks.values()) {
+            if (bank.isDirty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes and returns the names of banks deleted since the banks were last written.
+     *
+     * @return The lower case names of the deleted banks.
+     */
+    @NotNull List<String> drainDeletedBanks() {
+        final List<String> drained = new ArrayList<>();
+        final Iterator<String> iterator = this.deletedBanks.iterator();
+        while (iterator.hasNext()) {
+            final String key = iterator.next();
+            iterator.remove();
+            drained.add(key);
+        }
+        return drained;
+    }
+
+    /**
+     * Records deleted banks again after a write failed. Banks recreated in the meantime are skipped.
+     *
+     * @param keys The lower case names of the deleted banks which were not written.
+     */
+    void requeueDeletedBanks(final @NotNull Collection<String> keys) {
+        for (final String key : keys) {
+            if (!this.banks.containsKey(key)) {
+                this.deletedBanks.add(key);
+            }
+        }
+    }
+
+    /**
+     * Gets the lock held while the banks are written to storage.
+     *
+     * @return The bank lock.
+     */
+    @NotNull ReentrantLock getLock() {
+        return this.lock;
+    }
+}
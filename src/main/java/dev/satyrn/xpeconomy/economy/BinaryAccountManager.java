@@ -0,0 +1,633 @@
+package dev.satyrn.xpeconomy.economy;
+
+import dev.satyrn.xpeconomy.configuration.Configuration;
+import dev.satyrn.xpeconomy.storage.StorageExecutor;
+import dev.satyrn.xpeconomy.utils.UUIDBloomFilter;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.zip.CRC32;
+
+/**
+ * An account manager with a memory-mapped binary file backend.
+ * <p>
+ * Accounts are stored as fixed-width records in accounts.dat. Names, and balances too large for a long, are appended
+ * to a separate heap file, accounts.names, and referenced by offset. Saves overwrite only the records of accounts which
+ * changed since the last save.
+ * <p>
+ * File layout:
+ * <pre>
+ * accounts.dat   header (64 bytes): two slots (32 bytes each)
+ *                header slot: magic, version, record size, record count, heap length, sequence, CRC32 of the slot
+ *                record (32 bytes): UUID (16), balance (8), flags (1), padding (3), name offset (4)
+ * accounts.names entry: length (2), UTF-8 bytes
+ * </pre>
+ * Each header write goes to the slot which does not hold the newest header, with the next sequence number, so a write
+ * torn by a crash leaves the previous header intact. The newest slot with a valid checksum is loaded.
+ */
+public final class BinaryAccountManager extends PlayerAccountManagerBase {
+    // The base name of the record and name heap files.
+    private static final String FILE_NAME = "accounts";
+    // "XPEA"
+    private static final int MAGIC = 0x58504541;
+    // The current file format version.
+    private static final int FORMAT_VERSION = 2;
+    // The file format version with a single header, which is upgraded when the header is next written.
+    private static final int LEGACY_FORMAT_VERSION = 1;
+    // Header field offsets, relative to the start of a header slot.
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_VERSION = 4;
+    private static final int HEADER_RECORD_SIZE = 8;
+    private static final int HEADER_RECORD_COUNT = 12;
+    private static final int HEADER_HEAP_LENGTH = 16;
+    private static final int HEADER_SEQUENCE = 24;
+    private static final int HEADER_CRC = 28;
+    private static final int HEADER_SLOT_SIZE = 32;
+    private static final int HEADER_SLOTS = 2;
+    private static final int HEADER_SIZE = HEADER_SLOT_SIZE * HEADER_SLOTS;
+    // The offset of the checksum of a legacy header, which covers every byte before it.
+    private static final int LEGACY_HEADER_CRC = 60;
+    // Record field offsets.
+    private static final int RECORD_UUID_MOST = 0;
+    private static final int RECORD_UUID_LEAST = 8;
+    private static final int RECORD_BALANCE = 16;
+    private static final int RECORD_FLAGS = 24;
+    private static final int RECORD_NAME_OFFSET = 28;
+    private static final int RECORD_SIZE = 32;
+    // Set when the balance field holds the heap offset of a decimal balance instead of the balance itself.
+    private static final byte FLAG_OVERFLOW = 0x01;
+    // Marks a record without a name.
+    private static final int NO_NAME = -1;
+    // The number of record slots to reserve when the file is created.
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * The plugin instance.
+     */
+    private final transient Plugin plugin;
+    /**
+     * The record slot of each stored account.
+     */
+    private final transient Map<UUID, Slot> slots = new HashMap<>();
+    /**
+     * The open record file channel.
+     */
+    private transient @Nullable FileChannel recordChannel;
+    /**
+     * The open name heap file channel.
+     */
+    private transient @Nullable FileChannel heapChannel;
+    /**
+     * The mapping of the record file.
+     */
+    private transient @Nullable MappedByteBuffer records;
+    /**
+     * The number of records in use.
+     */
+    private transient int recordCount = 0;
+    /**
+     * The number of bytes written to the name heap.
+     */
+    private transient long heapLength = 0L;
+    /**
+     * The header slot holding the newest header.
+     */
+    private transient int headerSlot = HEADER_SLOTS - 1;
+    /**
+     * The sequence number of the newest header.
+     */
+    private transient int headerSequence = 0;
+
+    /**
+     * Creates a new account manager with a binary file backend.
+     *
+     * @param configuration The configuration instance.
+     * @param plugin        The plugin instance.
+     */
+    public BinaryAccountManager(final Configuration configuration, final Plugin plugin) {
+        this(configuration, plugin, null, null);
+    }
+
+    /**
+     * Creates a new account manager with a binary file backend for a world group partition.
+     *
+     * @param configuration The configuration instance.
+     * @param plugin        The plugin instance.
+     * @param partition       The world group whose accounts are held, or {@code null} for the default accounts.
+     * @param storageExecutor The storage executor shared with other account managers, or {@code null} to create one.
+     */
+    public BinaryAccountManager(final Configuration configuration, final Plugin plugin, final @Nullable String partition, final @Nullable StorageExecutor storageExecutor) {
+        super(configuration, partition, storageExecutor);
+        this.plugin = plugin;
+    }
+
+    /**
+     * Maps the record file and reads every record. While lazy loading is enabled, only the record slot and name of
+     * each account are read; accounts are read from their slots when first used.
+     *
+     * @throws IllegalStateException Thrown if the record file cannot be read.
+     */
+    @Override
+    public synchronized void load() {
+        this.plugin.getLogger().log(Level.FINER, "[Storage] Loading accounts from binary data source...");
+        try {
+            this.open();
+            final MappedByteBuffer records = this.getRecords();
+            final boolean lazyLoading = this.isLazyLoading();
+            final UUIDBloomFilter filter = lazyLoading ? this.createAccountFilter(this.recordCount) : null;
+            for (int index = 0; index < this.recordCount; index++) {
+                final int position = HEADER_SIZE + index * RECORD_SIZE;
+                final UUID uuid = new UUID(records.getLong(position + RECORD_UUID_MOST), records.getLong(position + RECORD_UUID_LEAST));
+                if (filter != null) {
+                    final int nameOffset = records.getInt(position + RECORD_NAME_OFFSET);
+                    final String name = nameOffset == NO_NAME ? "" : this.readHeapString(nameOffset);
+                    this.slots.put(uuid, new Slot(index, name));
+                    filter.add(uuid);
+                    this.indexAccountName(uuid, name);
+                } else {
+                    final PlayerAccount account = this.readAccount(uuid, index);
+                    this.addAccount(account);
+                }
+            }
+            this.plugin.getLogger()
+                    .log(Level.FINE, lazyLoading ? "[Storage] Indexed {0} account record(s)." : "[Storage] Loaded {0} account record(s).", this.recordCount);
+        } catch (final IOException | IllegalArgumentException ex) {
+            throw new IllegalStateException("Failed to load account information from the binary data source.", ex);
+        }
+    }
+
+    /**
+     * Reads a single account from its record slot.
+     *
+     * @param uuid The player UUID.
+     * @return The stored account, or {@code null} if the player has no record slot.
+     * @throws IllegalStateException Thrown if the player has a record slot which cannot be read, so a missing account
+     *                               is never assumed.
+     */
+    @Override
+    protected synchronized @Nullable PlayerAccount loadAccount(final @NotNull UUID uuid) {
+        final Slot slot = this.slots.get(uuid);
+        if (slot == null) {
+            return null;
+        }
+        if (this.records == null) {
+            throw new IllegalStateException("The binary data source is not open.");
+        }
+        try {
+            return this.readAccount(uuid, slot.index);
+        } catch (final IOException | IllegalArgumentException ex) {
+            throw new IllegalStateException("Failed to load an account from the binary data source.", ex);
+        }
+    }
+
+    /**
+     * Checks whether the storage backend can load a single account by UUID.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    protected boolean supportsLazyLoading() {
+        return true;
+    }
+
+    /**
+     * Reads the account stored in a record slot and records its name in the slot index.
+     *
+     * @param uuid  The player UUID stored in the slot.
+     * @param index The record slot.
+     * @return The account.
+     * @throws IOException Thrown if the name heap cannot be read.
+     */
+    private @NotNull PlayerAccount readAccount(final @NotNull UUID uuid, final int index) throws IOException {
+        final MappedByteBuffer records = this.getRecords();
+        final int position = HEADER_SIZE + index * RECORD_SIZE;
+        final long balanceField = records.getLong(position + RECORD_BALANCE);
+        final byte flags = records.get(position + RECORD_FLAGS);
+        final int nameOffset = records.getInt(position + RECORD_NAME_OFFSET);
+
+        final BigInteger balance = (flags & FLAG_OVERFLOW) != 0
+                ? new BigInteger(this.readHeapString(balanceField))
+                : BigInteger.valueOf(balanceField);
+        final String name = nameOffset == NO_NAME ? null : this.readHeapString(nameOffset);
+
+        final PlayerAccount account = new PlayerAccount(this.configuration, uuid).setBalanceRaw(balance, false);
+        if (name != null) {
+            account.setName(name);
+        }
+        account.markPersisted(account.getRevision());
+        this.slots.put(uuid, new Slot(index, account.getName()));
+        return account;
+    }
+
+    /**
+     * Writes every account which has changed since the last save into its record slot.
+     */
+    @Override
+    public synchronized void save() {
+        try {
+            if (this.records == null) {
+                this.open();
+            }
+            final List<PlayerAccount> dirtyAccounts = this.drainDirtyAccounts();
+            if (dirtyAccounts.isEmpty()) {
+                this.plugin.getLogger().log(Level.FINEST, "[Storage] No account changes to write to the binary data source.");
+                return;
+            }
+            final long[] revisions = new long[dirtyAccounts.size()];
+            try {
+                for (int i = 0; i < dirtyAccounts.size(); i++) {
+                    revisions[i] = dirtyAccounts.get(i).getRevision();
+                    this.writeRecord(dirtyAccounts.get(i));
+                }
+                // Heap entries must be durable before the records which point at them, and records before the
+                // header which counts them.
+                this.getHeapChannel().force(false);
+                this.getRecords().force();
+                this.writeHeader();
+            } catch (final IOException ex) {
+                this.requeueDirtyAccounts(dirtyAccounts);
+                throw ex;
+            }
+            for (int i = 0; i < dirtyAccounts.size(); i++) {
+                dirtyAccounts.get(i).markPersisted(revisions[i]);
+            }
+            this.plugin.getLogger().log(Level.FINER, "[Storage] Wrote {0} changed account record(s).", dirtyAccounts.size());
+        } catch (final IOException ex) {
+            this.plugin.getLogger()
+                    .log(Level.SEVERE, "[Storage] Failed to save account information to the binary data source.", ex);
+        }
+    }
+
+    /**
+     * Writes a single account into its record slot if it has changed since it was last saved.
+     *
+     * @param uuid The player UUID.
+     */
+    @Override
+    public synchronized void saveAccount(final @NotNull UUID uuid) {
+        final PlayerAccount account = this.getDirtyAccount(uuid);
+        if (account == null) {
+            return;
+        }
+        try {
+            if (this.records == null) {
+                this.open();
+            }
+            final long revision = account.getRevision();
+            this.writeRecord(account);
+            // Heap entries must be durable before the records which point at them, and records before the header
+            // which counts them.
+            this.getHeapChannel().force(false);
+            this.getRecords().force();
+            this.writeHeader();
+            account.markPersisted(revision);
+            this.plugin.getLogger().log(Level.FINER, "[Storage] Wrote account record for {0}.", uuid);
+        } catch (final IOException ex) {
+            this.plugin.getLogger()
+                    .log(Level.SEVERE, "[Storage] Failed to save account information to the binary data source.", ex);
+        }
+    }
+
+    /**
+     * Closes the record and heap files.
+     */
+    @Override
+    protected synchronized void closeStorage() {
+        try {
+            if (this.recordChannel != null) {
+                this.recordChannel.close();
+            }
+            if (this.heapChannel != null) {
+                this.heapChannel.close();
+            }
+        } catch (final IOException ex) {
+            this.plugin.getLogger().log(Level.WARNING, "[Storage] Failed to close the binary data source cleanly.", ex);
+        } finally {
+            this.records = null;
+            this.recordChannel = null;
+            this.heapChannel = null;
+        }
+    }
+
+    /**
+     * Opens the record and heap files, creating them if they do not exist.
+     * <p>
+     * The newest valid header slot is used. A record file written in the legacy single-header format is read as-is and
+     * upgraded when its header is next written. If no header can be read, the header is rebuilt from the records and
+     * the heap after a copy of both files is kept; the records are never discarded because of a bad header alone.
+     *
+     * @throws IOException Thrown if the files cannot be opened, or were written in an unsupported format.
+     */
+    private void open() throws IOException {
+        final String recordFileName = this.getStorageName(FILE_NAME) + ".dat";
+        final String heapFileName = this.getStorageName(FILE_NAME) + ".names";
+        final File recordFile = new File(this.plugin.getDataFolder(), recordFileName);
+        final File heapFile = new File(this.plugin.getDataFolder(), heapFileName);
+
+        this.recordChannel = FileChannel.open(recordFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.heapChannel = FileChannel.open(heapFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (this.recordChannel.size() < HEADER_SIZE) {
+            this.records = this.recordChannel.map(FileChannel.MapMode.READ_WRITE, 0L, HEADER_SIZE + (long) INITIAL_CAPACITY * RECORD_SIZE);
+            this.recordCount = 0;
+            this.heapLength = 0L;
+            this.heapChannel.truncate(0L);
+            this.writeHeader();
+            return;
+        }
+
+        this.records = this.recordChannel.map(FileChannel.MapMode.READ_WRITE, 0L, this.recordChannel.size());
+        final MappedByteBuffer records = this.records;
+        int newestSlot = -1;
+        for (int slot = 0; slot < HEADER_SLOTS; slot++) {
+            if (this.isHeaderSlotValid(records, slot) && (newestSlot < 0 || records.getInt(slot * HEADER_SLOT_SIZE + HEADER_SEQUENCE) - records.getInt(newestSlot * HEADER_SLOT_SIZE + HEADER_SEQUENCE) > 0)) {
+                newestSlot = slot;
+            }
+        }
+
+        if (newestSlot >= 0) {
+            final int offset = newestSlot * HEADER_SLOT_SIZE;
+            this.recordCount = records.getInt(offset + HEADER_RECORD_COUNT);
+            this.heapLength = records.getLong(offset + HEADER_HEAP_LENGTH);
+            this.headerSlot = newestSlot;
+            this.headerSequence = records.getInt(offset + HEADER_SEQUENCE);
+        } else if (this.isLegacyHeaderValid(records)) {
+            this.recordCount = records.getInt(HEADER_RECORD_COUNT);
+            this.heapLength = records.getLong(HEADER_HEAP_LENGTH);
+            // The legacy header spans both slots, so the first header written replaces it. If that write is torn,
+            // the header is rebuilt from the records on the next load.
+            this.headerSlot = HEADER_SLOTS - 1;
+            this.headerSequence = 0;
+        } else {
+            this.rebuildHeader(recordFile, heapFile);
+            return;
+        }
+
+        // Anything past the committed heap length was written by a save which did not finish.
+        if (this.heapChannel.size() > this.heapLength) {
+            this.heapChannel.truncate(this.heapLength);
+        }
+    }
+
+    /**
+     * Checks a header slot of a mapped record file.
+     *
+     * @param records The mapped record file.
+     * @param slot    The header slot.
+     * @return Whether the slot holds a complete header which describes a readable file.
+     * @throws IOException Thrown if the slot holds a complete header for an unsupported format.
+     */
+    private boolean isHeaderSlotValid(final @NotNull MappedByteBuffer records, final int slot) throws IOException {
+        final int offset = slot * HEADER_SLOT_SIZE;
+        if (records.getInt(offset + HEADER_MAGIC) != MAGIC || records.getInt(offset + HEADER_CRC) != headerChecksum(records, offset, HEADER_CRC)) {
+            return false;
+        }
+        if (records.getInt(offset + HEADER_VERSION) != FORMAT_VERSION) {
+            throw new IOException("Unsupported account record file format version " + records.getInt(offset + HEADER_VERSION) + ".");
+        }
+        return this.isHeaderConsistent(records, offset);
+    }
+
+    /**
+     * Checks the header of a mapped record file written in the legacy single-header format.
+     *
+     * @param records The mapped record file.
+     * @return Whether the file has a complete legacy header which describes a readable file.
+     */
+    private boolean isLegacyHeaderValid(final @NotNull MappedByteBuffer records) {
+        return records.getInt(HEADER_MAGIC) == MAGIC
+                && records.getInt(HEADER_VERSION) == LEGACY_FORMAT_VERSION
+                && records.getInt(LEGACY_HEADER_CRC) == headerChecksum(records, 0, LEGACY_HEADER_CRC)
+                && this.isHeaderConsistent(records, 0);
+    }
+
+    // Checks that the record size and record count of a header match the file.
+    private boolean isHeaderConsistent(final @NotNull MappedByteBuffer records, final int offset) {
+        final int count = records.getInt(offset + HEADER_RECORD_COUNT);
+        return records.getInt(offset + HEADER_RECORD_SIZE) == RECORD_SIZE
+                && count >= 0 && HEADER_SIZE + (long) count * RECORD_SIZE <= records.capacity()
+                && records.getLong(offset + HEADER_HEAP_LENGTH) >= 0L;
+    }
+
+    /**
+     * Rebuilds the header of a record file which has no readable header. Records are appended in order and never
+     * removed, so the records in use are the slots before the first one without a UUID. Every heap entry may be in
+     * use, so the whole heap is kept. Copies of both files are kept in case the rebuilt header is wrong.
+     *
+     * @param recordFile The record file.
+     * @param heapFile   The heap file.
+     * @throws IOException Thrown if the files cannot be copied or the header cannot be written.
+     */
+    private void rebuildHeader(final @NotNull File recordFile, final @NotNull File heapFile) throws IOException {
+        final String suffix = ".corrupt-" + System.currentTimeMillis();
+        final File recordCopy = new File(recordFile.getPath() + suffix);
+        Files.copy(recordFile.toPath(), recordCopy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        Files.copy(heapFile.toPath(), new File(heapFile.getPath() + suffix).toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        final MappedByteBuffer records = this.getRecords();
+        int count = 0;
+        for (int position = HEADER_SIZE; position + RECORD_SIZE <= records.capacity(); position += RECORD_SIZE) {
+            if (records.getLong(position + RECORD_UUID_MOST) == 0L && records.getLong(position + RECORD_UUID_LEAST) == 0L) {
+                break;
+            }
+            count++;
+        }
+        this.recordCount = count;
+        this.heapLength = this.getHeapChannel().size();
+        this.headerSlot = HEADER_SLOTS - 1;
+        this.headerSequence = 0;
+        this.writeHeader();
+        this.plugin.getLogger()
+                .log(Level.SEVERE, "[Storage] The account record file header could not be read. It was rebuilt from {0} record(s); a copy of the previous files was kept as {1}.", new Object[]{count, recordCopy.getName()});
+    }
+
+    /**
+     * Writes the header fields and their checksum to the header slot which does not hold the newest header, then
+     * forces it to disk. Until the write is complete, the newest header stays intact in the other slot.
+     */
+    private void writeHeader() {
+        final MappedByteBuffer records = this.getRecords();
+        final int slot = (this.headerSlot + 1) % HEADER_SLOTS;
+        final int sequence = this.headerSequence + 1;
+        final int offset = slot * HEADER_SLOT_SIZE;
+        records.putInt(offset + HEADER_MAGIC, MAGIC);
+        records.putInt(offset + HEADER_VERSION, FORMAT_VERSION);
+        records.putInt(offset + HEADER_RECORD_SIZE, RECORD_SIZE);
+        records.putInt(offset + HEADER_RECORD_COUNT, this.recordCount);
+        records.putLong(offset + HEADER_HEAP_LENGTH, this.heapLength);
+        records.putInt(offset + HEADER_SEQUENCE, sequence);
+        records.putInt(offset + HEADER_CRC, headerChecksum(records, offset, HEADER_CRC));
+        records.force(0, HEADER_SIZE);
+        this.headerSlot = slot;
+        this.headerSequence = sequence;
+    }
+
+    /**
+     * Writes an account into its record slot, appending a new slot if the account has not been stored before.
+     *
+     * @param account The account to write.
+     * @throws IOException Thrown if the heap cannot be written or the record file cannot grow.
+     */
+    private void writeRecord(final @NotNull PlayerAccount account) throws IOException {
+        Slot slot = this.slots.get(account.getUUID());
+        final boolean isNew = slot == null;
+        if (isNew) {
+            this.ensureCapacity(this.recordCount + 1);
+            slot = new Slot(this.recordCount++, null);
+        }
+        final MappedByteBuffer records = this.getRecords();
+        final int position = HEADER_SIZE + slot.index * RECORD_SIZE;
+
+        final BigInteger balance = account.getBalanceRaw();
+        if (balance.bitLength() < Long.SIZE) {
+            records.putLong(position + RECORD_BALANCE, balance.longValue());
+            records.put(position + RECORD_FLAGS, (byte) 0);
+        } else {
+            records.putLong(position + RECORD_BALANCE, this.appendHeapString(balance.toString()));
+            records.put(position + RECORD_FLAGS, FLAG_OVERFLOW);
+        }
+
+        final String name = account.getName();
+        if (isNew || !name.equals(slot.name)) {
+            records.putInt(position + RECORD_NAME_OFFSET, name.isEmpty() ? NO_NAME : (int) this.appendHeapString(name));
+        }
+        if (isNew) {
+            records.putLong(position + RECORD_UUID_MOST, account.getUUID().getMostSignificantBits());
+            records.putLong(position + RECORD_UUID_LEAST, account.getUUID().getLeastSignificantBits());
+        }
+        this.slots.put(account.getUUID(), new Slot(slot.index, name));
+    }
+
+    /**
+     * Grows the record file mapping so that it can hold at least a given number of records.
+     *
+     * @param count The number of records required.
+     * @throws IOException Thrown if the file cannot be remapped.
+     */
+    private void ensureCapacity(final int count) throws IOException {
+        final MappedByteBuffer records = this.getRecords();
+        final long required = HEADER_SIZE + (long) count * RECORD_SIZE;
+        if (required <= records.capacity()) {
+            return;
+        }
+        final long capacity = Math.max(required, HEADER_SIZE + (long) (records.capacity() - HEADER_SIZE) * 2);
+        records.force();
+        this.records = this.getRecordChannel().map(FileChannel.MapMode.READ_WRITE, 0L, capacity);
+    }
+
+    /**
+     * Appends a string to the name heap.
+     *
+     * @param value The string to append.
+     * @return The heap offset of the new entry.
+     * @throws IOException Thrown if the heap cannot be written.
+     */
+    private long appendHeapString(final @NotNull String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        final int length = Math.min(bytes.length, 0xFFFF);
+        final ByteBuffer entry = ByteBuffer.allocate(2 + length);
+        entry.putShort((short) length).put(bytes, 0, length).flip();
+
+        final long offset = this.heapLength;
+        if (offset + entry.remaining() > Integer.MAX_VALUE) {
+            throw new IOException("Account name heap is full.");
+        }
+        final FileChannel heapChannel = this.getHeapChannel();
+        long position = offset;
+        while (entry.hasRemaining()) {
+            position += heapChannel.write(entry, position);
+        }
+        this.heapLength = position;
+        return offset;
+    }
+
+    /**
+     * Reads a string from the name heap.
+     *
+     * @param offset The heap offset of the entry.
+     * @return The string.
+     * @throws IOException Thrown if the heap cannot be read or the offset is out of range.
+     */
+    private @NotNull String readHeapString(final long offset) throws IOException {
+        if (offset < 0 || offset + 2 > this.heapLength) {
+            throw new IOException("Heap offset " + offset + " is out of range.");
+        }
+        final FileChannel heapChannel = this.getHeapChannel();
+        final ByteBuffer lengthBuffer = ByteBuffer.allocate(2);
+        heapChannel.read(lengthBuffer, offset);
+        final int length = lengthBuffer.getShort(0) & 0xFFFF;
+        final ByteBuffer valueBuffer = ByteBuffer.allocate(length);
+        long position = offset + 2;
+        while (valueBuffer.hasRemaining()) {
+            final int read = heapChannel.read(valueBuffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of heap at offset " + position + ".");
+            }
+            position += read;
+        }
+        return new String(valueBuffer.array(), StandardCharsets.UTF_8);
+    }
+
+    // Gets the record file mapping.
+    private @NotNull MappedByteBuffer getRecords() {
+        if (this.records == null) {
+            throw new IllegalStateException("Account record file is not open.");
+        }
+        return this.records;
+    }
+
+    // Gets the record file channel.
+    private @NotNull FileChannel getRecordChannel() {
+        if (this.recordChannel == null) {
+            throw new IllegalStateException("Account record file is not open.");
+        }
+        return this.recordChannel;
+    }
+
+    // Gets the heap file channel.
+    private @NotNull FileChannel getHeapChannel() {
+        if (this.heapChannel == null) {
+            throw new IllegalStateException("Account name heap is not open.");
+        }
+        return this.heapChannel;
+    }
+
+    /**
+     * Computes the CRC32 of the header fields which precede a checksum.
+     *
+     * @param records The mapped record file.
+     * @param offset  The offset of the header.
+     * @param length  The number of bytes before the checksum.
+     * @return The checksum.
+     */
+    private static int headerChecksum(final @NotNull ByteBuffer records, final int offset, final int length) {
+        final CRC32 crc = new CRC32();
+        crc.update(records.duplicate().position(offset).limit(offset + length));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * The location of a stored account.
+     *
+     * @param index The record index.
+     * @param name  The name last written for the account, or {@code null} if none has been written or read yet.
+     */
+    private record Slot(int index, @Nullable String name) {
+    }
+}
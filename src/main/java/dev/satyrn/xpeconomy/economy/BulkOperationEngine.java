@@ -0,0 +1,337 @@
+package dev.satyrn.xpeconomy.economy;
+
+import dev.satyrn.xpeconomy.api.economy.Account;
+import dev.satyrn.xpeconomy.api.economy.AccountManager;
+import dev.satyrn.xpeconomy.configuration.Configuration;
+import dev.satyrn.xpeconomy.tasks.PlayerExperienceSlicedSynchronizationTask;
+import dev.satyrn.xpeconomy.utils.AccountSelector;
+import dev.satyrn.xpeconomy.utils.EconomyMethod;
+import net.milkbowl.vault.permission.Permission;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Applies add, deduct, and set operations to every account chosen by a selector.
+ * <p>
+ * The selected players are split into chunks which are checked and changed in parallel on a dedicated fork-join
+ * pool, so the main thread never waits for accounts to be loaded or permissions to be checked. Each account is
+ * changed atomically without updating the player's experience, so changes made at the same time by the economy
+ * writer, commands, or experience synchronization are kept. The experience of the online players whose accounts
+ * changed is then set to their latest balance on the main thread a few milliseconds per tick, so even operations
+ * over every online player never lengthen a tick noticeably. Experience gained in the meantime is added to the
+ * balance rather than replacing it, so it is not lost either.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.2
+ */
+public final class BulkOperationEngine implements AutoCloseable {
+    // The largest number of players checked by a single fork-join task before it is split.
+    private static final int CHUNK_SIZE = 256;
+    // The time spent updating player experience each tick, in nanoseconds.
+    private static final long EXPERIENCE_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(2L);
+    // The number of milliseconds to wait for running operations to finish when the engine is closed.
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000L;
+
+    // The plugin instance.
+    private final transient @NotNull Plugin plugin;
+    // The account manager instance.
+    private final transient @NotNull AccountManager accountManager;
+    // The permission manager instance.
+    private final transient @NotNull Permission permission;
+    // The configuration instance.
+    private final transient @NotNull Configuration configuration;
+    // Runs the chunks of each operation.
+    private final transient @NotNull ForkJoinPool pool;
+
+    /**
+     * Creates a new bulk operation engine.
+     *
+     * @param plugin         The plugin instance.
+     * @param accountManager The account manager instance.
+     * @param permission     The permission manager instance.
+     * @param configuration  The configuration instance.
+     */
+    public BulkOperationEngine(final @NotNull Plugin plugin, final @NotNull AccountManager accountManager, final @NotNull Permission permission, final @NotNull Configuration configuration) {
+        this.plugin = plugin;
+        this.accountManager = accountManager;
+        this.permission = permission;
+        this.configuration = configuration;
+        this.pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(plugin.getName() + " Bulk Operation Worker " + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Applies an operation to every account chosen by a selector. Must be called on the main thread, which the online
+     * players are read from.
+     *
+     * @param selector  The selector.
+     * @param operation The operation.
+     * @param amount    The amount to add, deduct, or set.
+     * @param exempt    The UUIDs of the players whose accounts must not be changed.
+     * @return A future completed with the outcome once every selected account has been changed. Player experience
+     * may still be updating when it completes.
+     */
+    public @NotNull CompletableFuture<Result> submit(final @NotNull AccountSelector selector, final @NotNull Operation operation, final @NotNull Amount amount, final @NotNull Set<UUID> exempt) {
+        final Set<UUID> online = new HashSet<>();
+        for (final Player player : this.plugin.getServer().getOnlinePlayers()) {
+            online.add(player.getUniqueId());
+        }
+        final Job job = new Job(selector, operation, amount, Set.copyOf(exempt), online, this.configuration.economyMethod.value());
+        final long start = System.nanoTime();
+
+        return CompletableFuture.supplyAsync(() -> {
+            final List<UUID> candidates = selector.type() == AccountSelector.Type.ONLINE ? List.copyOf(online) : this.accountManager.getAccountOwners();
+            return new Chunk(job, candidates, 0, candidates.size()).invoke();
+        }, this.pool).thenApply(tally -> {
+            // Tasks cannot be scheduled once the plugin is disabled; players' experience is set from their balance
+            // when they next join.
+            if (!tally.changedOnline.isEmpty() && this.plugin.isEnabled()) {
+                new PlayerExperienceSlicedSynchronizationTask(this.plugin, tally.changedOnline, EXPERIENCE_SLICE_NANOS).runTaskTimer(this.plugin, 0L, 1L);
+            }
+            this.plugin.getLogger()
+                    .log(Level.FINE, "[Economy] Applied bulk {0} to {1} of {2} selected account(s) matching {3} in {4} ms.", new Object[]{operation.getName(), tally.applied, tally.applied + tally.failed, selector, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)});
+            return new Result(tally.applied, tally.failed, tally.exempt);
+        });
+    }
+
+    /**
+     * Stops accepting operations and waits for running operations to finish.
+     */
+    @Override
+    public void close() {
+        this.pool.shutdown();
+        try {
+            if (!this.pool.awaitTermination(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                this.plugin.getLogger()
+                        .warning("[Economy] A bulk balance operation did not finish in time. Some selected accounts may not have been changed.");
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Checks and changes a single selected player's account.
+    private void apply(final @NotNull Job job, final @NotNull UUID uuid, final @NotNull Tally tally) {
+        if (job.exempt.contains(uuid)) {
+            tally.exempt++;
+            return;
+        }
+        // Permissions are checked first, so accounts which are not selected are not loaded from storage.
+        if (job.selector.type() == AccountSelector.Type.PERMISSION && !this.permission.playerHas(null, this.plugin.getServer()
+                .getOfflinePlayer(uuid), job.selector.permission())) {
+            return;
+        }
+        final Account account;
+        try {
+            account = this.accountManager.getAccount(uuid);
+        } catch (final IllegalStateException ex) {
+            // A storage error fails only this account, so the rest of the operation is still applied and reported.
+            this.plugin.getLogger()
+                    .log(Level.WARNING, "[Economy] Could not load the account of {0} for a bulk balance change: {1}", new Object[]{uuid, ex.getMessage()});
+            tally.failed++;
+            return;
+        }
+        if (account == null || !job.selector.matchesBalance(account)) {
+            return;
+        }
+        if (job.operation.apply(account, job.amount.resolve(account.getBalance(), job.economyMethod))) {
+            tally.applied++;
+            if (job.online.contains(uuid)) {
+                tally.changedOnline.add(account);
+            }
+        } else {
+            tally.failed++;
+        }
+    }
+
+    /**
+     * The operations which can be applied in bulk.
+     */
+    public enum Operation {
+        /**
+         * Adds the amount to each balance.
+         */
+        ADD("add"),
+        /**
+         * Deducts the amount from each balance. Accounts which cannot cover the amount are not changed.
+         */
+        DEDUCT("deduct"),
+        /**
+         * Sets each balance to the amount.
+         */
+        SET("set");
+
+        // The command and permission name of the operation.
+        private final @NotNull String name;
+
+        Operation(final @NotNull String name) {
+            this.name = name;
+        }
+
+        /**
+         * Gets the command and permission name of the operation.
+         *
+         * @return The operation name.
+         */
+        public @NotNull String getName() {
+            return this.name;
+        }
+
+        // Applies the operation to an account, without updating the player's experience.
+        private boolean apply(final @NotNull Account account, final @NotNull BigDecimal amount) {
+            return switch (this) {
+                case ADD -> account.deposit(amount, false);
+                case DEDUCT -> account.withdraw(amount, false);
+                case SET -> {
+                    account.setBalance(amount, false);
+                    yield true;
+                }
+            };
+        }
+    }
+
+    /**
+     * The amount of a bulk operation: either a fixed amount, or a percentage of each account's balance.
+     *
+     * @param value   The fixed amount, or the percentage.
+     * @param percent Whether the value is a percentage of each balance.
+     */
+    public record Amount(@NotNull BigDecimal value, boolean percent) {
+        /**
+         * Parses an amount argument. Amounts ending with {@code %} are percentages of each balance.
+         *
+         * @param argument      The argument.
+         * @param economyMethod The economy method fixed amounts are scaled to.
+         * @return The amount, or an empty optional if the argument is not a valid amount.
+         */
+        public static @NotNull Optional<Amount> parse(final @NotNull String argument, final @NotNull EconomyMethod economyMethod) {
+            final boolean percent = argument.endsWith("%");
+            try {
+                final BigDecimal value = new BigDecimal(percent ? argument.substring(0, argument.length() - 1) : argument);
+                if (value.signum() < 0) {
+                    return Optional.empty();
+                }
+                return Optional.of(new Amount(percent ? value : economyMethod.scale(value), percent));
+            } catch (NumberFormatException ex) {
+                return Optional.empty();
+            }
+        }
+
+        /**
+         * Gets the amount for a single account.
+         *
+         * @param balance       The account balance.
+         * @param economyMethod The economy method the amount is scaled to.
+         * @return The amount.
+         */
+        public @NotNull BigDecimal resolve(final @NotNull BigDecimal balance, final @NotNull EconomyMethod economyMethod) {
+            if (!this.percent) {
+                return this.value;
+            }
+            return economyMethod.scale(balance.multiply(this.value).movePointLeft(2));
+        }
+
+        /**
+         * Formats the amount for display.
+         *
+         * @param economyMethod The economy method fixed amounts are formatted with.
+         * @return The formatted amount.
+         */
+        public @NotNull String toString(final @NotNull EconomyMethod economyMethod) {
+            return this.percent ? this.value.stripTrailingZeros().toPlainString() + "%" : economyMethod.toString(this.value, true);
+        }
+    }
+
+    /**
+     * The outcome of a bulk operation.
+     *
+     * @param applied The number of accounts which were changed.
+     * @param failed  The number of selected accounts which could not be changed.
+     * @param exempt  The number of selected players who were exempt.
+     */
+    public record Result(int applied, int failed, int exempt) {
+    }
+
+    // The parameters of a running operation, shared by its chunks.
+    private record Job(@NotNull AccountSelector selector,
+                       @NotNull Operation operation,
+                       @NotNull Amount amount,
+                       @NotNull Set<UUID> exempt,
+                       @NotNull Set<UUID> online,
+                       @NotNull EconomyMethod economyMethod) {
+    }
+
+    // The counts of a chunk of an operation. Each chunk has its own tally, so workers never share one.
+    private static final class Tally {
+        // The number of accounts which were changed.
+        private int applied = 0;
+        // The number of selected accounts which could not be changed.
+        private int failed = 0;
+        // The number of selected players who were exempt.
+        private int exempt = 0;
+        // The changed accounts of online players.
+        private final @NotNull List<Account> changedOnline = new ArrayList<>();
+
+        // Adds another chunk's counts to this tally.
+        private @NotNull Tally merge(final @NotNull Tally other) {
+            this.applied += other.applied;
+            this.failed += other.failed;
+            this.exempt += other.exempt;
+            this.changedOnline.addAll(other.changedOnline);
+            return this;
+        }
+    }
+
+    // Applies an operation to a range of the selected players, splitting ranges larger than a chunk in half.
+    private final class Chunk extends RecursiveTask<Tally> {
+        // The parameters of the operation.
+        private final transient @NotNull Job job;
+        // The selected players.
+        private final transient @NotNull List<UUID> candidates;
+        // The index of the first player in the range.
+        private final int from;
+        // The index after the last player in the range.
+        private final int to;
+
+        private Chunk(final @NotNull Job job, final @NotNull List<UUID> candidates, final int from, final int to) {
+            this.job = job;
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected @NotNull Tally compute() {
+            if (this.to - this.from <= CHUNK_SIZE) {
+                final Tally tally = new Tally();
+                for (int i = this.from; i < this.to; i++) {
+                    BulkOperationEngine.this.apply(this.job, this.candidates.get(i), tally);
+                }
+                return tally;
+            }
+            final int middle = (this.from + this.to) >>> 1;
+            final Chunk upper = new Chunk(this.job, this.candidates, middle, this.to);
+            upper.fork();
+            final Tally lower = new Chunk(this.job, this.candidates, this.from, middle).compute();
+            return lower.merge(upper.join());
+        }
+    }
+}
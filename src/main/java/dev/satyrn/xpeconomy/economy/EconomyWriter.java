@@ -0,0 +1,142 @@
+package dev.satyrn.xpeconomy.economy;
+
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Applies balance mutations one at a time on a dedicated writer thread.
+ * <p>
+ * Any thread may submit a mutation. Submissions are appended to a lock-free queue and the writer thread is woken to
+ * drain it, so mutations never run concurrently with each other and never block on a lock. Each mutation publishes
+ * its result by replacing the account's immutable balance, which readers on other threads see without waiting for
+ * the writer.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.2
+ */
+public final class EconomyWriter implements AutoCloseable {
+    // The number of milliseconds to wait for queued mutations to finish when the writer is closed.
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000L;
+    // The plugin instance.
+    private final transient @NotNull Plugin plugin;
+    // The pending mutations, in submission order.
+    private final transient @NotNull Queue<Mutation<?>> queue = new ConcurrentLinkedQueue<>();
+    // The writer thread.
+    private final transient @NotNull Thread thread;
+    // Whether the writer accepts new mutations.
+    private volatile boolean running = true;
+
+    /**
+     * Creates and starts a new economy writer.
+     *
+     * @param plugin The plugin instance.
+     */
+    public EconomyWriter(final @NotNull Plugin plugin) {
+        this.plugin = plugin;
+        this.thread = new Thread(this::run, plugin.getName() + " Economy Writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Submits a mutation to run on the writer thread. Mutations submitted from the writer thread itself run
+     * immediately.
+     *
+     * @param mutation The mutation.
+     * @param <T>      The mutation result type.
+     * @return A future completed with the mutation's result once it has been applied.
+     */
+    public <T> @NotNull CompletableFuture<T> submit(final @NotNull Supplier<T> mutation) {
+        if (Thread.currentThread() == this.thread) {
+            try {
+                return CompletableFuture.completedFuture(mutation.get());
+            } catch (final RuntimeException ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }
+        if (!this.running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("The economy writer has been closed."));
+        }
+        final Mutation<T> pending = new Mutation<>(mutation, new CompletableFuture<>());
+        this.queue.offer(pending);
+        if (!this.running && this.queue.remove(pending)) {
+            // The writer closed while the mutation was being queued and may never see it.
+            return CompletableFuture.failedFuture(new IllegalStateException("The economy writer has been closed."));
+        }
+        LockSupport.unpark(this.thread);
+        return pending.result();
+    }
+
+    /**
+     * Checks whether the current thread is the writer thread.
+     *
+     * @return {@code true} if called from the writer thread; otherwise, {@code false}.
+     */
+    public boolean isWriterThread() {
+        return Thread.currentThread() == this.thread;
+    }
+
+    /**
+     * Stops accepting mutations and waits for queued mutations to be applied.
+     */
+    @Override
+    public void close() {
+        this.running = false;
+        LockSupport.unpark(this.thread);
+        try {
+            this.thread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (this.thread.isAlive()) {
+            this.plugin.getLogger()
+                    .warning("[Economy] The economy writer did not finish applying queued balance changes in time.");
+        }
+    }
+
+    // Applies queued mutations until the writer is closed and the queue is empty.
+    private void run() {
+        while (true) {
+            final Mutation<?> mutation = this.queue.poll();
+            if (mutation != null) {
+                mutation.apply();
+                continue;
+            }
+            if (!this.running) {
+                // Mutations queued by submitters which saw the writer running are still applied.
+                Mutation<?> remaining;
+                while ((remaining = this.queue.poll()) != null) {
+                    remaining.apply();
+                }
+                return;
+            }
+            // A submission between the poll and the park leaves a permit, so the park returns immediately.
+            LockSupport.parkNanos(this, TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    /**
+     * A queued mutation and the future which receives its result.
+     *
+     * @param action The mutation.
+     * @param result The future completed once the mutation has been applied.
+     * @param <T>    The mutation result type.
+     */
+    private record Mutation<T>(@NotNull Supplier<T> action, @NotNull CompletableFuture<T> result) {
+        // Runs the mutation and completes its future.
+        void apply() {
+            try {
+                this.result.complete(this.action.get());
+            } catch (final Throwable ex) {
+                this.result.completeExceptionally(ex);
+            }
+        }
+    }
+}
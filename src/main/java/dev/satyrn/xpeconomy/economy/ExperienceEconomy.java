@@ -4,16 +4,27 @@ import com.google.common.collect.ImmutableList;
 import dev.satyrn.xpeconomy.api.economy.Account;
 import dev.satyrn.xpeconomy.api.economy.AccountManager;
 import dev.satyrn.xpeconomy.configuration.Configuration;
+import dev.satyrn.xpeconomy.tasks.PlayerExperienceBatchSynchronizationTask;
 import dev.satyrn.xpeconomy.utils.EconomyMethod;
+import dev.satyrn.xpeconomy.utils.PlayerXPUtils;
 import net.milkbowl.vault.economy.Economy;
 import net.milkbowl.vault.economy.EconomyResponse;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.math.BigDecimal;
-import java.util.List;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.logging.Level;
 
 /**
  * The XP Economy handler.
@@ -24,6 +35,14 @@ public final class ExperienceEconomy implements Economy {
      * Response for unimplemented methods
      */
     private static final EconomyResponse NOT_IMPLEMENTED = new EconomyResponse(0D, 0D, EconomyResponse.ResponseType.NOT_IMPLEMENTED, "");
+    /**
+     * Response for transactions on players or banks without an account, and for banks which cannot be created
+     */
+    private static final EconomyResponse NO_ACCOUNT = new EconomyResponse(0D, 0D, EconomyResponse.ResponseType.FAILURE, "");
+    /**
+     * Response for failed transactions on accounts with an empty balance
+     */
+    private static final EconomyResponse EMPTY_BALANCE_FAILURE = new EconomyResponse(0D, 0D, EconomyResponse.ResponseType.FAILURE, "");
     /**
      * The parent plugin instance.
      */
@@ -34,6 +53,12 @@ public final class ExperienceEconomy implements Economy {
     private final transient AccountManager accountManager;
     // The economy method to use.
     private final transient @NotNull Configuration configuration;
+    // The writer which applies balance changes, or null if balance changes are applied on the calling thread.
+    private final transient @Nullable EconomyWriter writer;
+    // The world group partitions, or null if every world uses the default accounts.
+    private final transient @Nullable WorldGroupPartitions partitions;
+    // The bank accounts, or null if the storage backend does not support banks.
+    private final transient @Nullable BankIndex banks;
 
     /**
      * Creates a new instance of the Economy class.
@@ -42,9 +67,51 @@ public final class ExperienceEconomy implements Economy {
      * @param accountManager The account manager instance.
      */
     public ExperienceEconomy(final Plugin plugin, final AccountManager accountManager, final @NotNull Configuration configuration) {
+        this(plugin, accountManager, configuration, null);
+    }
+
+    /**
+     * Creates a new instance of the Economy class which applies balance changes on an economy writer.
+     *
+     * @param plugin         The parent plugin instance.
+     * @param accountManager The account manager instance.
+     * @param configuration  The configuration instance.
+     * @param writer         The economy writer, or {@code null} to apply balance changes on the calling thread.
+     */
+    public ExperienceEconomy(final Plugin plugin, final AccountManager accountManager, final @NotNull Configuration configuration, final @Nullable EconomyWriter writer) {
+        this(plugin, accountManager, configuration, writer, null);
+    }
+
+    /**
+     * Creates a new instance of the Economy class with separate accounts for world groups.
+     *
+     * @param plugin         The parent plugin instance.
+     * @param accountManager The default account manager instance.
+     * @param configuration  The configuration instance.
+     * @param writer         The economy writer, or {@code null} to apply balance changes on the calling thread.
+     * @param partitions     The world group partitions, or {@code null} if every world uses the default accounts.
+     */
+    public ExperienceEconomy(final Plugin plugin, final AccountManager accountManager, final @NotNull Configuration configuration, final @Nullable EconomyWriter writer, final @Nullable WorldGroupPartitions partitions) {
+        this(plugin, accountManager, configuration, writer, partitions, null);
+    }
+
+    /**
+     * Creates a new instance of the Economy class with separate accounts for world groups and support for banks.
+     *
+     * @param plugin         The parent plugin instance.
+     * @param accountManager The default account manager instance.
+     * @param configuration  The configuration instance.
+     * @param writer         The economy writer, or {@code null} to apply balance changes on the calling thread.
+     * @param partitions     The world group partitions, or {@code null} if every world uses the default accounts.
+     * @param banks          The bank accounts, or {@code null} if banks are not supported.
+     */
+    public ExperienceEconomy(final Plugin plugin, final AccountManager accountManager, final @NotNull Configuration configuration, final @Nullable EconomyWriter writer, final @Nullable WorldGroupPartitions partitions, final @Nullable BankIndex banks) {
         this.plugin = plugin;
         this.accountManager = accountManager;
         this.configuration = configuration;
+        this.writer = writer;
+        this.partitions = partitions;
+        this.banks = banks;
     }
 
     // Gets the current economy method
@@ -52,6 +119,146 @@ public final class ExperienceEconomy implements Economy {
         return this.configuration.economyMethod.value();
     }
 
+    // Gets the account manager whose accounts a world's economy uses.
+    private @NotNull AccountManager getAccountManager(final @Nullable String worldName) {
+        return this.partitions == null ? this.accountManager : this.partitions.getAccountManager(worldName);
+    }
+
+    // Checks whether an account manager holds the default accounts rather than a world group's.
+    private boolean isDefaultAccounts(final @NotNull AccountManager accountManager) {
+        return accountManager == this.accountManager;
+    }
+
+    // Gets a player's account for a balance change. World group accounts are created the first time they change.
+    private @Nullable Account getOrCreateAccount(final @NotNull OfflinePlayer player, final @NotNull AccountManager accountManager) {
+        final Account account = accountManager.getAccount(player.getUniqueId());
+        if (account == null && !this.isDefaultAccounts(accountManager)) {
+            return accountManager.createAccount(player);
+        }
+        return account;
+    }
+
+    // Gets the raw balance a new world group account starts with, which reads report until the account is created.
+    private @NotNull BigInteger getStartingBalanceRaw() {
+        return this.getEconomyMethod().toRawBalance(this.configuration.startingBalance.value(), BigInteger.ZERO);
+    }
+
+    // Withdraws an amount, in primitive arithmetic when the economy method and balance allow it. The new balance is
+    // only stored if the balance has not changed since it was read, so concurrent changes are never overwritten.
+    private EconomyResponse withdraw(final @NotNull Account account, final double amount) {
+        final EconomyMethod economyMethod = this.getEconomyMethod();
+        final long rawAmount = economyMethod.toRawAmount(amount);
+        BigInteger balance = account.getBalanceRaw();
+        // Accounts with holds take the BigDecimal path, which excludes the held amount.
+        while (rawAmount >= 0L && balance.bitLength() < Long.SIZE && account.getHeldRaw().signum() == 0) {
+            final long rawBalance = balance.longValue();
+            if (rawBalance < rawAmount) {
+                return this.failure(economyMethod, rawBalance);
+            }
+            final long newBalance = rawBalance - rawAmount;
+            if (account.compareAndSetBalanceRaw(balance, BigInteger.valueOf(newBalance))) {
+                return new EconomyResponse(amount, economyMethod.fromRawBalance(newBalance), EconomyResponse.ResponseType.SUCCESS, "");
+            }
+            balance = account.getBalanceRaw();
+        }
+        if (account.withdraw(BigDecimal.valueOf(amount), false)) {
+            return new EconomyResponse(amount, account.getBalance()
+                    .doubleValue(), EconomyResponse.ResponseType.SUCCESS, "");
+        }
+        return this.failure(account);
+    }
+
+    // Deposits an amount, in primitive arithmetic when the economy method and balance allow it. The new balance is
+    // only stored if the balance has not changed since it was read, so concurrent changes are never overwritten.
+    private EconomyResponse deposit(final @NotNull Account account, final double amount) {
+        final EconomyMethod economyMethod = this.getEconomyMethod();
+        final long rawAmount = economyMethod.toRawAmount(amount);
+        BigInteger balance = account.getBalanceRaw();
+        while (rawAmount >= 0L && balance.signum() >= 0 && balance.bitLength() < Long.SIZE
+                && rawAmount <= Long.MAX_VALUE - balance.longValue()) {
+            final long newBalance = balance.longValue() + rawAmount;
+            if (account.compareAndSetBalanceRaw(balance, BigInteger.valueOf(newBalance))) {
+                return new EconomyResponse(amount, economyMethod.fromRawBalance(newBalance), EconomyResponse.ResponseType.SUCCESS, "");
+            }
+            balance = account.getBalanceRaw();
+        }
+        account.deposit(BigDecimal.valueOf(amount), false);
+        return new EconomyResponse(amount, account.getBalance()
+                .doubleValue(), EconomyResponse.ResponseType.SUCCESS, "");
+    }
+
+    // Gets the response for a failed transaction which left the account unchanged.
+    private EconomyResponse failure(final @NotNull Account account) {
+        final BigInteger balance = account.getBalanceRaw();
+        if (balance.bitLength() < Long.SIZE) {
+            return this.failure(this.getEconomyMethod(), balance.longValue());
+        }
+        return new EconomyResponse(0D, account.getBalance().doubleValue(), EconomyResponse.ResponseType.FAILURE, "");
+    }
+
+    // Gets the response for a failed transaction on a raw balance, reusing the shared response for empty balances.
+    private EconomyResponse failure(final @NotNull EconomyMethod economyMethod, final long rawBalance) {
+        if (rawBalance == 0L) {
+            return EMPTY_BALANCE_FAILURE;
+        }
+        return new EconomyResponse(0D, economyMethod.fromRawBalance(rawBalance), EconomyResponse.ResponseType.FAILURE, "");
+    }
+
+    // Waits for bank data to finish loading, so banks read from storage are never shadowed by new ones.
+    private void awaitBanksLoaded() {
+        final CompletableFuture<Void> loaded = this.accountManager.whenLoaded();
+        if (loaded.isDone()) {
+            return;
+        }
+        try {
+            loaded.get(this.configuration.loadTimeout.value(), TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for bank data to load.", ex);
+        } catch (final ExecutionException ex) {
+            throw new IllegalStateException("Bank data failed to load.", ex.getCause());
+        } catch (final TimeoutException ex) {
+            throw new IllegalStateException("Bank data is still loading.", ex);
+        }
+    }
+
+    // Gets the response for a bank request which succeeded or failed, with the bank's current balance.
+    private EconomyResponse bankResponse(final @NotNull BankAccount bank, final double amount, final boolean success) {
+        return new EconomyResponse(amount, bank.getBalance()
+                .doubleValue(), success ? EconomyResponse.ResponseType.SUCCESS : EconomyResponse.ResponseType.FAILURE, "");
+    }
+
+    // Applies a balance change on the economy writer if there is one, or on the calling thread, then optionally
+    // updates the player's experience to match.
+    private EconomyResponse applyChange(final @NotNull Account account, final @NotNull Supplier<EconomyResponse> change, final boolean updateXPValue) {
+        final EconomyResponse response;
+        if (this.writer != null) {
+            try {
+                response = this.writer.submit(change).join();
+            } catch (final CompletionException ex) {
+                return new EconomyResponse(0D, account.getBalance()
+                        .doubleValue(), EconomyResponse.ResponseType.FAILURE, String.valueOf(ex.getCause().getMessage()));
+            }
+        } else {
+            response = change.get();
+        }
+        if (updateXPValue && response.transactionSuccess()) {
+            this.updateExperience(account);
+        }
+        return response;
+    }
+
+    // Sets a player's experience to their balance. Experience is owned by the main thread, so changes made on other
+    // threads schedule the update there; the latest balance is read when the task runs.
+    private void updateExperience(final @NotNull Account account) {
+        if (Bukkit.isPrimaryThread()) {
+            PlayerXPUtils.setPlayerXPTotal(account.getUUID(), account.getBalanceRaw());
+        } else if (this.plugin.isEnabled()) {
+            Bukkit.getScheduler()
+                    .runTask(this.plugin, () -> PlayerXPUtils.setPlayerXPTotal(account.getUUID(), account.getBalanceRaw()));
+        }
+    }
+
     /**
      * Checks if economy method is enabled.
      *
@@ -79,7 +286,7 @@ public final class ExperienceEconomy implements Economy {
      */
     @Override
     public boolean hasBankSupport() {
-        return false;
+        return this.banks != null;
     }
 
     /**
@@ -153,7 +360,7 @@ public final class ExperienceEconomy implements Economy {
      */
     @Override
     public boolean hasAccount(final OfflinePlayer player) {
-        return this.accountManager.hasAccount(player.getUniqueId());
+        return this.hasAccount(player, (String) null);
     }
 
     /**
@@ -169,7 +376,8 @@ public final class ExperienceEconomy implements Economy {
     @Override
     @Deprecated
     public boolean hasAccount(final String playerName, final String worldName) {
-        return this.hasAccount(playerName);
+        final OfflinePlayer player = Bukkit.getOfflinePlayer(playerName);
+        return this.hasAccount(player, worldName);
     }
 
     /**
@@ -183,7 +391,7 @@ public final class ExperienceEconomy implements Economy {
      */
     @Override
     public boolean hasAccount(final OfflinePlayer player, final String worldName) {
-        return this.hasAccount(player);
+        return this.getAccountManager(worldName).hasAccount(player.getUniqueId());
     }
 
     /**
@@ -208,8 +416,7 @@ public final class ExperienceEconomy implements Economy {
      */
     @Override
     public double getBalance(final OfflinePlayer player) {
-        final Account account = this.accountManager.getAccount(player.getUniqueId());
-        return account == null ? 0.0D : account.getBalance().doubleValue();
+        return this.getBalance(player, (String) null);
     }
 
     /**
@@ -221,7 +428,8 @@ public final class ExperienceEconomy implements Economy {
     @Override
     @Deprecated
     public double getBalance(final String playerName, final String world) {
-        return this.getBalance(playerName);
+        final OfflinePlayer player = Bukkit.getOfflinePlayer(playerName);
+        return this.getBalance(player, world);
     }
 
     /**
@@ -234,7 +442,17 @@ public final class ExperienceEconomy implements Economy {
      */
     @Override
     public double getBalance(final OfflinePlayer player, final String world) {
-        return this.getBalance(player);
+        final AccountManager accountManager = this.getAccountManager(world);
+        final Account account = accountManager.getAccount(player.getUniqueId());
+        if (account == null && this.isDefaultAccounts(accountManager)) {
+            return 0.0D;
+        }
+        // Reads never create world group accounts; players without one have the starting balance.
+        final BigInteger balance = account == null ? this.getStartingBalanceRaw() : account.getBalanceRaw();
+        if (balance.bitLength() < Long.SIZE) {
+            return this.getEconomyMethod().fromRawBalance(balance.longValue());
+        }
+        return this.getEconomyMethod().fromRawBalance(balance).doubleValue();
     }
 
     /**
@@ -258,8 +476,7 @@ public final class ExperienceEconomy implements Economy {
      */
     @Override
     public boolean has(final OfflinePlayer player, final double amount) {
-        final Account account = this.accountManager.getAccount(player.getUniqueId());
-        return account != null && account.has(BigDecimal.valueOf(amount));
+        return this.has(player, null, amount);
     }
 
     /**
@@ -271,7 +488,8 @@ public final class ExperienceEconomy implements Economy {
     @Override
     @Deprecated
     public boolean has(final String playerName, final String worldName, final double amount) {
-        return this.has(playerName, amount);
+        final OfflinePlayer player = Bukkit.getOfflinePlayer(playerName);
+        return this.has(player, worldName, amount);
     }
 
     /**
@@ -285,7 +503,19 @@ public final class ExperienceEconomy implements Economy {
      */
     @Override
     public boolean has(final OfflinePlayer player, final String worldName, final double amount) {
-        return this.has(player, amount);
+        final AccountManager accountManager = this.getAccountManager(worldName);
+        final Account account = accountManager.getAccount(player.getUniqueId());
+        if (account == null) {
+            // Reads never create world group accounts; players without one have the starting balance.
+            return !this.isDefaultAccounts(accountManager) && amount >= 0.0D
+                    && this.getStartingBalanceRaw().compareTo(this.getEconomyMethod().toRawBalance(BigDecimal.valueOf(amount), BigInteger.ZERO)) >= 0;
+        }
+        final long rawAmount = this.getEconomyMethod().toRawAmount(amount);
+        final BigInteger balance = account.getBalanceRaw();
+        if (rawAmount >= 0L && balance.bitLength() < Long.SIZE && account.getHeldRaw().signum() == 0) {
+            return balance.longValue() >= rawAmount;
+        }
+        return account.has(BigDecimal.valueOf(amount));
     }
 
     /**
@@ -311,21 +541,7 @@ public final class ExperienceEconomy implements Economy {
      */
     @Override
     public EconomyResponse withdrawPlayer(final OfflinePlayer player, final double amount) {
-        final Account account = this.accountManager.getAccount(player.getUniqueId());
-        if (account == null) {
-            return new EconomyResponse(0D, 0D, EconomyResponse.ResponseType.FAILURE, "");
-        }
-        if (amount < 0.0D) {
-            return new EconomyResponse(0D, account.getBalance()
-                    .doubleValue(), EconomyResponse.ResponseType.FAILURE, "");
-        }
-        final BigDecimal decimalAmount = BigDecimal.valueOf(amount);
-        if (account.has(decimalAmount)) {
-            account.withdraw(decimalAmount);
-            return new EconomyResponse(amount, account.getBalance()
-                    .doubleValue(), EconomyResponse.ResponseType.SUCCESS, "");
-        }
-        return new EconomyResponse(0D, account.getBalance().doubleValue(), EconomyResponse.ResponseType.FAILURE, "");
+        return this.withdrawPlayer(player, null, amount);
     }
 
     /**
@@ -340,7 +556,8 @@ public final class ExperienceEconomy implements Economy {
     @Override
     @Deprecated
     public EconomyResponse withdrawPlayer(final String playerName, final String worldName, final double amount) {
-        return this.withdrawPlayer(playerName, amount);
+        final OfflinePlayer player = Bukkit.getOfflinePlayer(playerName);
+        return this.withdrawPlayer(player, worldName, amount);
     }
 
     /**
@@ -354,7 +571,17 @@ public final class ExperienceEconomy implements Economy {
      */
     @Override
     public EconomyResponse withdrawPlayer(final OfflinePlayer player, final String worldName, final double amount) {
-        return this.withdrawPlayer(player, amount);
+        final AccountManager accountManager = this.getAccountManager(worldName);
+        final Account account = this.getOrCreateAccount(player, accountManager);
+        if (account == null) {
+            return NO_ACCOUNT;
+        }
+        if (amount < 0.0D) {
+            return this.failure(account);
+        }
+        // Only the default accounts are mirrored by the player's experience.
+        final boolean updateXPValue = this.isDefaultAccounts(accountManager);
+        return this.applyChange(account, () -> this.withdraw(account, amount), updateXPValue);
     }
 
     /**
@@ -380,17 +607,7 @@ public final class ExperienceEconomy implements Economy {
      */
     @Override
     public EconomyResponse depositPlayer(final OfflinePlayer player, final double amount) {
-        final Account account = this.accountManager.getAccount(player.getUniqueId());
-        if (account == null) {
-            return new EconomyResponse(0D, 0D, EconomyResponse.ResponseType.FAILURE, "");
-        }
-        if (amount < 0.0D) {
-            return new EconomyResponse(0D, account.getBalance()
-                    .doubleValue(), EconomyResponse.ResponseType.FAILURE, "");
-        }
-        account.deposit(BigDecimal.valueOf(amount));
-        return new EconomyResponse(amount, account.getBalance()
-                .doubleValue(), EconomyResponse.ResponseType.SUCCESS, "");
+        return this.depositPlayer(player, null, amount);
     }
 
     /**
@@ -402,7 +619,8 @@ public final class ExperienceEconomy implements Economy {
     @Override
     @Deprecated
     public EconomyResponse depositPlayer(final String playerName, final String worldName, final double amount) {
-        return depositPlayer(playerName, amount);
+        final OfflinePlayer player = Bukkit.getOfflinePlayer(playerName);
+        return this.depositPlayer(player, worldName, amount);
     }
 
     /**
@@ -416,7 +634,51 @@ public final class ExperienceEconomy implements Economy {
      */
     @Override
     public EconomyResponse depositPlayer(final OfflinePlayer player, final String worldName, final double amount) {
-        return depositPlayer(player, amount);
+        final AccountManager accountManager = this.getAccountManager(worldName);
+        final Account account = this.getOrCreateAccount(player, accountManager);
+        if (account == null) {
+            return NO_ACCOUNT;
+        }
+        if (amount < 0.0D) {
+            return this.failure(account);
+        }
+        // Only the default accounts are mirrored by the player's experience.
+        final boolean updateXPValue = this.isDefaultAccounts(accountManager);
+        return this.applyChange(account, () -> this.deposit(account, amount), updateXPValue);
+    }
+
+    /**
+     * Applies balance changes to many players' default accounts in one call, such as for payroll or event rewards.
+     * <p>
+     * Changes for the same player are combined and applied to each account once. Each online player's experience is
+     * then updated once for the whole batch, on the main thread.
+     *
+     * @param deltas The amount to add to each player's balance. Negative amounts are withdrawn.
+     * @return The UUIDs of the players whose balance changed. Players without an account, and changes which would
+     *         leave a balance below zero, are skipped.
+     */
+    public @NotNull Set<UUID> applyBatch(final @NotNull Collection<? extends Map.Entry<UUID, Double>> deltas) {
+        final List<Map.Entry<UUID, BigDecimal>> amounts = new ArrayList<>(deltas.size());
+        for (final Map.Entry<UUID, Double> delta : deltas) {
+            amounts.add(Map.entry(delta.getKey(), BigDecimal.valueOf(delta.getValue())));
+        }
+        // Accounts are looked up and loaded on this thread; only the changes run on the economy writer.
+        final Map<UUID, Account> applied;
+        try {
+            applied = this.accountManager.applyBatch(amounts);
+        } catch (final IllegalStateException ex) {
+            this.plugin.getLogger().log(Level.WARNING, "[Economy] Failed to apply a batch of balance changes.", ex);
+            return Set.of();
+        }
+        if (!applied.isEmpty()) {
+            final PlayerExperienceBatchSynchronizationTask task = new PlayerExperienceBatchSynchronizationTask(this.plugin, applied.values());
+            if (Bukkit.isPrimaryThread()) {
+                task.run();
+            } else if (this.plugin.isEnabled()) {
+                task.runTask(this.plugin);
+            }
+        }
+        return Collections.unmodifiableSet(applied.keySet());
     }
 
     /**
@@ -429,7 +691,7 @@ public final class ExperienceEconomy implements Economy {
     @Override
     @Deprecated
     public EconomyResponse createBank(final String name, final String player) {
-        return NOT_IMPLEMENTED;
+        return this.createBank(name, Bukkit.getOfflinePlayer(player));
     }
 
     /**
@@ -441,7 +703,15 @@ public final class ExperienceEconomy implements Economy {
      */
     @Override
     public EconomyResponse createBank(final String name, final OfflinePlayer player) {
-        return NOT_IMPLEMENTED;
+        if (this.banks == null) {
+            return NOT_IMPLEMENTED;
+        }
+        this.awaitBanksLoaded();
+        final BankAccount bank = this.banks.create(name, player.getUniqueId());
+        if (bank == null) {
+            return NO_ACCOUNT;
+        }
+        return this.bankResponse(bank, 0D, true);
     }
 
     /**
@@ -452,7 +722,15 @@ public final class ExperienceEconomy implements Economy {
      */
     @Override
     public EconomyResponse deleteBank(final String name) {
-        return NOT_IMPLEMENTED;
+        if (this.banks == null) {
+            return NOT_IMPLEMENTED;
+        }
+        this.awaitBanksLoaded();
+        final BankAccount bank = this.banks.delete(name);
+        if (bank == null) {
+            return NO_ACCOUNT;
+        }
+        return this.bankResponse(bank, 0D, true);
     }
 
     /**
@@ -463,7 +741,15 @@ public final class ExperienceEconomy implements Economy {
      */
     @Override
     public EconomyResponse bankBalance(final String name) {
-        return NOT_IMPLEMENTED;
+        if (this.banks == null) {
+            return NOT_IMPLEMENTED;
+        }
+        this.awaitBanksLoaded();
+        final BankAccount bank = this.banks.get(name);
+        if (bank == null) {
+            return NO_ACCOUNT;
+        }
+        return this.bankResponse(bank, 0D, true);
     }
 
     /**
@@ -475,7 +761,15 @@ public final class ExperienceEconomy implements Economy {
      */
     @Override
     public EconomyResponse bankHas(final String name, final double amount) {
-        return NOT_IMPLEMENTED;
+        if (this.banks == null) {
+            return NOT_IMPLEMENTED;
+        }
+        this.awaitBanksLoaded();
+        final BankAccount bank = this.banks.get(name);
+        if (bank == null) {
+            return NO_ACCOUNT;
+        }
+        return this.bankResponse(bank, amount, amount >= 0.0D && bank.has(BigDecimal.valueOf(amount)));
     }
 
     /**
@@ -487,7 +781,19 @@ public final class ExperienceEconomy implements Economy {
      */
     @Override
     public EconomyResponse bankWithdraw(final String name, final double amount) {
-        return NOT_IMPLEMENTED;
+        if (this.banks == null) {
+            return NOT_IMPLEMENTED;
+        }
+        this.awaitBanksLoaded();
+        final BankAccount bank = this.banks.get(name);
+        if (bank == null) {
+            return NO_ACCOUNT;
+        }
+        if (amount < 0.0D) {
+            return this.bankResponse(bank, 0D, false);
+        }
+        final boolean success = bank.withdraw(BigDecimal.valueOf(amount));
+        return this.bankResponse(bank, success ? amount : 0D, success);
     }
 
     /**
@@ -499,7 +805,19 @@ public final class ExperienceEconomy implements Economy {
      */
     @Override
     public EconomyResponse bankDeposit(final String name, final double amount) {
-        return NOT_IMPLEMENTED;
+        if (this.banks == null) {
+            return NOT_IMPLEMENTED;
+        }
+        this.awaitBanksLoaded();
+        final BankAccount bank = this.banks.get(name);
+        if (bank == null) {
+            return NO_ACCOUNT;
+        }
+        if (amount < 0.0D) {
+            return this.bankResponse(bank, 0D, false);
+        }
+        final boolean success = bank.deposit(BigDecimal.valueOf(amount));
+        return this.bankResponse(bank, success ? amount : 0D, success);
     }
 
     /**
@@ -512,7 +830,7 @@ public final class ExperienceEconomy implements Economy {
     @Override
     @Deprecated
     public EconomyResponse isBankOwner(final String name, final String playerName) {
-        return NOT_IMPLEMENTED;
+        return this.isBankOwner(name, Bukkit.getOfflinePlayer(playerName));
     }
 
     /**
@@ -524,7 +842,15 @@ public final class ExperienceEconomy implements Economy {
      */
     @Override
     public EconomyResponse isBankOwner(final String name, final OfflinePlayer player) {
-        return NOT_IMPLEMENTED;
+        if (this.banks == null) {
+            return NOT_IMPLEMENTED;
+        }
+        this.awaitBanksLoaded();
+        final BankAccount bank = this.banks.get(name);
+        if (bank == null) {
+            return NO_ACCOUNT;
+        }
+        return this.bankResponse(bank, 0D, bank.isOwner(player.getUniqueId()));
     }
 
     /**
@@ -537,7 +863,7 @@ public final class ExperienceEconomy implements Economy {
     @Override
     @Deprecated
     public EconomyResponse isBankMember(final String name, final String playerName) {
-        return NOT_IMPLEMENTED;
+        return this.isBankMember(name, Bukkit.getOfflinePlayer(playerName));
     }
 
     /**
@@ -549,7 +875,15 @@ public final class ExperienceEconomy implements Economy {
      */
     @Override
     public EconomyResponse isBankMember(final String name, final OfflinePlayer player) {
-        return NOT_IMPLEMENTED;
+        if (this.banks == null) {
+            return NOT_IMPLEMENTED;
+        }
+        this.awaitBanksLoaded();
+        final BankAccount bank = this.banks.get(name);
+        if (bank == null) {
+            return NO_ACCOUNT;
+        }
+        return this.bankResponse(bank, 0D, bank.isMember(player.getUniqueId()));
     }
 
     /**
@@ -559,7 +893,10 @@ public final class ExperienceEconomy implements Economy {
      */
     @Override
     public List<String> getBanks() {
-        return ImmutableList.of();
+        if (this.banks == null) {
+            return ImmutableList.of();
+        }
+        return this.banks.getNames();
     }
 
     /**
@@ -583,8 +920,7 @@ public final class ExperienceEconomy implements Economy {
      */
     @Override
     public boolean createPlayerAccount(final OfflinePlayer player) {
-        accountManager.createAccount(player);
-        return true;
+        return this.createPlayerAccount(player, null);
     }
 
     /**
@@ -598,7 +934,8 @@ public final class ExperienceEconomy implements Economy {
     @Override
     @Deprecated
     public boolean createPlayerAccount(final String playerName, final String worldName) {
-        return this.createPlayerAccount(playerName);
+        final OfflinePlayer player = Bukkit.getOfflinePlayer(playerName);
+        return this.createPlayerAccount(player, worldName);
     }
 
     /**
@@ -611,6 +948,7 @@ public final class ExperienceEconomy implements Economy {
      */
     @Override
     public boolean createPlayerAccount(final OfflinePlayer player, final String worldName) {
-        return this.createPlayerAccount(player);
+        this.getAccountManager(worldName).createAccount(player);
+        return true;
     }
 }
@@ -0,0 +1,86 @@
+package dev.satyrn.xpeconomy.economy;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Expires holds with a hashed timing wheel.
+ * <p>
+ * Time is divided into ticks, and each hold is placed in the slot of the tick it expires on, wrapping around the
+ * wheel. Scheduling a hold is a single lock-free append, and each advance only visits the slots of the ticks which
+ * passed, rather than every hold. Holds which expire more than one revolution ahead stay in their slot until the
+ * revolution they expire on. Holds which end early are dropped from their slot when it is next visited.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.2
+ */
+final class HoldExpiryWheel {
+    // The length of a tick, in milliseconds.
+    private final long tickMillis;
+    // The holds expiring on each tick, by tick modulo the number of slots.
+    private final @NotNull List<Queue<PlayerHold>> slots;
+    // The time the wheel started, in milliseconds since the epoch.
+    private final long startMillis = System.currentTimeMillis();
+    // The last tick whose slot was visited.
+    private volatile long currentTick = 0L;
+
+    /**
+     * Creates a new timing wheel.
+     *
+     * @param tickMillis The length of a tick, in milliseconds.
+     * @param slotCount  The number of slots on the wheel.
+     */
+    HoldExpiryWheel(final long tickMillis, final int slotCount) {
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            this.slots.add(new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    /**
+     * Schedules a hold to expire. A hold scheduled while its slot is being visited may expire up to one revolution
+     * late.
+     *
+     * @param hold The hold.
+     */
+    void schedule(final @NotNull PlayerHold hold) {
+        final long expiryTick = Math.max(this.currentTick + 1, Math.floorDiv(hold.getExpiresAt() - this.startMillis + this.tickMillis - 1, this.tickMillis));
+        this.slots.get((int) Math.floorMod(expiryTick, (long) this.slots.size())).add(hold);
+    }
+
+    /**
+     * Visits the slots of every tick which passed since the last advance, expiring the holds which are due.
+     *
+     * @param now The current time, in milliseconds since the epoch.
+     * @return The number of holds which expired.
+     */
+    synchronized int advance(final long now) {
+        final long targetTick = Math.floorDiv(now - this.startMillis, this.tickMillis);
+        // After a long pause every slot is visited once, rather than once per missed tick.
+        long tick = Math.max(this.currentTick, targetTick - this.slots.size()) + 1;
+        int expired = 0;
+        for (; tick <= targetTick; tick++) {
+            final Iterator<PlayerHold> holds = this.slots.get((int) Math.floorMod(tick, (long) this.slots.size()))
+                    .iterator();
+            while (holds.hasNext()) {
+                final PlayerHold hold = holds.next();
+                if (!hold.isActive()) {
+                    holds.remove();
+                } else if (hold.getExpiresAt() <= now) {
+                    holds.remove();
+                    if (hold.expire()) {
+                        expired++;
+                    }
+                }
+            }
+            this.currentTick = tick;
+        }
+        return expired;
+    }
+}
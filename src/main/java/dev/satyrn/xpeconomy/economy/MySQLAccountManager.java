@@ -2,15 +2,18 @@ package dev.satyrn.xpeconomy.economy;
 
 import dev.satyrn.papermc.api.storage.v1.ConnectionManager;
 import dev.satyrn.xpeconomy.configuration.Configuration;
+import dev.satyrn.xpeconomy.storage.StorageExecutor;
+import dev.satyrn.xpeconomy.utils.UUIDBloomFilter;
+import dev.satyrn.xpeconomy.utils.UUIDUtils;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.sql.*;
-import java.util.Calendar;
+import java.util.*;
 import java.util.Date;
-import java.util.UUID;
 import java.util.logging.Level;
 
 /**
@@ -29,6 +32,10 @@ public final class MySQLAccountManager extends PlayerAccountManagerBase {
      * Whether the MySQL server supports UUID functions (8.0+).
      */
     private transient boolean supportsUuidFunctions = false;
+    /**
+     * Whether the server version and table layout have been checked.
+     */
+    private transient volatile boolean schemaVerified = false;
 
     /**
      * Creates a new account manager with a MySQL backend.
@@ -38,7 +45,22 @@ public final class MySQLAccountManager extends PlayerAccountManagerBase {
      * @param connectionManager The connection manager.
      */
     public MySQLAccountManager(final Configuration configuration, final Plugin plugin, final ConnectionManager connectionManager) {
-        super(configuration);
+        this(configuration, plugin, connectionManager, null, null);
+    }
+
+    /**
+     * Creates a new account manager with a MySQL backend for a world group partition. Each partition has its own
+     * account table.
+     *
+     * @param configuration     The configuration instance.
+     * @param plugin            The plugin instance.
+     * @param connectionManager The connection manager.
+     * @param partition         The world group whose accounts are held, or {@code null} for the default accounts.
+     * @param storageExecutor   The storage executor shared with other account managers, or {@code null} to create
+     *                          one.
+     */
+    public MySQLAccountManager(final Configuration configuration, final Plugin plugin, final ConnectionManager connectionManager, final @Nullable String partition, final @Nullable StorageExecutor storageExecutor) {
+        super(configuration, partition, storageExecutor);
         this.plugin = plugin;
         this.connectionManager = connectionManager;
     }
@@ -54,18 +76,23 @@ public final class MySQLAccountManager extends PlayerAccountManagerBase {
 
     /**
      * Loads account details from the database.
+     *
+     * @throws IllegalStateException Thrown if the accounts cannot be read from the database.
      */
     @Override
     public void load() {
         this.plugin.getLogger().log(Level.FINER, "[Storage] Loading accounts from MySQL data source...");
         try (final Connection connection = this.connectionManager.connect()) {
             if (connection == null) {
+                throw new IllegalStateException("Could not connect to the MySQL database.");
+            }
+            this.verifySchema(connection);
+            if (this.isLazyLoading()) {
+                this.plugin.getLogger().log(Level.FINE, "[Storage] Accounts will be loaded from the MySQL database on demand.");
+                this.indexAccountIds(connection);
                 return;
             }
-            this.detectMySQLVersion(connection);
-            this.createTable(connection);
 
-            final Statement statement = connection.createStatement();
             final String selectQuery;
             if (this.supportsUuidFunctions) {
                 selectQuery = String.format("SELECT BIN_TO_UUID(uuid) AS uuid, balance, name FROM %s", this.getTableName());
@@ -73,79 +100,417 @@ public final class MySQLAccountManager extends PlayerAccountManagerBase {
                 selectQuery = String.format("SELECT uuid, balance, name FROM %s", this.getTableName());
             }
 
-            try (final ResultSet results = statement.executeQuery(selectQuery)) {
+            try (final Statement statement = connection.createStatement();
+                 final ResultSet results = statement.executeQuery(selectQuery)) {
                 while (results.next()) {
-                    final UUID uuid;
-                    if (this.supportsUuidFunctions) {
-                        uuid = UUID.fromString(results.getString("uuid"));
-                    } else {
-                        final byte[] uuidBytes = results.getBytes("uuid");
-                        uuid = bytesToUUID(uuidBytes);
-                    }
-                    final BigDecimal balance = results.getBigDecimal("balance");
-                    final String name = results.getString("name");
-                    final PlayerAccount account = new PlayerAccount(this.configuration, uuid).setBalanceRaw(balance.setScale(0, RoundingMode.DOWN)
-                            .toBigInteger(), false);
-                    if (name != null) {
-                        account.setName(name);
-                    }
-                    this.accounts.add(account);
+                    final PlayerAccount account = this.readAccount(results);
+                    this.addAccount(account);
                 }
             }
         } catch (final SQLException ex) {
-            this.plugin.getLogger()
-                    .log(Level.SEVERE, "[Storage] Failed to load account information from the database.", ex);
+            throw new IllegalStateException("Failed to load account information from the database.", ex);
+        }
+    }
+
+    /**
+     * Adds the UUID of every stored account to the known account filter, and its name to the account name index,
+     * without loading the accounts. The filter is not built for a shared database, as it would miss accounts created
+     * by other servers.
+     *
+     * @param connection The connection instance.
+     * @throws SQLException Thrown if the account table cannot be read.
+     */
+    private void indexAccountIds(final @NotNull Connection connection) throws SQLException {
+        try (final Statement statement = connection.createStatement()) {
+            UUIDBloomFilter filter = null;
+            if (!this.isStorageShared()) {
+                try (final ResultSet results = statement.executeQuery(String.format("SELECT COUNT(*) FROM %s", this.getTableName()))) {
+                    filter = this.createAccountFilter(results.next() ? results.getLong(1) : 0L);
+                }
+            }
+            try (final ResultSet results = statement.executeQuery(String.format("SELECT uuid, name FROM %s", this.getTableName()))) {
+                while (results.next()) {
+                    final UUID uuid = UUIDUtils.fromBytes(results.getBytes(1));
+                    if (filter != null) {
+                        filter.add(uuid);
+                    }
+                    this.indexAccountName(uuid, results.getString(2));
+                }
+            }
         }
     }
 
     /**
-     * Saves the accounts to the database in a new thread.
+     * Loads a single account from the database.
+     *
+     * @param uuid The player UUID.
+     * @return The stored account, or {@code null} if the player has no stored account.
+     * @throws IllegalStateException Thrown if the database cannot be read, so a missing account is never assumed.
      */
     @Override
-    public synchronized void save() {
-        this.plugin.getLogger().log(Level.FINER, "[Storage] Saving account data to the MySQL database.");
+    protected @Nullable PlayerAccount loadAccount(final @NotNull UUID uuid) {
         try (final Connection connection = this.connectionManager.connect()) {
             if (connection == null) {
-                return;
+                throw new IllegalStateException("Could not connect to the MySQL database.");
             }
-            this.detectMySQLVersion(connection);
-            this.createTable(connection);
+            this.verifySchema(connection);
 
-            final String insertSQLStatement;
+            final String selectQuery;
             if (this.supportsUuidFunctions) {
-                insertSQLStatement = String.format("INSERT INTO %s (uuid, balance, name, create_date, update_date) VALUES (UUID_TO_BIN(?), ?, ?, ?, ?) ON DUPLICATE KEY UPDATE balance = ?, name = ?, update_date = ?", this.getTableName());
+                selectQuery = String.format("SELECT BIN_TO_UUID(uuid) AS uuid, balance, name FROM %s WHERE uuid = UUID_TO_BIN(?)", this.getTableName());
             } else {
-                insertSQLStatement = String.format("INSERT INTO %s (uuid, balance, name, create_date, update_date) VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE balance = ?, name = ?, update_date = ?", this.getTableName());
+                selectQuery = String.format("SELECT uuid, balance, name FROM %s WHERE uuid = ?", this.getTableName());
             }
 
-            try (final PreparedStatement statement = connection.prepareStatement(insertSQLStatement)) {
-                int i = 0;
-                for (final PlayerAccount account : this.accounts) {
-                    final Date currentTime = Calendar.getInstance().getTime();
-                    if (this.supportsUuidFunctions) {
-                        statement.setString(1, account.getUUID().toString());
-                    } else {
-                        statement.setBytes(1, uuidToBytes(account.getUUID()));
-                    }
-                    statement.setBigDecimal(2, new BigDecimal(account.getBalanceRaw()));
-                    statement.setString(3, account.getName());
-                    statement.setTimestamp(4, new Timestamp(currentTime.getTime()));
-                    statement.setTimestamp(5, new Timestamp(currentTime.getTime()));
-                    statement.setBigDecimal(6, new BigDecimal(account.getBalanceRaw()));
-                    statement.setString(7, account.getName());
-                    statement.setTimestamp(8, new Timestamp(currentTime.getTime()));
+            try (final PreparedStatement statement = connection.prepareStatement(selectQuery)) {
+                if (this.supportsUuidFunctions) {
+                    statement.setString(1, uuid.toString());
+                } else {
+                    statement.setBytes(1, UUIDUtils.toBytes(uuid));
+                }
+                try (final ResultSet results = statement.executeQuery()) {
+                    return results.next() ? this.readAccount(results) : null;
+                }
+            }
+        } catch (final SQLException ex) {
+            throw new IllegalStateException("Failed to load an account from the database.", ex);
+        }
+    }
+
+    /**
+     * Checks whether other servers may write to the same storage, as set in the MySQL settings. Accounts missing from
+     * memory are then looked up in the database before being treated as absent.
+     *
+     * @return {@code true} if the database is shared with other servers; otherwise, {@code false}.
+     */
+    @Override
+    protected boolean isStorageShared() {
+        return this.configuration.mysqlSharedStorage.value();
+    }
+
+    /**
+     * Checks whether the storage backend can load a single account by UUID.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    protected boolean supportsLazyLoading() {
+        return true;
+    }
+
+    /**
+     * Reads an account from the current row of a result set.
+     *
+     * @param results The result set.
+     * @return The account.
+     * @throws SQLException Thrown if a column cannot be read.
+     */
+    private @NotNull PlayerAccount readAccount(final @NotNull ResultSet results) throws SQLException {
+        final UUID uuid;
+        if (this.supportsUuidFunctions) {
+            uuid = UUID.fromString(results.getString("uuid"));
+        } else {
+            final byte[] uuidBytes = results.getBytes("uuid");
+            uuid = UUIDUtils.fromBytes(uuidBytes);
+        }
+        final BigDecimal balance = results.getBigDecimal("balance");
+        final String name = results.getString("name");
+        final PlayerAccount account = new PlayerAccount(this.configuration, uuid).setBalanceRaw(balance.setScale(0, RoundingMode.DOWN)
+                .toBigInteger(), false);
+        if (name != null) {
+            account.setName(name);
+        }
+        account.markPersisted(account.getRevision());
+        return account;
+    }
+
+    /**
+     * Saves the accounts to the database. Each shard with unsaved changes is written on its own pooled connection,
+     * in parallel with the others.
+     */
+    @Override
+    public void save() {
+        this.plugin.getLogger().log(Level.FINER, "[Storage] Saving account data to the MySQL database.");
+        this.saveShards(this::saveShard, false);
+    }
+
+    /**
+     * Writes the accounts in a shard which changed since they were last saved.
+     *
+     * @param shard The shard.
+     */
+    private void saveShard(final @NotNull AccountShard shard) {
+        final List<PlayerAccount> dirtyAccounts = shard.drainDirtyAccounts();
+        if (dirtyAccounts.isEmpty()) {
+            return;
+        }
+        final long[] revisions = new long[dirtyAccounts.size()];
+        try (final Connection connection = this.connectionManager.connect()) {
+            if (connection == null) {
+                shard.requeue(dirtyAccounts);
+                return;
+            }
+            this.verifySchema(connection);
+
+            try (final PreparedStatement statement = connection.prepareStatement(this.getUpsertQuery())) {
+                for (int i = 0; i < dirtyAccounts.size(); i++) {
+                    revisions[i] = dirtyAccounts.get(i).getRevision();
+                    this.bindAccount(statement, dirtyAccounts.get(i));
                     statement.addBatch();
-                    if (i++ % 1000 == 0 || i == this.accounts.size()) {
+                    if ((i + 1) % 1000 == 0) {
                         statement.executeBatch();
                     }
                 }
+                if (dirtyAccounts.size() % 1000 != 0) {
+                    statement.executeBatch();
+                }
+            }
+            for (int i = 0; i < dirtyAccounts.size(); i++) {
+                dirtyAccounts.get(i).markPersisted(revisions[i]);
+            }
+            this.plugin.getLogger()
+                    .log(Level.FINEST, "[Storage] Wrote {0} account(s) from shard {1}.", new Object[]{dirtyAccounts.size(), shard.getIndex()});
+        } catch (final SQLException ex) {
+            shard.requeue(dirtyAccounts);
+            this.plugin.getLogger()
+                    .log(Level.SEVERE, "[Storage] Failed to save account information to the database.", ex);
+        }
+    }
+
+    /**
+     * Writes a single account to the database if it has changed since it was last saved.
+     *
+     * @param uuid The player UUID.
+     */
+    @Override
+    public void saveAccount(final @NotNull UUID uuid) {
+        final AccountShard shard = this.getShard(uuid);
+        // Held so a shard save running at the same time cannot write an older revision over this one.
+        shard.getLock().lock();
+        try {
+            this.saveAccount(uuid, shard);
+        } finally {
+            shard.getLock().unlock();
+        }
+    }
+
+    /**
+     * Writes a single account to the database while its shard is locked.
+     *
+     * @param uuid  The player UUID.
+     * @param shard The shard holding the account.
+     */
+    private void saveAccount(final @NotNull UUID uuid, final @NotNull AccountShard shard) {
+        final PlayerAccount account = shard.get(uuid);
+        if (account == null || !account.isDirty()) {
+            return;
+        }
+        this.plugin.getLogger().log(Level.FINER, "[Storage] Saving account {0} to the MySQL database.", uuid);
+        try (final Connection connection = this.connectionManager.connect()) {
+            if (connection == null) {
+                return;
+            }
+            this.verifySchema(connection);
+
+            final long revision = account.getRevision();
+            try (final PreparedStatement statement = connection.prepareStatement(this.getUpsertQuery())) {
+                this.bindAccount(statement, account);
+                statement.executeUpdate();
             }
+            account.markPersisted(revision);
         } catch (final SQLException ex) {
             this.plugin.getLogger()
                     .log(Level.SEVERE, "[Storage] Failed to save account information to the database.", ex);
         }
     }
 
+    /**
+     * Checks whether the storage backend can persist bank accounts. Banks are kept with the default accounts only.
+     *
+     * @return {@code true} unless the account manager holds a world group's accounts.
+     */
+    @Override
+    protected boolean supportsBanks() {
+        return this.getPartition() == null;
+    }
+
+    /**
+     * Loads bank accounts and their members from the database.
+     */
+    @Override
+    protected void loadBanks() {
+        try (final Connection connection = this.connectionManager.connect()) {
+            if (connection == null) {
+                return;
+            }
+            this.verifySchema(connection);
+
+            final Map<String, Set<UUID>> members = new HashMap<>();
+            try (final Statement statement = connection.createStatement()) {
+                try (final ResultSet results = statement.executeQuery(String.format("SELECT bank_id, uuid FROM %s", this.getBankMemberTableName()))) {
+                    while (results.next()) {
+                        members.computeIfAbsent(results.getString("bank_id"), key -> new HashSet<>())
+                                .add(UUIDUtils.fromBytes(results.getBytes("uuid")));
+                    }
+                }
+                try (final ResultSet results = statement.executeQuery(String.format("SELECT id, name, owner, balance FROM %s", this.getBankTableName()))) {
+                    while (results.next()) {
+                        final BankAccount bank = new BankAccount(this.configuration, results.getString("name"), UUIDUtils.fromBytes(results.getBytes("owner")));
+                        bank.restore(results.getBigDecimal("balance")
+                                .setScale(0, RoundingMode.DOWN)
+                                .toBigInteger(), members.getOrDefault(results.getString("id"), Set.of()));
+                        this.banks.put(bank);
+                    }
+                }
+            }
+            this.plugin.getLogger()
+                    .log(Level.FINER, "[Storage] Loaded {0} bank(s) from the MySQL database.", this.banks.getBanks().size());
+        } catch (final SQLException ex) {
+            this.plugin.getLogger()
+                    .log(Level.SEVERE, "[Storage] Failed to load bank information from the database.", ex);
+        }
+    }
+
+    /**
+     * Writes changed banks and their members to the database, and removes deleted banks, in a single transaction.
+     */
+    @Override
+    protected void saveBanks() {
+        final List<String> deletedBanks = this.banks.drainDeletedBanks();
+        final List<BankAccount> dirtyBanks = new ArrayList<>();
+        for (final BankAccount bank : this.banks.getBanks()) {
+            if (bank.isDirty()) {
+                dirtyBanks.add(bank);
+            }
+        }
+        final long[] revisions = new long[dirtyBanks.size()];
+        try (final Connection connection = this.connectionManager.connect()) {
+            if (connection == null) {
+                this.banks.requeueDeletedBanks(deletedBanks);
+                return;
+            }
+            this.verifySchema(connection);
+
+            final boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (final PreparedStatement deleteMembers = connection.prepareStatement(String.format("DELETE FROM %s WHERE bank_id = ?", this.getBankMemberTableName()));
+                 final PreparedStatement deleteBank = connection.prepareStatement(String.format("DELETE FROM %s WHERE id = ?", this.getBankTableName()));
+                 final PreparedStatement upsertBank = connection.prepareStatement(String.format("INSERT INTO %s (id, name, owner, balance, create_date, update_date) VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE name = ?, owner = ?, balance = ?, update_date = ?", this.getBankTableName()));
+                 final PreparedStatement insertMember = connection.prepareStatement(String.format("INSERT INTO %s (bank_id, uuid) VALUES (?, ?)", this.getBankMemberTableName()))) {
+                for (final String key : deletedBanks) {
+                    deleteMembers.setString(1, key);
+                    deleteMembers.addBatch();
+                    deleteBank.setString(1, key);
+                    deleteBank.addBatch();
+                }
+                final Timestamp currentTime = new Timestamp(System.currentTimeMillis());
+                for (int i = 0; i < dirtyBanks.size(); i++) {
+                    final BankAccount bank = dirtyBanks.get(i);
+                    final String key = BankIndex.getKey(bank.getName());
+                    revisions[i] = bank.getRevision();
+                    final byte[] owner = UUIDUtils.toBytes(bank.getOwner());
+                    final BigDecimal balance = new BigDecimal(bank.getBalanceRaw());
+                    upsertBank.setString(1, key);
+                    upsertBank.setString(2, bank.getName());
+                    upsertBank.setBytes(3, owner);
+                    upsertBank.setBigDecimal(4, balance);
+                    upsertBank.setTimestamp(5, currentTime);
+                    upsertBank.setTimestamp(6, currentTime);
+                    upsertBank.setString(7, bank.getName());
+                    upsertBank.setBytes(8, owner);
+                    upsertBank.setBigDecimal(9, balance);
+                    upsertBank.setTimestamp(10, currentTime);
+                    upsertBank.addBatch();
+                    // Members are replaced as a whole, so removed members are dropped.
+                    deleteMembers.setString(1, key);
+                    deleteMembers.addBatch();
+                    for (final UUID member : bank.getMembers()) {
+                        insertMember.setString(1, key);
+                        insertMember.setBytes(2, UUIDUtils.toBytes(member));
+                        insertMember.addBatch();
+                    }
+                }
+                deleteMembers.executeBatch();
+                deleteBank.executeBatch();
+                upsertBank.executeBatch();
+                insertMember.executeBatch();
+                connection.commit();
+            } catch (final SQLException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            for (int i = 0; i < dirtyBanks.size(); i++) {
+                dirtyBanks.get(i).markPersisted(revisions[i]);
+            }
+            this.plugin.getLogger()
+                    .log(Level.FINEST, "[Storage] Wrote {0} bank(s) and removed {1}.", new Object[]{dirtyBanks.size(), deletedBanks.size()});
+        } catch (final SQLException ex) {
+            this.banks.requeueDeletedBanks(deletedBanks);
+            this.plugin.getLogger()
+                    .log(Level.SEVERE, "[Storage] Failed to save bank information to the database.", ex);
+        }
+    }
+
+    /**
+     * Gets the insert-or-update query for a single account.
+     *
+     * @return The query.
+     */
+    private @NotNull String getUpsertQuery() {
+        if (this.supportsUuidFunctions) {
+            return String.format("INSERT INTO %s (uuid, balance, name, create_date, update_date) VALUES (UUID_TO_BIN(?), ?, ?, ?, ?) ON DUPLICATE KEY UPDATE balance = ?, name = ?, update_date = ?", this.getTableName());
+        }
+        return String.format("INSERT INTO %s (uuid, balance, name, create_date, update_date) VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE balance = ?, name = ?, update_date = ?", this.getTableName());
+    }
+
+    /**
+     * Binds an account to the parameters of the insert-or-update query.
+     *
+     * @param statement The prepared insert-or-update statement.
+     * @param account   The account.
+     * @throws SQLException Thrown if a parameter cannot be bound.
+     */
+    private void bindAccount(final @NotNull PreparedStatement statement, final @NotNull PlayerAccount account) throws SQLException {
+        final Date currentTime = Calendar.getInstance().getTime();
+        if (this.supportsUuidFunctions) {
+            statement.setString(1, account.getUUID().toString());
+        } else {
+            statement.setBytes(1, UUIDUtils.toBytes(account.getUUID()));
+        }
+        statement.setBigDecimal(2, new BigDecimal(account.getBalanceRaw()));
+        statement.setString(3, account.getName());
+        statement.setTimestamp(4, new Timestamp(currentTime.getTime()));
+        statement.setTimestamp(5, new Timestamp(currentTime.getTime()));
+        statement.setBigDecimal(6, new BigDecimal(account.getBalanceRaw()));
+        statement.setString(7, account.getName());
+        statement.setTimestamp(8, new Timestamp(currentTime.getTime()));
+    }
+
+    /**
+     * Detects the server version and ensures the account table exists. Only runs once, as pooled connections are
+     * reused between saves.
+     *
+     * @param connection The connection instance
+     * @throws SQLException An error occurs while checking the table layout
+     */
+    private void verifySchema(final @NotNull Connection connection) throws SQLException {
+        if (this.schemaVerified) {
+            return;
+        }
+        synchronized (this) {
+            if (!this.schemaVerified) {
+                this.detectMySQLVersion(connection);
+                this.createTable(connection);
+                if (this.supportsBanks()) {
+                    this.createBankTables(connection);
+                }
+                this.schemaVerified = true;
+            }
+        }
+    }
+
     /**
      * Creates the account table if it is not yet present.
      *
@@ -201,6 +566,19 @@ public final class MySQLAccountManager extends PlayerAccountManagerBase {
         this.plugin.getLogger().log(Level.FINEST, "[Storage] Data source integrity verified.");
     }
 
+    /**
+     * Creates the bank and bank member tables if they are not yet present.
+     *
+     * @param connection The connection instance
+     * @throws SQLException An error occurs while creating either table
+     */
+    private void createBankTables(final @NotNull Connection connection) throws SQLException {
+        try (final Statement statement = connection.createStatement()) {
+            statement.execute(String.format("CREATE TABLE IF NOT EXISTS %s (id VARCHAR(%d) NOT NULL, name VARCHAR(%d) NOT NULL, owner VARBINARY(16) NOT NULL, balance NUMERIC NOT NULL, create_date TIMESTAMP NOT NULL, update_date TIMESTAMP NOT NULL, PRIMARY KEY (id))", this.getBankTableName(), BankIndex.MAX_NAME_LENGTH, BankIndex.MAX_NAME_LENGTH));
+            statement.execute(String.format("CREATE TABLE IF NOT EXISTS %s (bank_id VARCHAR(%d) NOT NULL, uuid VARBINARY(16) NOT NULL, PRIMARY KEY (bank_id, uuid))", this.getBankMemberTableName(), BankIndex.MAX_NAME_LENGTH));
+        }
+    }
+
     /**
      * Detects the MySQL version and sets the supportsUuidFunctions flag.
      *
@@ -226,7 +604,17 @@ public final class MySQLAccountManager extends PlayerAccountManagerBase {
      * @return The name of the table.
      */
     private String getTableName() {
-        final StringBuilder tableNameBuilder = new StringBuilder("accounts");
+        return this.getPrefixedTableName(this.getStorageName("accounts"));
+    }
+
+    /**
+     * Gets the name of a table with the configured table prefix.
+     *
+     * @param name The table name, without the prefix.
+     * @return The prefixed table name.
+     */
+    private String getPrefixedTableName(final @NotNull String name) {
+        final StringBuilder tableNameBuilder = new StringBuilder(name);
         if (this.getTablePrefix() != null && !this.getTablePrefix().isEmpty()) {
             tableNameBuilder.insert(0, '_').insert(0, this.getTablePrefix());
         }
@@ -235,35 +623,20 @@ public final class MySQLAccountManager extends PlayerAccountManagerBase {
     }
 
     /**
-     * Converts a UUID to a byte array for storage in MySQL.
+     * Gets the name of the bank table.
      *
-     * @param uuid The UUID to convert.
-     * @return The byte array representation.
+     * @return The name of the bank table.
      */
-    private static byte[] uuidToBytes(final UUID uuid) {
-        final byte[] bytes = new byte[16];
-        final long mostSigBits = uuid.getMostSignificantBits();
-        final long leastSigBits = uuid.getLeastSignificantBits();
-        for (int i = 0; i < 8; i++) {
-            bytes[i] = (byte) (mostSigBits >>> (8 * (7 - i)));
-            bytes[8 + i] = (byte) (leastSigBits >>> (8 * (7 - i)));
-        }
-        return bytes;
+    private String getBankTableName() {
+        return this.getPrefixedTableName("banks");
     }
 
     /**
-     * Converts a byte array from MySQL to a UUID.
+     * Gets the name of the bank member table.
      *
-     * @param bytes The byte array to convert.
-     * @return The UUID.
+     * @return The name of the bank member table.
      */
-    private static UUID bytesToUUID(final byte[] bytes) {
-        long mostSigBits = 0;
-        long leastSigBits = 0;
-        for (int i = 0; i < 8; i++) {
-            mostSigBits = (mostSigBits << 8) | (bytes[i] & 0xff);
-            leastSigBits = (leastSigBits << 8) | (bytes[8 + i] & 0xff);
-        }
-        return new UUID(mostSigBits, leastSigBits);
+    private String getBankMemberTableName() {
+        return this.getPrefixedTableName("bank_members");
     }
 }
@@ -6,21 +6,40 @@ import dev.satyrn.xpeconomy.utils.EconomyMethod;
 import dev.satyrn.xpeconomy.utils.PlayerXPUtils;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Represents a player account. Handles all XP operations.
+ * <p>
+ * Every balance change replaces the immutable balance with a compare-and-set, so changes made at the same time on
+ * any thread, such as the economy writer, commands, and storage threads, are each applied exactly once. The balance
+ * and the amount held on it are replaced together, so a hold and a withdrawal can never both spend the same balance.
+ * <p>
+ * An account evicted from memory is marked evicted in the same state, so it can only be evicted between changes.
+ * Changes made through a reference to an evicted account are applied to the account now held for the player instead,
+ * re-adding the evicted account to its shard if no other account has been loaded since.
+ * <p>
+ * A player's
+ * experience is owned by the main thread: it is only read and written there, and follows the balance. Changes made
+ * on other threads must not update the player's experience themselves, and schedule the update on the main thread
+ * instead.
  */
 public final class PlayerAccount implements Account {
     // The configuration.
     private final @NotNull Configuration configuration;
     /**
-     * The account balance.
+     * The account balance and the amount held on it. States are immutable, so readers on any thread always see a
+     * complete and consistent pair.
      */
-    private BigInteger balance;
+    private final @NotNull AtomicReference<State> state = new AtomicReference<>(new State(null, BigInteger.ZERO, 0L, false));
     /**
      * The UUID on the account.
      */
@@ -29,6 +48,23 @@ public final class PlayerAccount implements Account {
      * The account owner's name.
      */
     private @NotNull String name = "";
+    /**
+     * The revision which was last written to storage.
+     */
+    private volatile long persistedRevision = 0L;
+    /**
+     * The time the account was last looked up, in milliseconds since the epoch.
+     */
+    private volatile long lastAccess = System.currentTimeMillis();
+    /**
+     * The shard holding the account, notified each time the account changes. Evicted accounts keep their shard, so
+     * changes made to them can find the account now held in its place.
+     */
+    private volatile @Nullable AccountShard shard;
+    /**
+     * The holds on the account which have not ended.
+     */
+    private final @NotNull Set<PlayerHold> holds = ConcurrentHashMap.newKeySet();
 
     /**
      * Creates a new account with no data.
@@ -74,7 +110,22 @@ public final class PlayerAccount implements Account {
     @Contract(value = "_ -> this", mutates = "this")
     @Override
     public @NotNull Account setName(final @NotNull String name) {
-        this.name = name;
+        final String previous = this.name;
+        if (!previous.equals(name)) {
+            this.name = name;
+            State current;
+            do {
+                current = this.state.get();
+                if (current.evicted()) {
+                    return this.resolve().setName(name);
+                }
+            } while (!this.state.compareAndSet(current, current.withRevision(current.revision() + 1)));
+            this.notifyChanged();
+            final AccountShard shard = this.shard;
+            if (shard != null) {
+                shard.nameChanged(this, previous);
+            }
+        }
         return this;
     }
 
@@ -122,7 +173,7 @@ public final class PlayerAccount implements Account {
     }
 
     public @NotNull BigInteger getBalanceRaw() {
-        return this.balance;
+        return this.readState().balance();
     }
 
     /**
@@ -134,7 +185,18 @@ public final class PlayerAccount implements Account {
      */
     @Override
     public @NotNull PlayerAccount setBalance(final @NotNull BigDecimal value, final boolean updateXPValue) {
-        return this.setBalanceRaw(this.getEconomyMethod().toRawBalance(value, this.getBalanceRaw()), updateXPValue);
+        final EconomyMethod economyMethod = this.getEconomyMethod();
+        State current;
+        BigInteger updated;
+        do {
+            current = this.state.get();
+            if (current.evicted()) {
+                return this.resolve().setBalance(value, updateXPValue);
+            }
+            updated = economyMethod.toRawBalance(value, current.balance() == null ? BigInteger.ZERO : current.balance());
+        } while (!this.state.compareAndSet(current, current.withBalance(updated)));
+        this.balanceChanged(current.balance(), updated, updateXPValue);
+        return this;
     }
 
     /**
@@ -144,16 +206,89 @@ public final class PlayerAccount implements Account {
      * @return The account instance.
      */
     public @NotNull PlayerAccount setBalanceRaw(final @NotNull BigInteger value, final boolean updateXPValue) {
-        this.balance = value;
+        State current;
+        do {
+            current = this.state.get();
+            if (current.evicted()) {
+                return this.resolve().setBalanceRaw(value, updateXPValue);
+            }
+        } while (!this.state.compareAndSet(current, current.withBalance(value)));
+        this.balanceChanged(current.balance(), value, updateXPValue);
+        return this;
+    }
+
+    /**
+     * Sets the raw balance only if it has not changed since it was read.
+     *
+     * @param expected The raw balance which was read.
+     * @param value    The new raw balance.
+     * @return {@code true} if the balance was set; {@code false} if it had changed, and was left as it is.
+     */
+    @Override
+    public boolean compareAndSetBalanceRaw(final @NotNull BigInteger expected, final @NotNull BigInteger value) {
+        State current;
+        do {
+            current = this.state.get();
+            if (current.evicted()) {
+                return this.resolve().compareAndSetBalanceRaw(expected, value);
+            }
+            if (!expected.equals(current.balance())) {
+                return false;
+            }
+            // Only a change to the held amount can fail the exchange here, so it is retried.
+        } while (!this.state.compareAndSet(current, current.withBalance(value)));
+        this.balanceChanged(expected, value, false);
+        return true;
+    }
+
+    /**
+     * Adds a raw amount to the balance, which may be negative, without updating the player's experience.
+     *
+     * @param delta The raw amount to add.
+     * @return The new raw balance.
+     */
+    @Override
+    public @NotNull BigInteger addBalanceRaw(final @NotNull BigInteger delta) {
+        State current;
+        BigInteger updated;
+        do {
+            current = this.state.get();
+            if (current.evicted()) {
+                return this.resolve().addBalanceRaw(delta);
+            }
+            updated = current.balance().add(delta);
+        } while (!this.state.compareAndSet(current, current.withBalance(updated)));
+        this.balanceChanged(current.balance(), updated, false);
+        return updated;
+    }
+
+    // Records a balance change which has been applied, and optionally updates the player's experience to match.
+    private void balanceChanged(final @Nullable BigInteger previous, final @NotNull BigInteger value, final boolean updateXPValue) {
+        if (!value.equals(previous)) {
+            this.notifyChanged();
+            final AccountShard shard = this.shard;
+            if (shard != null && previous != null) {
+                shard.balanceChanged(this, previous, value);
+            }
+        }
 
         if (updateXPValue) {
-            PlayerXPUtils.setPlayerXPTotal(this.uuid, this.balance);
+            PlayerXPUtils.setPlayerXPTotal(this.uuid, this.getBalanceRaw());
         }
-        return this;
     }
 
     /**
-     * Checks whether the account can withdraw a given amount.
+     * Gets the raw amount held on the account, which cannot be spent until the holds end.
+     *
+     * @return The total raw amount of the active holds.
+     */
+    @Override
+    public @NotNull BigInteger getHeldRaw() {
+        return this.readState().held();
+    }
+
+    /**
+     * Checks whether the account can withdraw a given amount. Amounts held on the account cannot be withdrawn.
      *
      * @param value The amount to withdraw.
      * @return Whether the account can withdraw a given amount.
@@ -162,7 +297,7 @@ public final class PlayerAccount implements Account {
     public boolean has(final @NotNull BigDecimal value) {
         final BigInteger hasBalance = this.getEconomyMethod().toRawBalance(value, BigInteger.ZERO);
 
-        return this.balance.compareTo(hasBalance) >= 0;
+        return this.readState().spendable().compareTo(hasBalance) >= 0;
     }
 
     /**
@@ -172,11 +307,35 @@ public final class PlayerAccount implements Account {
      */
     @Override
     public boolean withdraw(final @NotNull BigDecimal value) {
-        if (value.compareTo(BigDecimal.ZERO) < 0 || !this.has(value)) {
+        return this.withdraw(value, true);
+    }
+
+    /**
+     * Withdraws a given amount from the account and optionally updates the player's XP value.
+     *
+     * @param value         The amount to withdraw.
+     * @param updateXPValue If true, also updates the player's XP value to match.
+     */
+    @Override
+    public boolean withdraw(final @NotNull BigDecimal value, final boolean updateXPValue) {
+        if (value.compareTo(BigDecimal.ZERO) < 0) {
             return false;
         }
-
-        this.addBalance(value.negate(), true);
+        final EconomyMethod economyMethod = this.getEconomyMethod();
+        final BigInteger required = economyMethod.toRawBalance(value, BigInteger.ZERO);
+        State current;
+        BigInteger updated;
+        do {
+            current = this.state.get();
+            if (current.evicted()) {
+                return this.resolve().withdraw(value, updateXPValue);
+            }
+            if (current.spendable().compareTo(required) < 0) {
+                return false;
+            }
+            updated = current.balance().add(economyMethod.toRawBalance(value.negate(), current.balance()));
+        } while (!this.state.compareAndSet(current, current.withBalance(updated)));
+        this.balanceChanged(current.balance(), updated, updateXPValue);
         return true;
     }
 
@@ -187,23 +346,256 @@ public final class PlayerAccount implements Account {
      */
     @Override
     public boolean deposit(final @NotNull BigDecimal value) {
+        return this.deposit(value, true);
+    }
+
+    /**
+     * Deposits a given amount into the account and optionally updates the player's XP value.
+     *
+     * @param value         The amount to deposit.
+     * @param updateXPValue If true, also updates the player's XP value to match.
+     */
+    @Override
+    public boolean deposit(final @NotNull BigDecimal value, final boolean updateXPValue) {
         if (value.compareTo(BigDecimal.ZERO) < 0) {
             return false;
         }
-
-        this.addBalance(value, true);
+        final EconomyMethod economyMethod = this.getEconomyMethod();
+        State current;
+        BigInteger updated;
+        do {
+            current = this.state.get();
+            if (current.evicted()) {
+                return this.resolve().deposit(value, updateXPValue);
+            }
+            updated = current.balance().add(economyMethod.toRawBalance(value, current.balance()));
+        } while (!this.state.compareAndSet(current, current.withBalance(updated)));
+        this.balanceChanged(current.balance(), updated, updateXPValue);
         return true;
     }
 
     /**
-     * Adds to the total value of the account.
+     * Places a hold on part of the balance if the balance which is not already held covers it.
+     *
+     * @param amount             The raw amount to hold.
+     * @param expiresAt          The time the hold expires, in milliseconds since the epoch.
+     * @param experienceExecutor Runs the player's experience update when the hold is committed off the main thread,
+     *                           or {@code null} if the account is not mirrored by experience.
+     * @return The hold, or {@code null} if the spendable balance is too low.
+     */
+    @Nullable PlayerHold placeHold(final @NotNull BigInteger amount, final long expiresAt, final @Nullable Executor experienceExecutor) {
+        State current;
+        do {
+            current = this.state.get();
+            if (current.evicted()) {
+                return this.resolve().placeHold(amount, expiresAt, experienceExecutor);
+            }
+            if (current.spendable().compareTo(amount) < 0) {
+                return null;
+            }
+        } while (!this.state.compareAndSet(current, current.withHeld(current.held().add(amount))));
+        final PlayerHold hold = new PlayerHold(this, amount, expiresAt, experienceExecutor);
+        this.holds.add(hold);
+        return hold;
+    }
+
+    /**
+     * Withdraws a hold's amount and removes the hold. The balance and the held amount are reduced together, so the
+     * spendable balance does not change. Withdrawals cannot spend held amounts, so this only fails if the balance was
+     * set or reduced directly below the held amount.
      *
-     * @param value         The value to add
+     * @param hold          The hold.
      * @param updateXPValue If true, also updates the player's XP value to match.
+     * @return {@code true} if the amount was withdrawn; {@code false} if the balance no longer covers it.
+     */
+    boolean commitHold(final @NotNull PlayerHold hold, final boolean updateXPValue) {
+        final BigInteger amount = hold.getAmountRaw();
+        State current;
+        BigInteger updated;
+        do {
+            current = this.state.get();
+            if (current.balance().compareTo(amount) < 0) {
+                this.removeHold(hold);
+                return false;
+            }
+            updated = current.balance().subtract(amount);
+        } while (!this.state.compareAndSet(current, current.withBalance(updated).withHeld(current.held().subtract(amount))));
+        this.holds.remove(hold);
+        this.balanceChanged(current.balance(), updated, updateXPValue);
+        return true;
+    }
+
+    /**
+     * Removes a hold, returning its amount to the spendable balance.
+     *
+     * @param hold The hold.
+     */
+    void removeHold(final @NotNull PlayerHold hold) {
+        if (this.holds.remove(hold)) {
+            State current;
+            do {
+                current = this.state.get();
+            } while (!this.state.compareAndSet(current, current.withHeld(current.held().subtract(hold.getAmountRaw()))));
+        }
+    }
+
+    /**
+     * Checks whether the account has any active holds.
+     *
+     * @return {@code true} if any hold on the account has not ended; otherwise, {@code false}.
      */
-    private void addBalance(@NotNull BigDecimal value, @SuppressWarnings("SameParameterValue") boolean updateXPValue) {
-        final BigInteger addValue = this.getEconomyMethod().toRawBalance(value, this.balance);
+    boolean hasHolds() {
+        return !this.holds.isEmpty();
+    }
+
+    /**
+     * Gets the current revision of the account. Storage backends capture this before writing the account so that
+     * changes made during the write are not lost.
+     *
+     * @return The current revision.
+     */
+    long getRevision() {
+        return this.state.get().revision();
+    }
+
+    /**
+     * Checks whether the account has changed since it was last written to storage.
+     *
+     * @return {@code true} if the account has unsaved changes; otherwise, {@code false}.
+     */
+    boolean isDirty() {
+        return this.state.get().revision() != this.persistedRevision;
+    }
+
+    /**
+     * Records that the account was written to storage as of a given revision.
+     *
+     * @param revision The revision which was written.
+     */
+    void markPersisted(final long revision) {
+        this.persistedRevision = revision;
+    }
+
+    /**
+     * Gets the time the account was last looked up.
+     *
+     * @return The last access time, in milliseconds since the epoch.
+     */
+    long getLastAccess() {
+        return this.lastAccess;
+    }
+
+    /**
+     * Records that the account was looked up.
+     */
+    void touch() {
+        this.lastAccess = System.currentTimeMillis();
+    }
+
+    /**
+     * Sets the shard holding the account.
+     *
+     * @param shard The shard, or {@code null} if the account was replaced in memory by another.
+     */
+    void setShard(final @Nullable AccountShard shard) {
+        this.shard = shard;
+    }
 
-        this.setBalanceRaw(this.balance.add(addValue), updateXPValue);
+    /**
+     * Marks the account evicted if it has no unsaved changes and no holds. Changes made to the account after it is
+     * marked are applied to the account held for the player in its place. Only called by the shard holding the
+     * account, while it removes the account.
+     *
+     * @return {@code true} if the account was marked evicted; {@code false} if it cannot be evicted.
+     */
+    boolean evict() {
+        State current;
+        do {
+            current = this.state.get();
+            if (current.evicted() || current.revision() != this.persistedRevision || current.held()
+                    .signum() != 0 || !this.holds.isEmpty()) {
+                return false;
+            }
+        } while (!this.state.compareAndSet(current, current.withEvicted(true)));
+        return true;
+    }
+
+    /**
+     * Clears the evicted mark, once the account has been added to its shard again.
+     *
+     * @return {@code true} if the account was evicted; {@code false} if it was not.
+     */
+    boolean revive() {
+        State current;
+        do {
+            current = this.state.get();
+            if (!current.evicted()) {
+                return false;
+            }
+        } while (!this.state.compareAndSet(current, current.withEvicted(false)));
+        return true;
+    }
+
+    // Gets the account changes to this evicted account apply to: the account now held for the player, which is this
+    // account if no other has been loaded since.
+    private @NotNull PlayerAccount resolve() {
+        final AccountShard shard = this.shard;
+        return shard == null ? this : shard.readmit(this);
+    }
+
+    // Gets the current state, read from the account held in place of this one if it was evicted and loaded again.
+    private @NotNull State readState() {
+        final State current = this.state.get();
+        if (current.evicted()) {
+            final AccountShard shard = this.shard;
+            final PlayerAccount replacement = shard == null ? null : shard.get(this.uuid);
+            if (replacement != null && replacement != this) {
+                return replacement.readState();
+            }
+        }
+        return current;
+    }
+
+    // Tells the shard holding the account that it has unsaved changes.
+    private void notifyChanged() {
+        final AccountShard shard = this.shard;
+        if (shard != null) {
+            shard.markDirty(this);
+        }
+    }
+
+    /**
+     * An immutable account balance and the total raw amount of the holds on it, which cannot be spent.
+     *
+     * @param balance  The raw balance, or {@code null} if it has not been set.
+     * @param held     The total raw amount held.
+     * @param revision Incremented each time the balance or name changes.
+     * @param evicted  Whether the account was evicted from memory.
+     */
+    private record State(@Nullable BigInteger balance, @NotNull BigInteger held, long revision, boolean evicted) {
+        // Gets the state with a new balance, incrementing the revision if the balance changed.
+        @NotNull State withBalance(final @NotNull BigInteger balance) {
+            return new State(balance, this.held, balance.equals(this.balance) ? this.revision : this.revision + 1, this.evicted);
+        }
+
+        // Gets the state with a new held amount.
+        @NotNull State withHeld(final @NotNull BigInteger held) {
+            return new State(this.balance, held, this.revision, this.evicted);
+        }
+
+        // Gets the state with a new revision.
+        @NotNull State withRevision(final long revision) {
+            return new State(this.balance, this.held, revision, this.evicted);
+        }
+
+        // Gets the state with the evicted mark set or cleared.
+        @NotNull State withEvicted(final boolean evicted) {
+            return new State(this.balance, this.held, this.revision, evicted);
+        }
+
+        // Gets the raw balance which is not held.
+        @NotNull BigInteger spendable() {
+            return this.balance.subtract(this.held);
+        }
     }
 }
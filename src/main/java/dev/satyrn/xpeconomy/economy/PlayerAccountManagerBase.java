@@ -2,9 +2,13 @@ package dev.satyrn.xpeconomy.economy;
 
 import dev.satyrn.xpeconomy.api.economy.Account;
 import dev.satyrn.xpeconomy.api.economy.AccountManager;
+import dev.satyrn.xpeconomy.api.economy.Hold;
 import dev.satyrn.xpeconomy.configuration.Configuration;
+import dev.satyrn.xpeconomy.storage.StorageExecutor;
 import dev.satyrn.xpeconomy.utils.EconomyMethod;
+import dev.satyrn.xpeconomy.utils.PlayerNameTrie;
 import dev.satyrn.xpeconomy.utils.PlayerXPUtils;
+import dev.satyrn.xpeconomy.utils.UUIDBloomFilter;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Contract;
@@ -13,27 +17,484 @@ import org.jetbrains.annotations.Nullable;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Manages player accounts.
  */
 public abstract class PlayerAccountManagerBase implements AccountManager {
-    // The list of player accounts.
-    protected final transient List<PlayerAccount> accounts = new ArrayList<>();
+    // The minimum time an account stays cached after it is looked up, so callers holding it can finish using it.
+    private static final long MIN_EVICTION_IDLE_MILLIS = 60_000L;
+
+    // The false positive probability of the known account filter.
+    private static final double ACCOUNT_FILTER_FALSE_POSITIVE_PROBABILITY = 0.01D;
+    // The smallest number of accounts the known account filter is sized for.
+    private static final long MIN_ACCOUNT_FILTER_CAPACITY = 10_000L;
+
+    // The length of a tick of the hold expiry wheel, in milliseconds.
+    private static final long HOLD_EXPIRY_TICK_MILLIS = 1000L;
+    // The number of slots on the hold expiry wheel.
+    private static final int HOLD_EXPIRY_WHEEL_SLOTS = 256;
+
+    // Every account UUID known to storage, so lookups for players without an account can be answered immediately.
+    private transient volatile @Nullable UUIDBloomFilter accountFilter;
+
+    // Completes once account data has finished loading.
+    private final transient CompletableFuture<Void> loaded = new CompletableFuture<>();
 
     // The configuration.
     protected transient final @NotNull Configuration configuration;
 
+    // The player accounts, partitioned by player UUID hash.
+    final transient AccountShard[] shards;
+
+    // Runs asynchronous account requests and limits how many storage operations run at once.
+    private final transient @NotNull StorageExecutor storageExecutor;
+
+    // Whether the storage executor was created for this account manager, rather than shared with another.
+    private final transient boolean ownsStorageExecutor;
+
+    // The world group whose accounts are held, or null for the default accounts.
+    private final transient @Nullable String partition;
+
+    // The names of every account held in memory or indexed from storage, for completing player names.
+    private final transient @NotNull PlayerNameTrie accountNames = new PlayerNameTrie();
+
+    // The UUIDs of the stored accounts indexed while loading lazily, whether or not they are held in memory.
+    private final transient @NotNull Set<UUID> indexedAccounts = ConcurrentHashMap.newKeySet();
+
+    // The bank accounts, if the storage backend supports banks.
+    final transient @NotNull BankIndex banks;
+
+    // Expires holds which were not committed or released in time.
+    private final transient @NotNull HoldExpiryWheel holdExpiryWheel = new HoldExpiryWheel(HOLD_EXPIRY_TICK_MILLIS, HOLD_EXPIRY_WHEEL_SLOTS);
+
+    // Applies balance changes requested through the asynchronous API, or null to apply them where the account is found.
+    private transient volatile @Nullable EconomyWriter economyWriter;
+
+    // Runs player experience updates on the main thread, or null if the held accounts are not mirrored by experience.
+    private transient volatile @Nullable Executor experienceExecutor;
+
+    // Notified of each account added to memory, or null if nothing is notified.
+    private transient volatile @Nullable Consumer<Account> accountListener;
+
     /**
      * Creates a new instance of an account manager.
      *
      * @param configuration The configuration manager.
      */
     protected PlayerAccountManagerBase(final @NotNull Configuration configuration) {
+        this(configuration, null);
+    }
+
+    /**
+     * Creates a new instance of an account manager for a world group partition.
+     *
+     * @param configuration The configuration manager.
+     * @param partition     The world group whose accounts are held, or {@code null} for the default accounts.
+     */
+    protected PlayerAccountManagerBase(final @NotNull Configuration configuration, final @Nullable String partition) {
+        this(configuration, partition, null);
+    }
+
+    /**
+     * Creates a new instance of an account manager for a world group partition, which may share its storage executor
+     * with other account managers so that the storage concurrency limit applies to all of them together.
+     *
+     * @param configuration   The configuration manager.
+     * @param partition       The world group whose accounts are held, or {@code null} for the default accounts.
+     * @param storageExecutor The storage executor shared with other account managers, or {@code null} to create one.
+     *                        A shared executor is not shut down when this account manager is closed.
+     */
+    protected PlayerAccountManagerBase(final @NotNull Configuration configuration, final @Nullable String partition, final @Nullable StorageExecutor storageExecutor) {
         this.configuration = configuration;
+        this.partition = partition;
+        this.shards = new AccountShard[configuration.storageShards.value()];
+        for (int i = 0; i < this.shards.length; i++) {
+            this.shards[i] = new AccountShard(i, this.accountNames);
+        }
+        this.ownsStorageExecutor = storageExecutor == null;
+        this.storageExecutor = storageExecutor != null ? storageExecutor : new StorageExecutor(configuration.asyncThreads.value(), configuration.storageConcurrency.value());
+        this.banks = new BankIndex(configuration);
+    }
+
+    /**
+     * Gets the world group whose accounts are held.
+     *
+     * @return The world group name, or {@code null} if the default accounts are held.
+     */
+    public final @Nullable String getPartition() {
+        return this.partition;
+    }
+
+    /**
+     * Gets the name under which the held accounts are stored. World group partitions append the group name, so each
+     * partition is persisted separately from the default accounts and from each other.
+     *
+     * @param name The storage name of the default accounts, such as a file or table name.
+     * @return The storage name of the held accounts.
+     */
+    protected final @NotNull String getStorageName(final @NotNull String name) {
+        return this.partition == null ? name : name + "_" + this.partition;
+    }
+
+    /**
+     * Gets the executor which runs asynchronous account requests and blocking storage operations.
+     *
+     * @return The storage executor.
+     */
+    public final @NotNull StorageExecutor getStorageExecutor() {
+        return this.storageExecutor;
+    }
+
+    /**
+     * Adds a stored account which is not loaded into memory, so its name can be completed and its owner selected
+     * before the account is first used.
+     *
+     * @param uuid The player UUID.
+     * @param name The account owner's name, or {@code null} if the account has no name.
+     */
+    protected final void indexAccountName(final @NotNull UUID uuid, final @Nullable String name) {
+        this.indexedAccounts.add(uuid);
+        this.accountNames.add(name, uuid);
+    }
+
+    /**
+     * Gets the UUIDs of every account held in memory or indexed from storage.
+     *
+     * @return A snapshot of the account owners' UUIDs.
+     */
+    @Override
+    public @NotNull List<UUID> getAccountOwners() {
+        this.awaitLoaded();
+        final Set<UUID> owners = new LinkedHashSet<>(this.indexedAccounts);
+        for (final AccountShard shard : this.shards) {
+            for (final PlayerAccount account : shard.getAccounts()) {
+                owners.add(account.getUUID());
+            }
+        }
+        return List.copyOf(owners);
+    }
+
+    /**
+     * Finds the UUID of the account owner with a name, ignoring case.
+     *
+     * @param name The account owner's name.
+     * @return The player UUID, or {@code null} if no account held in memory or indexed from storage has the name.
+     */
+    @Override
+    public @Nullable UUID findAccountOwner(final @NotNull String name) {
+        return this.accountNames.find(name);
+    }
+
+    /**
+     * Finds the names of account owners starting with a prefix, ignoring case.
+     *
+     * @param prefix The prefix.
+     * @param limit  The largest number of names to return.
+     * @return Up to {@code limit} names in alphabetical order.
+     */
+    @Override
+    public @NotNull List<String> findAccountNames(final @NotNull String prefix, final int limit) {
+        return this.accountNames.complete(prefix, limit);
+    }
+
+    /**
+     * Sets the publisher which balance changes of accounts held in memory are reported to.
+     *
+     * @param balanceChangePublisher The publisher, or {@code null} to stop reporting balance changes.
+     */
+    public final void setBalanceChangePublisher(final @Nullable BalanceChangePublisher balanceChangePublisher) {
+        for (final AccountShard shard : this.shards) {
+            shard.setBalanceChangePublisher(balanceChangePublisher);
+        }
+    }
+
+    /**
+     * Sets the economy writer which balance changes requested through the asynchronous API are applied on.
+     *
+     * @param economyWriter The economy writer, or {@code null} to apply changes on the thread which finds the account.
+     */
+    public final void setEconomyWriter(final @Nullable EconomyWriter economyWriter) {
+        this.economyWriter = economyWriter;
+    }
+
+    /**
+     * Sets the executor which updates player experience after balance changes requested through the asynchronous
+     * API. Experience is owned by the main thread, so the executor must run tasks there.
+     *
+     * @param experienceExecutor The executor, or {@code null} if the held accounts are not mirrored by experience.
+     */
+    public final void setExperienceExecutor(final @Nullable Executor experienceExecutor) {
+        this.experienceExecutor = experienceExecutor;
+    }
+
+    /**
+     * Sets the listener notified of each account added to memory, whether it was created or loaded from storage. The
+     * listener is called on the thread which added the account.
+     *
+     * @param accountListener The listener, or {@code null} if nothing is notified.
+     */
+    public final void setAccountListener(final @Nullable Consumer<Account> accountListener) {
+        this.accountListener = accountListener;
+    }
+
+    /**
+     * Gets the bank accounts held alongside the player accounts.
+     *
+     * @return The bank index, or {@code null} if the storage backend does not support banks.
+     */
+    public final @Nullable BankIndex getBanks() {
+        return this.supportsBanks() ? this.banks : null;
+    }
+
+    /**
+     * Checks whether the storage backend can persist bank accounts.
+     *
+     * @return {@code false} by default.
+     */
+    protected boolean supportsBanks() {
+        return false;
+    }
+
+    /**
+     * Loads bank accounts from storage into the bank index. Only called if the storage backend supports banks.
+     */
+    protected void loadBanks() {
+    }
+
+    /**
+     * Writes bank accounts which changed since they were last saved, and removes deleted banks from storage. Only
+     * called if the storage backend supports banks, while the bank index lock is held.
+     */
+    protected void saveBanks() {
+    }
+
+    /**
+     * Writes the bank accounts if any of them have unsaved changes.
+     */
+    private void saveBanksIfChanged() {
+        if (!this.supportsBanks() || !this.banks.hasChanges()) {
+            return;
+        }
+        this.banks.getLock().lock();
+        try {
+            this.storageExecutor.limit(this::saveBanks);
+        } finally {
+            this.banks.getLock().unlock();
+        }
+    }
+
+    /**
+     * Loads player account data from storage on the given executor.
+     *
+     * @param executor The executor to load account data on.
+     * @return A future which completes when loading finishes, or completes exceptionally if loading fails.
+     */
+    @Override
+    public @NotNull CompletableFuture<Void> loadAsync(final @NotNull Executor executor) {
+        final CompletableFuture<Void> result = CompletableFuture.runAsync(() -> {
+            this.storageExecutor.limit(this::load);
+            if (this.supportsBanks()) {
+                this.storageExecutor.limit(this::loadBanks);
+            }
+            // Shared storage is always checked for accounts missing from memory, so it has no use for the filter.
+            if (this.accountFilter == null && !this.isStorageShared()) {
+                final UUIDBloomFilter filter = this.createAccountFilter(this.getAccountCount());
+                for (final AccountShard shard : this.shards) {
+                    shard.getAccounts().forEach(account -> filter.add(account.getUUID()));
+                }
+            }
+        }, executor);
+        result.whenComplete((ignored, ex) -> {
+            if (ex != null) {
+                this.loaded.completeExceptionally(ex);
+            } else {
+                this.loaded.complete(null);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Gets a future which completes once account data has finished loading, or completes exceptionally if loading
+     * failed.
+     *
+     * @return The load completion future.
+     */
+    @Override
+    public @NotNull CompletableFuture<Void> whenLoaded() {
+        return this.loaded.copy();
+    }
+
+    /**
+     * Checks whether loading account data failed. A manager whose data failed to load never saves or creates
+     * accounts, so the stored accounts it could not read are not overwritten.
+     *
+     * @return Whether loading failed.
+     */
+    public final boolean isLoadFailed() {
+        return this.loaded.isCompletedExceptionally();
+    }
+
+    /**
+     * Writes a single account to storage if it has changed since it was last saved. Does nothing by default, so the
+     * account is written at the next full save.
+     *
+     * @param uuid The player UUID.
+     */
+    @Override
+    public void saveAccount(final @NotNull UUID uuid) {
+    }
+
+    /**
+     * Gets an account held in memory if it has changed since it was last saved, without loading it from storage.
+     *
+     * @param uuid The player UUID.
+     * @return The account, or {@code null} if it is not in memory or has no unsaved changes.
+     */
+    protected final @Nullable PlayerAccount getDirtyAccount(final @NotNull UUID uuid) {
+        final PlayerAccount account = this.getShard(uuid).get(uuid);
+        return account != null && account.isDirty() ? account : null;
+    }
+
+    /**
+     * Gets the shard which holds the account for a player UUID.
+     *
+     * @param uuid The player UUID.
+     * @return The shard.
+     */
+    final @NotNull AccountShard getShard(final @NotNull UUID uuid) {
+        return this.shards[Math.floorMod(uuid.hashCode(), this.shards.length)];
+    }
+
+    /**
+     * Adds an account to its shard, replacing any account with the same UUID. Only for use while loading accounts
+     * from storage, before any other thread can add an account; accounts added later use
+     * {@link #addAccountIfAbsent(PlayerAccount)}.
+     *
+     * @param account The account.
+     */
+    protected final void addAccount(final @NotNull PlayerAccount account) {
+        this.getShard(account.getUUID()).put(account);
+        this.notifyAccountAdded(account);
+    }
+
+    /**
+     * Adds a created or on-demand loaded account to its shard, unless another thread has already added one for the
+     * same UUID.
+     *
+     * @param account The account.
+     * @return The account now held in memory, which is the account added by the other thread if it won.
+     */
+    private @NotNull PlayerAccount addAccountIfAbsent(final @NotNull PlayerAccount account) {
+        final PlayerAccount added = this.getShard(account.getUUID()).putIfAbsent(account);
+        if (added == account) {
+            this.notifyAccountAdded(account);
+        }
+        return added;
+    }
+
+    // Notifies the account listener, if there is one, of an account added to memory.
+    private void notifyAccountAdded(final @NotNull PlayerAccount account) {
+        final Consumer<Account> listener = this.accountListener;
+        if (listener != null) {
+            listener.accept(account);
+        }
+    }
+
+    /**
+     * Gets the number of accounts held in memory.
+     *
+     * @return The number of accounts.
+     */
+    protected final int getAccountCount() {
+        int count = 0;
+        for (final AccountShard shard : this.shards) {
+            count += shard.size();
+        }
+        return count;
+    }
+
+    /**
+     * Removes and returns every account with unsaved changes, across all shards.
+     *
+     * @return The changed accounts.
+     */
+    final @NotNull List<PlayerAccount> drainDirtyAccounts() {
+        final List<PlayerAccount> drained = new ArrayList<>();
+        for (final AccountShard shard : this.shards) {
+            drained.addAll(shard.drainDirtyAccounts());
+        }
+        return drained;
+    }
+
+    /**
+     * Marks accounts dirty again after a write failed.
+     *
+     * @param accounts The accounts which were not written.
+     */
+    final void requeueDirtyAccounts(final @NotNull Collection<PlayerAccount> accounts) {
+        for (final PlayerAccount account : accounts) {
+            this.getShard(account.getUUID()).requeue(List.of(account));
+        }
+    }
+
+    /**
+     * Writes every shard with unsaved changes, each under its own lock. With more than one shard and a storage
+     * executor which runs each task on its own thread, the shards are written in parallel and this method returns once
+     * all of them are done. On a fixed pool they are written one after another on the calling thread: the caller may
+     * itself be a pool thread, and waiting on tasks queued behind it would never finish.
+     *
+     * @param writer Writes a single shard. Shards without changes are skipped unless {@code includeClean} is set.
+     * @param includeClean Whether to also write shards without unsaved changes.
+     */
+    final void saveShards(final @NotNull Consumer<AccountShard> writer, final boolean includeClean) {
+        final List<CompletableFuture<Void>> writes = new ArrayList<>();
+        for (final AccountShard shard : this.shards) {
+            if (!includeClean && !shard.hasChanges()) {
+                continue;
+            }
+            final Runnable write = () -> {
+                shard.getLock().lock();
+                try {
+                    writer.accept(shard);
+                } finally {
+                    shard.getLock().unlock();
+                }
+            };
+            if (this.shards.length == 1 || !this.storageExecutor.isThreadPerTask()) {
+                this.storageExecutor.limit(write);
+            } else {
+                writes.add(CompletableFuture.runAsync(() -> this.storageExecutor.limit(write), this.storageExecutor));
+            }
+        }
+        CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).join();
+    }
+
+    /**
+     * Waits for running asynchronous requests to finish, then releases any storage resources held by the account
+     * manager. A storage executor shared with other account managers is left running; it is shut down by the account
+     * manager which created it, which must be closed last.
+     */
+    @Override
+    public final void close() {
+        if (this.ownsStorageExecutor) {
+            this.storageExecutor.shutdown(this.configuration.loadTimeout.value(), TimeUnit.MILLISECONDS);
+        }
+        this.closeStorage();
+    }
+
+    /**
+     * Releases any storage resources held by the account manager. Does nothing by default.
+     */
+    protected void closeStorage() {
     }
 
     /**
@@ -44,14 +505,22 @@ public abstract class PlayerAccountManagerBase implements AccountManager {
      */
     @Override
     public boolean hasAccount(final @NotNull UUID uuid) {
-        return this.getAccount(uuid) != null;
+        this.awaitLoaded();
+        if (this.isKnownAbsent(uuid)) {
+            return false;
+        }
+        if (this.isLazyLoading()) {
+            return this.getAccount(uuid) != null;
+        }
+        return this.getShard(uuid).contains(uuid);
     }
 
     /**
-     * Creates an account for a player.
+     * Creates an account for a player, waiting up to the configured load timeout if account data is still loading. If
+     * the player already has an account, it is returned instead.
      *
      * @param player The player instance.
-     * @return The new account.
+     * @return The new account, or the player's existing account.
      */
     @Contract("null -> fail")
     @Override
@@ -59,15 +528,63 @@ public abstract class PlayerAccountManagerBase implements AccountManager {
         if (player == null) {
             throw new IllegalArgumentException("Player cannot be null.");
         }
-        final PlayerAccount account = new PlayerAccount(this.configuration, player.getUniqueId());
+        this.awaitLoaded();
+        return join(this.createAccountAsync(player));
+    }
+
+    /**
+     * Creates an account for a player. Once account data has loaded, the account is created immediately on the
+     * calling thread; otherwise, it is created on the thread which finishes loading.
+     *
+     * @param player The player instance.
+     * @return A future completed with the new account.
+     */
+    @Override
+    public @NotNull CompletableFuture<Account> createAccountAsync(final @NotNull OfflinePlayer player) {
+        if (this.isLoadFailed()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Account data failed to load. New accounts cannot be created."));
+        }
+        if (this.loaded.isDone()) {
+            return CompletableFuture.completedFuture(this.newAccount(player));
+        }
+        return this.loaded.thenApply(ignored -> this.newAccount(player));
+    }
+
+    /**
+     * Creates an account for a player and adds it to its shard. If the player already has an account in memory or in
+     * storage, that account is returned instead, so a stored account is never overwritten by a new one.
+     *
+     * @param player The player instance.
+     * @return The new account, or the player's existing account.
+     */
+    private @NotNull Account newAccount(final @NotNull OfflinePlayer player) {
+        final UUID uuid = player.getUniqueId();
+        PlayerAccount existing = this.getShard(uuid).get(uuid);
+        if (existing == null && (this.isLazyLoading() || this.isStorageShared()) && !this.isKnownAbsent(uuid)) {
+            // The account may be stored without being held in memory, including one created by another server.
+            final PlayerAccount storedAccount = this.storageExecutor.limit(() -> this.loadAccount(uuid));
+            if (storedAccount != null) {
+                existing = this.addAccountIfAbsent(storedAccount);
+            }
+        }
+        if (existing != null) {
+            existing.touch();
+            return existing;
+        }
+
+        final PlayerAccount account = new PlayerAccount(this.configuration, uuid);
         if (player.getName() != null) {
             account.setName(player.getName());
         }
         final Player onlinePlayer = player.getPlayer();
-        if (onlinePlayer != null) {
+        if (this.partition != null) {
+            // World group accounts are separate ledgers which start from the starting balance.
+            account.setBalanceRaw(this.getEconomyMethod()
+                    .toRawBalance(this.getStartingBalance(), BigInteger.ZERO), false);
+        } else if (onlinePlayer != null) {
             BigInteger rawStartingBalance = this.getEconomyMethod()
                     .toRawBalance(this.getStartingBalance(), BigInteger.ZERO);
-            BigInteger playerBalance = PlayerXPUtils.getPlayerXPTotal(player.getUniqueId());
+            BigInteger playerBalance = PlayerXPUtils.getPlayerXPTotal(uuid);
             if (playerBalance.compareTo(rawStartingBalance) > 0) {
                 account.setBalanceRaw(playerBalance, false);
             } else {
@@ -75,26 +592,481 @@ public abstract class PlayerAccountManagerBase implements AccountManager {
             }
         }
 
-        this.accounts.add(account);
-        return account;
+        // A concurrent create or load may have added the player's account since it was looked up; it wins, so changes
+        // already made to it are kept.
+        final PlayerAccount added = this.addAccountIfAbsent(account);
+        final UUIDBloomFilter filter = this.accountFilter;
+        if (filter != null) {
+            filter.add(uuid);
+        }
+        if (added != account) {
+            added.touch();
+        }
+        return added;
     }
 
     /**
-     * Gets an account with a specific player UUID.
+     * Gets an account with a specific player UUID, waiting up to the configured load timeout if account data is
+     * still loading.
      *
      * @param uuid The player UUID
      * @return The account instance.
      */
     @Override
     public @Nullable Account getAccount(final @NotNull UUID uuid) {
-        for (PlayerAccount account : this.accounts) {
-            if (account.getUUID().equals(uuid)) {
-                return account;
+        this.awaitLoaded();
+        return join(this.getAccountAsync(uuid));
+    }
+
+    /**
+     * Gets an account with a specific player UUID. Accounts held in memory are returned immediately; accounts which
+     * must be read from storage are loaded on the asynchronous executor.
+     *
+     * @param uuid The player UUID.
+     * @return A future completed with the account, or with {@code null} if the player has no account.
+     */
+    @Override
+    public @NotNull CompletableFuture<@Nullable Account> getAccountAsync(final @NotNull UUID uuid) {
+        if (!this.loaded.isDone()) {
+            return this.loaded.thenApplyAsync(ignored -> this.findAccount(uuid), this.storageExecutor);
+        }
+        final PlayerAccount account = this.getShard(uuid).get(uuid);
+        if (account != null) {
+            account.touch();
+            return CompletableFuture.completedFuture(account);
+        }
+        if (!this.isLazyLoading()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.supplyAsync(() -> this.findAccount(uuid), this.storageExecutor);
+    }
+
+    /**
+     * Finds an account in memory, loading it from storage if lazy loading is enabled.
+     *
+     * @param uuid The player UUID.
+     * @return The account, or {@code null} if the player has no account.
+     */
+    private @Nullable Account findAccount(final @NotNull UUID uuid) {
+        final AccountShard shard = this.getShard(uuid);
+        PlayerAccount account = shard.get(uuid);
+        if (account == null && this.isLazyLoading()) {
+            if (this.isKnownAbsent(uuid)) {
+                return null;
+            }
+            final PlayerAccount storedAccount = this.storageExecutor.limit(() -> this.loadAccount(uuid));
+            if (storedAccount != null) {
+                account = this.addAccountIfAbsent(storedAccount);
+            }
+        }
+        if (account != null) {
+            account.touch();
+        }
+        return account;
+    }
+
+    /**
+     * Applies a change to an account once it is available. The change runs on the economy writer if there is one;
+     * otherwise, it runs on the calling thread if the account is held in memory, or on the thread which loaded the
+     * account. The change may run off the main thread, so it must not update the player's experience.
+     *
+     * @param uuid     The player UUID.
+     * @param mutation The change to apply.
+     * @param <T>      The result type of the change.
+     * @return A future completed with the result of the change.
+     */
+    @Override
+    public <T> @NotNull CompletableFuture<T> mutateAsync(final @NotNull UUID uuid, final @NotNull Function<? super Account, ? extends T> mutation) {
+        return this.getAccountAsync(uuid).thenCompose(account -> {
+            if (account == null) {
+                throw new NoSuchElementException("No account exists for player " + uuid + ".");
+            }
+            return this.applyChange(() -> mutation.apply(account));
+        });
+    }
+
+    /**
+     * Moves an amount from one account to another. The amount is returned to the source account if it cannot be
+     * deposited. Both balances are changed on the economy writer if there is one, and the players' experience is
+     * then updated on the main thread.
+     *
+     * @param source The UUID of the player to withdraw from.
+     * @param target The UUID of the player to deposit to.
+     * @param amount The amount to move.
+     * @return A future completed with {@code true} if the amount was moved; otherwise, {@code false}.
+     */
+    @Override
+    public @NotNull CompletableFuture<Boolean> transferAsync(final @NotNull UUID source, final @NotNull UUID target, final @NotNull BigDecimal amount) {
+        return this.getAccountAsync(source).thenCombine(this.getAccountAsync(target), (sourceAccount, targetAccount) -> {
+            if (sourceAccount == null || targetAccount == null) {
+                return CompletableFuture.completedFuture(false);
+            }
+            return this.applyChange(() -> transfer(sourceAccount, targetAccount, amount)).thenApply(moved -> {
+                if (moved) {
+                    this.updateExperience(List.of(sourceAccount, targetAccount));
+                }
+                return moved;
+            });
+        }).thenCompose(Function.identity());
+    }
+
+    /**
+     * Moves an amount from one account to another without updating either player's experience. If the amount cannot
+     * be deposited, it is deposited back into the source account rather than restoring the old balance, so changes
+     * made at the same time are kept.
+     *
+     * @param source The account to withdraw from.
+     * @param target The account to deposit to.
+     * @param amount The amount to move.
+     * @return {@code true} if the amount was moved; otherwise, {@code false}.
+     */
+    private static boolean transfer(final @NotNull Account source, final @NotNull Account target, final @NotNull BigDecimal amount) {
+        if (!source.withdraw(amount, false)) {
+            return false;
+        }
+        if (!target.deposit(amount, false)) {
+            source.deposit(amount, false);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Applies a balance change on the economy writer if there is one, or on the calling thread.
+     *
+     * @param change The change.
+     * @param <T>    The result type of the change.
+     * @return A future completed with the result of the change.
+     */
+    private <T> @NotNull CompletableFuture<T> applyChange(final @NotNull Supplier<T> change) {
+        final EconomyWriter economyWriter = this.economyWriter;
+        if (economyWriter != null) {
+            return economyWriter.submit(change);
+        }
+        try {
+            return CompletableFuture.completedFuture(change.get());
+        } catch (final RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * Sets the experience of the online owners of changed accounts to their latest balance, on the main thread.
+     *
+     * @param accounts The changed accounts.
+     */
+    private void updateExperience(final @NotNull Collection<? extends Account> accounts) {
+        final Executor experienceExecutor = this.experienceExecutor;
+        if (experienceExecutor == null) {
+            return;
+        }
+        experienceExecutor.execute(() -> {
+            for (final Account account : accounts) {
+                PlayerXPUtils.setPlayerXPTotal(account.getUUID(), account.getBalanceRaw());
+            }
+        });
+    }
+
+    /**
+     * Applies balance changes to many accounts in one call. The accounts are looked up on the calling thread in a
+     * single pass over the shards; accounts which must be read from storage are loaded in parallel on the storage
+     * executor. Each account is then changed once, with its combined delta, without updating the player's experience.
+     * Only the changes run on the economy writer if there is one, so the writer never waits for storage. Each change
+     * is a compare-and-set, so changes made to the same account at the same time are kept.
+     *
+     * @param deltas The amount to add to each player's balance. Negative amounts are withdrawn.
+     * @return The accounts which were changed, by player UUID.
+     */
+    @Override
+    public @NotNull Map<UUID, Account> applyBatch(final @NotNull Collection<? extends Map.Entry<UUID, BigDecimal>> deltas) {
+        this.awaitLoaded();
+        final Map<UUID, BigDecimal> combined = new LinkedHashMap<>();
+        for (final Map.Entry<UUID, BigDecimal> delta : deltas) {
+            combined.merge(delta.getKey(), delta.getValue(), BigDecimal::add);
+        }
+
+        final Map<UUID, PlayerAccount> accounts = new HashMap<>(combined.size());
+        final Map<UUID, CompletableFuture<Account>> pendingLoads = new HashMap<>();
+        for (final UUID uuid : combined.keySet()) {
+            final PlayerAccount account = this.getShard(uuid).get(uuid);
+            if (account != null) {
+                account.touch();
+                accounts.put(uuid, account);
+            } else if (this.isLazyLoading()) {
+                pendingLoads.put(uuid, CompletableFuture.supplyAsync(() -> this.findAccount(uuid), this.storageExecutor));
+            }
+        }
+        for (final Map.Entry<UUID, CompletableFuture<Account>> pendingLoad : pendingLoads.entrySet()) {
+            final Account account = join(pendingLoad.getValue());
+            if (account != null) {
+                accounts.put(pendingLoad.getKey(), (PlayerAccount) account);
             }
         }
+
+        return join(this.applyChange(() -> {
+            final EconomyMethod economyMethod = this.getEconomyMethod();
+            final Map<UUID, Account> applied = new LinkedHashMap<>();
+            for (final Map.Entry<UUID, BigDecimal> delta : combined.entrySet()) {
+                final PlayerAccount account = accounts.get(delta.getKey());
+                if (account != null && addIfCovered(account, delta.getValue(), economyMethod)) {
+                    applied.put(delta.getKey(), account);
+                }
+            }
+            return applied;
+        }));
+    }
+
+    /**
+     * Adds an amount to an account's balance unless the new balance would be lower than the amount held on it.
+     *
+     * @param account       The account.
+     * @param delta         The amount to add. Negative amounts are withdrawn.
+     * @param economyMethod The economy method the amount is converted with.
+     * @return {@code true} if the balance was changed; otherwise, {@code false}.
+     */
+    private static boolean addIfCovered(final @NotNull PlayerAccount account, final @NotNull BigDecimal delta, final @NotNull EconomyMethod economyMethod) {
+        BigInteger balance;
+        BigInteger updated;
+        do {
+            balance = account.getBalanceRaw();
+            updated = balance.add(economyMethod.toRawBalance(delta, balance));
+            if (updated.compareTo(account.getHeldRaw()) < 0) {
+                return false;
+            }
+        } while (!account.compareAndSetBalanceRaw(balance, updated));
+        return true;
+    }
+
+    /**
+     * Places a hold on part of an account's balance. The hold is scheduled on the expiry wheel, which ends it once
+     * its duration has passed unless it was committed or released first.
+     *
+     * @param uuid     The player UUID.
+     * @param amount   The amount to hold.
+     * @param duration How long the hold lasts if it is not committed or released.
+     * @return The hold, or {@code null} if the player has no account or the spendable balance does not cover it.
+     */
+    @Override
+    public @Nullable Hold placeHold(final @NotNull UUID uuid, final @NotNull BigDecimal amount, final @NotNull Duration duration) {
+        if (amount.signum() < 0 || duration.isNegative()) {
+            return null;
+        }
+        final PlayerAccount account = (PlayerAccount) this.getAccount(uuid);
+        if (account == null) {
+            return null;
+        }
+        final BigInteger rawAmount = this.getEconomyMethod().toRawBalance(amount, BigInteger.ZERO);
+        final PlayerHold hold = account.placeHold(rawAmount, System.currentTimeMillis() + duration.toMillis(), this.experienceExecutor);
+        if (hold != null) {
+            this.holdExpiryWheel.schedule(hold);
+        }
+        return hold;
+    }
+
+    /**
+     * Ends every hold whose duration has passed.
+     *
+     * @return The number of holds which expired.
+     */
+    public int expireHolds() {
+        return this.holdExpiryWheel.advance(System.currentTimeMillis());
+    }
+
+    /**
+     * Saves player account data, and any bank accounts with unsaved changes, to storage on the storage executor.
+     * Does nothing if account data failed to load.
+     *
+     * @return A future completed once the save finishes.
+     */
+    @Override
+    public @NotNull CompletableFuture<Void> flushAsync() {
+        if (this.isLoadFailed()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> {
+            this.save();
+            this.saveBanksIfChanged();
+        }, this.storageExecutor);
+    }
+
+    /**
+     * Writes a single account to storage on the storage executor if it has changed since it was last saved. Does
+     * nothing if account data failed to load.
+     *
+     * @param uuid The player UUID.
+     * @return A future completed once the write finishes.
+     */
+    @Override
+    public @NotNull CompletableFuture<Void> saveAccountAsync(final @NotNull UUID uuid) {
+        if (this.isLoadFailed()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> this.storageExecutor.limit(() -> this.saveAccount(uuid)), this.storageExecutor);
+    }
+
+    /**
+     * Checks whether an account is held in memory, without loading it from storage.
+     *
+     * @param uuid The player UUID.
+     * @return Whether the account is in memory.
+     */
+    @Override
+    public boolean isAccountLoaded(final @NotNull UUID uuid) {
+        return this.getShard(uuid).contains(uuid);
+    }
+
+    /**
+     * Creates the filter of known account UUIDs, sized with headroom for new accounts. Backends which load accounts
+     * on demand call this while loading and add every stored UUID to it; otherwise, it is built from the loaded
+     * accounts once loading finishes.
+     *
+     * @param storedAccounts The number of accounts in storage.
+     * @return The new filter.
+     */
+    protected final @NotNull UUIDBloomFilter createAccountFilter(final long storedAccounts) {
+        final UUIDBloomFilter filter = new UUIDBloomFilter(Math.max(storedAccounts * 2, MIN_ACCOUNT_FILTER_CAPACITY), ACCOUNT_FILTER_FALSE_POSITIVE_PROBABILITY);
+        this.accountFilter = filter;
+        return filter;
+    }
+
+    /**
+     * Checks whether accounts are loaded from storage on demand rather than all at once.
+     *
+     * @return {@code true} if the account cache is enabled and the storage backend supports it.
+     */
+    public boolean isLazyLoading() {
+        return this.configuration.accountCache.enabled.value() && this.supportsLazyLoading();
+    }
+
+    /**
+     * Checks whether the storage backend can load a single account by UUID. Backends which return {@code true}
+     * skip loading every account at startup while lazy loading is enabled.
+     *
+     * @return {@code false} by default.
+     */
+    protected boolean supportsLazyLoading() {
+        return false;
+    }
+
+    /**
+     * Loads a single account from storage. Called when lazy loading is enabled, and before creating an account in
+     * shared storage.
+     *
+     * @param uuid The player UUID.
+     * @return The stored account, or {@code null} if the player has no stored account.
+     */
+    protected @Nullable PlayerAccount loadAccount(final @NotNull UUID uuid) {
         return null;
     }
 
+    /**
+     * Checks whether other servers may write to the same storage, so accounts may be stored which this account
+     * manager has neither loaded nor indexed. The known account filter is then neither built nor consulted. Returns
+     * {@code false} by default.
+     *
+     * @return {@code true} if the storage is shared with other servers; otherwise, {@code false}.
+     */
+    protected boolean isStorageShared() {
+        return false;
+    }
+
+    /**
+     * Checks whether the known account filter rules out a stored account for a UUID. The filter of shared storage
+     * misses accounts created by other servers since it was built, so it rules nothing out.
+     *
+     * @param uuid The player UUID.
+     * @return {@code true} if the player certainly has no stored account; otherwise, {@code false}.
+     */
+    private boolean isKnownAbsent(final @NotNull UUID uuid) {
+        if (this.isStorageShared()) {
+            return false;
+        }
+        final UUIDBloomFilter filter = this.accountFilter;
+        return filter != null && !filter.mightContain(uuid);
+    }
+
+    /**
+     * Removes offline accounts from memory once they have been saved. Accounts idle longer than the configured idle
+     * timeout are always removed; after that, the least recently used accounts are removed until the cache is no
+     * larger than its configured maximum size. Does nothing unless lazy loading is enabled.
+     *
+     * @param isOnline Checks whether the player with a given UUID is online.
+     * @return The number of accounts removed.
+     */
+    public int evictIdleAccounts(final @NotNull Predicate<UUID> isOnline) {
+        if (!this.isLazyLoading()) {
+            return 0;
+        }
+        final long now = System.currentTimeMillis();
+        final long idleCutoff = now - this.configuration.accountCache.idleTimeout.value() * 1000L;
+        final long recentCutoff = now - MIN_EVICTION_IDLE_MILLIS;
+
+        final List<PlayerAccount> candidates = new ArrayList<>();
+        for (final AccountShard shard : this.shards) {
+            for (final PlayerAccount account : shard.getAccounts()) {
+                // Accounts with holds stay in memory, as holds are not persisted.
+                if (account.getLastAccess() < recentCutoff && !account.isDirty() && !account.hasHolds() && !isOnline.test(account.getUUID())) {
+                    candidates.add(account);
+                }
+            }
+        }
+        candidates.sort(Comparator.comparingLong(PlayerAccount::getLastAccess));
+
+        final int excess = this.getAccountCount() - this.configuration.accountCache.maxSize.value();
+        int evicted = 0;
+        for (final PlayerAccount account : candidates) {
+            if (evicted >= excess && account.getLastAccess() >= idleCutoff) {
+                break;
+            }
+            // Accounts changed or held after they were selected are kept until they have been saved and their holds have
+            // ended.
+            if (this.getShard(account.getUUID()).evict(account)) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Waits for account data to finish loading, up to the configured load timeout. Returns immediately once
+     * loading has finished.
+     *
+     * @throws IllegalStateException Thrown if account data failed to load, or is still loading after the timeout.
+     */
+    protected final void awaitLoaded() {
+        if (this.loaded.isDone() && !this.isLoadFailed()) {
+            return;
+        }
+        try {
+            this.loaded.get(this.configuration.loadTimeout.value(), TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for account data to load.", ex);
+        } catch (final ExecutionException ex) {
+            throw new IllegalStateException("Account data failed to load.", ex.getCause());
+        } catch (final TimeoutException ex) {
+            throw new IllegalStateException("Account data is still loading.", ex);
+        }
+    }
+
+    /**
+     * Waits for a future to complete, rethrowing the exception it completed with.
+     *
+     * @param future The future.
+     * @param <T>    The result type.
+     * @return The result.
+     */
+    private static <T> T join(final @NotNull CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException ex) {
+            if (ex.getCause() instanceof final RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
     /**
      * Gets the current economy method
      *
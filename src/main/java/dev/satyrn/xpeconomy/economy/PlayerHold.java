@@ -0,0 +1,159 @@
+package dev.satyrn.xpeconomy.economy;
+
+import dev.satyrn.xpeconomy.api.economy.Hold;
+import dev.satyrn.xpeconomy.utils.PlayerXPUtils;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A hold on part of a player account's balance. Each hold ends exactly once, whichever of commit, release, and expiry
+ * happens first.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.2
+ */
+final class PlayerHold implements Hold {
+    // The hold has not ended.
+    private static final int ACTIVE = 0;
+    // The held amount was withdrawn.
+    private static final int COMMITTED = 1;
+    // The hold was released or could not be committed.
+    private static final int RELEASED = 2;
+    // The hold expired.
+    private static final int EXPIRED = 3;
+
+    // The account the hold is on.
+    private final @NotNull PlayerAccount account;
+    // The raw amount held.
+    private final @NotNull BigInteger amount;
+    // The time the hold expires, in milliseconds since the epoch.
+    private final long expiresAt;
+    // Runs experience updates on the main thread, or null if the account is not mirrored by experience.
+    private final @Nullable Executor experienceExecutor;
+    // The state of the hold.
+    private final @NotNull AtomicInteger state = new AtomicInteger(ACTIVE);
+
+    /**
+     * Creates a new hold. The amount must already be counted in the account's held balance.
+     *
+     * @param account            The account the hold is on.
+     * @param amount             The raw amount held.
+     * @param expiresAt          The time the hold expires, in milliseconds since the epoch.
+     * @param experienceExecutor Runs experience updates on the main thread, or {@code null} if the account is not
+     *                           mirrored by experience.
+     */
+    PlayerHold(final @NotNull PlayerAccount account, final @NotNull BigInteger amount, final long expiresAt, final @Nullable Executor experienceExecutor) {
+        this.account = account;
+        this.amount = amount;
+        this.expiresAt = expiresAt;
+        this.experienceExecutor = experienceExecutor;
+    }
+
+    /**
+     * Gets the UUID of the player whose account the hold is on.
+     *
+     * @return The player UUID.
+     */
+    @Override
+    public @NotNull UUID getUUID() {
+        return this.account.getUUID();
+    }
+
+    /**
+     * Gets the raw experience point amount held.
+     *
+     * @return The raw amount.
+     */
+    @Override
+    public @NotNull BigInteger getAmountRaw() {
+        return this.amount;
+    }
+
+    /**
+     * Gets the time the hold expires if it has not been committed or released.
+     *
+     * @return The expiry time, in milliseconds since the epoch.
+     */
+    @Override
+    public long getExpiresAt() {
+        return this.expiresAt;
+    }
+
+    /**
+     * Checks whether the hold is still active.
+     *
+     * @return {@code true} if the hold has not ended; otherwise, {@code false}.
+     */
+    @Override
+    public boolean isActive() {
+        return this.state.get() == ACTIVE;
+    }
+
+    /**
+     * Withdraws the held amount from the account and ends the hold, updating the player's XP value.
+     *
+     * @return {@code true} if the amount was withdrawn; otherwise, {@code false}.
+     */
+    @Override
+    public boolean commit() {
+        return this.commit(true);
+    }
+
+    /**
+     * Withdraws the held amount from the account and ends the hold, optionally updating the player's XP value.
+     * Experience is owned by the main thread, so holds committed on other threads schedule the update there.
+     *
+     * @param updateXPValue If true, also updates the player's XP to match.
+     * @return {@code true} if the amount was withdrawn; otherwise, {@code false}.
+     */
+    @Override
+    public boolean commit(final boolean updateXPValue) {
+        if (!this.state.compareAndSet(ACTIVE, COMMITTED)) {
+            return false;
+        }
+        final Executor experienceExecutor = updateXPValue ? this.experienceExecutor : null;
+        final boolean onMainThread = Bukkit.isPrimaryThread();
+        if (!this.account.commitHold(this, experienceExecutor != null && onMainThread)) {
+            // The balance was set below the held amount directly, so the hold is released instead.
+            this.state.set(RELEASED);
+            return false;
+        }
+        if (experienceExecutor != null && !onMainThread) {
+            experienceExecutor.execute(() -> PlayerXPUtils.setPlayerXPTotal(this.getUUID(), this.account.getBalanceRaw()));
+        }
+        return true;
+    }
+
+    /**
+     * Ends the hold without withdrawing its amount.
+     *
+     * @return {@code true} if the hold was released; otherwise, {@code false}.
+     */
+    @Override
+    public boolean release() {
+        if (!this.state.compareAndSet(ACTIVE, RELEASED)) {
+            return false;
+        }
+        this.account.removeHold(this);
+        return true;
+    }
+
+    /**
+     * Ends the hold if it is still active, without withdrawing its amount.
+     *
+     * @return {@code true} if the hold expired; {@code false} if it had already ended.
+     */
+    boolean expire() {
+        if (!this.state.compareAndSet(ACTIVE, EXPIRED)) {
+            return false;
+        }
+        this.account.removeHold(this);
+        return true;
+    }
+}
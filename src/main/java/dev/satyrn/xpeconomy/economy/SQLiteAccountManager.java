@@ -0,0 +1,337 @@
+package dev.satyrn.xpeconomy.economy;
+
+import dev.satyrn.xpeconomy.configuration.Configuration;
+import dev.satyrn.xpeconomy.storage.StorageExecutor;
+import dev.satyrn.xpeconomy.utils.UUIDBloomFilter;
+import dev.satyrn.xpeconomy.utils.UUIDUtils;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.sql.*;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * An account manager with an embedded SQLite backend.
+ * <p>
+ * The database runs in write-ahead logging mode. Only accounts which changed since the last save are written, one row
+ * each, through statements which are prepared once and reused for the lifetime of the connection.
+ */
+public final class SQLiteAccountManager extends PlayerAccountManagerBase {
+    /**
+     * The base name of the database file.
+     */
+    private static final String DATABASE_FILE = "accounts";
+    /**
+     * The plugin instance.
+     */
+    private final transient Plugin plugin;
+    /**
+     * The open database connection.
+     */
+    private transient @Nullable Connection connection;
+    /**
+     * The reusable insert-or-update statement.
+     */
+    private transient @Nullable PreparedStatement upsertStatement;
+    /**
+     * The reusable single account select statement.
+     */
+    private transient @Nullable PreparedStatement selectStatement;
+
+    /**
+     * Creates a new account manager with an SQLite backend.
+     *
+     * @param configuration The configuration instance.
+     * @param plugin        The plugin instance.
+     */
+    public SQLiteAccountManager(final Configuration configuration, final Plugin plugin) {
+        this(configuration, plugin, null, null);
+    }
+
+    /**
+     * Creates a new account manager with an SQLite backend for a world group partition.
+     *
+     * @param configuration The configuration instance.
+     * @param plugin        The plugin instance.
+     * @param partition       The world group whose accounts are held, or {@code null} for the default accounts.
+     * @param storageExecutor The storage executor shared with other account managers, or {@code null} to create one.
+     */
+    public SQLiteAccountManager(final Configuration configuration, final Plugin plugin, final @Nullable String partition, final @Nullable StorageExecutor storageExecutor) {
+        super(configuration, partition, storageExecutor);
+        this.plugin = plugin;
+    }
+
+    /**
+     * Loads account details from the database.
+     *
+     * @throws IllegalStateException Thrown if the accounts cannot be read from the database.
+     */
+    @Override
+    public void load() {
+        this.plugin.getLogger().log(Level.FINER, "[Storage] Loading accounts from SQLite data source...");
+        try {
+            final Connection connection = this.getConnection();
+            if (this.isLazyLoading()) {
+                this.plugin.getLogger().log(Level.FINE, "[Storage] Accounts will be loaded from the SQLite database on demand.");
+                try (final Statement statement = connection.createStatement()) {
+                    final long count;
+                    try (final ResultSet results = statement.executeQuery("SELECT COUNT(*) FROM accounts")) {
+                        count = results.next() ? results.getLong(1) : 0L;
+                    }
+                    final UUIDBloomFilter filter = this.createAccountFilter(count);
+                    try (final ResultSet results = statement.executeQuery("SELECT uuid, name FROM accounts")) {
+                        while (results.next()) {
+                            final UUID uuid = UUIDUtils.fromBytes(results.getBytes(1));
+                            filter.add(uuid);
+                            this.indexAccountName(uuid, results.getString(2));
+                        }
+                    }
+                }
+                return;
+            }
+            try (final Statement statement = connection.createStatement();
+                 final ResultSet results = statement.executeQuery("SELECT uuid, balance, name FROM accounts")) {
+                while (results.next()) {
+                    final UUID uuid = UUIDUtils.fromBytes(results.getBytes("uuid"));
+                    final PlayerAccount account = new PlayerAccount(this.configuration, uuid)
+                            .setBalanceRaw(readBalance(results.getObject("balance")), false);
+                    final String name = results.getString("name");
+                    if (name != null) {
+                        account.setName(name);
+                    }
+                    account.markPersisted(account.getRevision());
+                    this.addAccount(account);
+                }
+            }
+        } catch (final SQLException ex) {
+            throw new IllegalStateException("Failed to load account information from the SQLite database.", ex);
+        }
+    }
+
+    /**
+     * Loads a single account from the database.
+     *
+     * @param uuid The player UUID.
+     * @return The stored account, or {@code null} if the player has no stored account.
+     * @throws IllegalStateException Thrown if the database cannot be read, so a missing account is never assumed.
+     */
+    @Override
+    protected synchronized @Nullable PlayerAccount loadAccount(final @NotNull UUID uuid) {
+        try {
+            if (this.selectStatement == null) {
+                this.selectStatement = this.getConnection()
+                        .prepareStatement("SELECT balance, name FROM accounts WHERE uuid = ?");
+            }
+            this.selectStatement.setBytes(1, UUIDUtils.toBytes(uuid));
+            try (final ResultSet results = this.selectStatement.executeQuery()) {
+                if (!results.next()) {
+                    return null;
+                }
+                final PlayerAccount account = new PlayerAccount(this.configuration, uuid)
+                        .setBalanceRaw(readBalance(results.getObject("balance")), false);
+                final String name = results.getString("name");
+                if (name != null) {
+                    account.setName(name);
+                }
+                account.markPersisted(account.getRevision());
+                return account;
+            }
+        } catch (final SQLException ex) {
+            throw new IllegalStateException("Failed to load an account from the SQLite database.", ex);
+        }
+    }
+
+    /**
+     * Checks whether the storage backend can load a single account by UUID.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    protected boolean supportsLazyLoading() {
+        return true;
+    }
+
+    /**
+     * Writes every account which has changed since the last save in a single transaction.
+     */
+    @Override
+    public synchronized void save() {
+        final List<PlayerAccount> dirtyAccounts = this.drainDirtyAccounts();
+        if (dirtyAccounts.isEmpty()) {
+            this.plugin.getLogger().log(Level.FINEST, "[Storage] No account changes to write to the SQLite database.");
+            return;
+        }
+
+        this.plugin.getLogger()
+                .log(Level.FINER, "[Storage] Writing {0} changed account(s) to the SQLite database.", dirtyAccounts.size());
+        try {
+            final Connection connection = this.getConnection();
+            final PreparedStatement statement = this.getUpsertStatement();
+            final long[] revisions = new long[dirtyAccounts.size()];
+            connection.setAutoCommit(false);
+            try {
+                final long currentTime = System.currentTimeMillis();
+                for (int i = 0; i < dirtyAccounts.size(); i++) {
+                    final PlayerAccount account = dirtyAccounts.get(i);
+                    revisions[i] = account.getRevision();
+                    statement.setBytes(1, UUIDUtils.toBytes(account.getUUID()));
+                    writeBalance(statement, 2, account.getBalanceRaw());
+                    statement.setString(3, account.getName());
+                    statement.setLong(4, currentTime);
+                    statement.setLong(5, currentTime);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connection.commit();
+            } catch (final SQLException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            for (int i = 0; i < dirtyAccounts.size(); i++) {
+                dirtyAccounts.get(i).markPersisted(revisions[i]);
+            }
+        } catch (final SQLException ex) {
+            this.requeueDirtyAccounts(dirtyAccounts);
+            this.plugin.getLogger()
+                    .log(Level.SEVERE, "[Storage] Failed to save account information to the SQLite database.", ex);
+        }
+    }
+
+    /**
+     * Writes a single account to the database if it has changed since it was last saved.
+     *
+     * @param uuid The player UUID.
+     */
+    @Override
+    public synchronized void saveAccount(final @NotNull UUID uuid) {
+        final PlayerAccount account = this.getDirtyAccount(uuid);
+        if (account == null) {
+            return;
+        }
+        this.plugin.getLogger().log(Level.FINER, "[Storage] Saving account {0} to the SQLite database.", uuid);
+        try {
+            final PreparedStatement statement = this.getUpsertStatement();
+            final long revision = account.getRevision();
+            final long currentTime = System.currentTimeMillis();
+            statement.setBytes(1, UUIDUtils.toBytes(account.getUUID()));
+            writeBalance(statement, 2, account.getBalanceRaw());
+            statement.setString(3, account.getName());
+            statement.setLong(4, currentTime);
+            statement.setLong(5, currentTime);
+            statement.executeUpdate();
+            account.markPersisted(revision);
+        } catch (final SQLException ex) {
+            this.plugin.getLogger()
+                    .log(Level.SEVERE, "[Storage] Failed to save account information to the SQLite database.", ex);
+        }
+    }
+
+    /**
+     * Closes the database connection, which checkpoints the write-ahead log into the database file.
+     */
+    @Override
+    protected synchronized void closeStorage() {
+        try {
+            if (this.upsertStatement != null) {
+                this.upsertStatement.close();
+            }
+            if (this.selectStatement != null) {
+                this.selectStatement.close();
+            }
+            if (this.connection != null) {
+                this.connection.close();
+            }
+        } catch (final SQLException ex) {
+            this.plugin.getLogger().log(Level.WARNING, "[Storage] Failed to close the SQLite database cleanly.", ex);
+        } finally {
+            this.upsertStatement = null;
+            this.selectStatement = null;
+            this.connection = null;
+        }
+    }
+
+    /**
+     * Gets the open connection, opening the database and creating the account table if needed.
+     *
+     * @return The database connection.
+     * @throws SQLException Thrown if the database cannot be opened.
+     */
+    private synchronized @NotNull Connection getConnection() throws SQLException {
+        if (this.connection != null && !this.connection.isClosed()) {
+            return this.connection;
+        }
+        try {
+            Class.forName("org.sqlite.JDBC");
+        } catch (final ClassNotFoundException ex) {
+            throw new SQLException("The SQLite JDBC driver is not available on this server.", ex);
+        }
+        final File databaseFile = new File(this.plugin.getDataFolder(), this.getStorageName(DATABASE_FILE) + ".db");
+        final Connection connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getPath());
+        try (final Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode=WAL");
+            statement.execute("PRAGMA synchronous=NORMAL");
+            statement.execute("PRAGMA busy_timeout=5000");
+            statement.execute("CREATE TABLE IF NOT EXISTS accounts (uuid BLOB NOT NULL PRIMARY KEY, balance NOT NULL, name TEXT, create_date INTEGER NOT NULL, update_date INTEGER NOT NULL) WITHOUT ROWID");
+        }
+        this.plugin.getLogger().log(Level.FINE, "[Storage] Opened SQLite database {0}.", databaseFile.getPath());
+        this.connection = connection;
+        this.upsertStatement = null;
+        this.selectStatement = null;
+        return connection;
+    }
+
+    /**
+     * Gets the reusable insert-or-update statement, preparing it on first use.
+     *
+     * @return The prepared statement.
+     * @throws SQLException Thrown if the statement cannot be prepared.
+     */
+    private @NotNull PreparedStatement getUpsertStatement() throws SQLException {
+        if (this.upsertStatement == null) {
+            this.upsertStatement = this.getConnection()
+                    .prepareStatement("INSERT INTO accounts (uuid, balance, name, create_date, update_date) VALUES (?, ?, ?, ?, ?) ON CONFLICT(uuid) DO UPDATE SET balance = excluded.balance, name = excluded.name, update_date = excluded.update_date");
+        }
+        return this.upsertStatement;
+    }
+
+    /**
+     * Binds a balance as a native 64-bit integer. Balances too large for a long are stored as text so no precision
+     * is lost. The balance column is declared without a type, so SQLite keeps whichever storage class was bound
+     * instead of converting oversized integers to floating point.
+     *
+     * @param statement The statement.
+     * @param index     The parameter index.
+     * @param balance   The raw balance.
+     * @throws SQLException Thrown if the parameter cannot be bound.
+     */
+    private static void writeBalance(final @NotNull PreparedStatement statement, final int index, final @NotNull BigInteger balance) throws SQLException {
+        if (balance.bitLength() < Long.SIZE) {
+            statement.setLong(index, balance.longValue());
+        } else {
+            statement.setString(index, balance.toString());
+        }
+    }
+
+    /**
+     * Reads a balance column value written by {@link #writeBalance(PreparedStatement, int, BigInteger)}.
+     *
+     * @param value The column value.
+     * @return The raw balance.
+     */
+    private static @NotNull BigInteger readBalance(final @Nullable Object value) {
+        if (value instanceof final Long longValue) {
+            return BigInteger.valueOf(longValue);
+        }
+        if (value instanceof final Integer intValue) {
+            return BigInteger.valueOf(intValue);
+        }
+        return value == null ? BigInteger.ZERO : new BigInteger(value.toString());
+    }
+}
@@ -0,0 +1,138 @@
+package dev.satyrn.xpeconomy.economy;
+
+import dev.satyrn.xpeconomy.api.economy.AccountManager;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Holds the account partitions of world groups, and resolves which partition each world's economy uses.
+ * <p>
+ * Each world group has its own account manager, with its own account index and its own storage. Worlds which do not
+ * belong to a group use the default accounts. Resolved worlds are cached, so a lookup never searches the groups more
+ * than once per world and never searches another partition's accounts.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.2
+ */
+public final class WorldGroupPartitions {
+    // Valid world group names. Group names become part of file and table names.
+    private static final Pattern GROUP_NAME_PATTERN = Pattern.compile("[a-z0-9_]{1,32}");
+    // Dimension suffixes whose worlds share their overworld's group unless they are listed themselves.
+    private static final String[] DIMENSION_SUFFIXES = {"_nether", "_the_end"};
+
+    // The default accounts, used by worlds outside every group.
+    private final transient @NotNull AccountManager defaultAccounts;
+    // The account manager of each world group.
+    private final transient @NotNull Map<String, PlayerAccountManagerBase> partitions;
+    // The group of each configured world, keyed by lower case world name.
+    private transient volatile @NotNull Map<String, String> worldGroups;
+    // The account manager resolved for each world name.
+    private final transient @NotNull Map<String, AccountManager> resolvedWorlds = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new set of world group partitions.
+     *
+     * @param defaultAccounts The default accounts, used by worlds outside every group.
+     * @param partitions      The account manager of each world group.
+     * @param worldGroups     The group of each configured world.
+     */
+    public WorldGroupPartitions(final @NotNull AccountManager defaultAccounts, final @NotNull Map<String, PlayerAccountManagerBase> partitions, final @NotNull Map<String, String> worldGroups) {
+        this.defaultAccounts = defaultAccounts;
+        this.partitions = Collections.unmodifiableMap(new LinkedHashMap<>(partitions));
+        this.worldGroups = Map.copyOf(worldGroups);
+    }
+
+    /**
+     * Reads the configured world groups.
+     *
+     * @param section The world groups configuration section, with one list of world names per group.
+     * @param logger  The logger to report invalid entries to.
+     * @return The group of each configured world, keyed by lower case world name.
+     */
+    public static @NotNull Map<String, String> readWorldGroups(final @Nullable ConfigurationSection section, final @NotNull Logger logger) {
+        final Map<String, String> worldGroups = new HashMap<>();
+        if (section == null) {
+            return worldGroups;
+        }
+        for (final String group : section.getKeys(false)) {
+            if (!isValidGroupName(group)) {
+                logger.log(Level.WARNING, "[Economy] Ignoring world group \"{0}\". Group names may only contain lower case letters, digits, and underscores.", group);
+                continue;
+            }
+            for (final String world : section.getStringList(group)) {
+                final String previous = worldGroups.putIfAbsent(world.toLowerCase(Locale.ROOT), group);
+                if (previous != null && !previous.equals(group)) {
+                    logger.log(Level.WARNING, "[Economy] World \"{0}\" is listed in more than one world group. It will use \"{1}\".", new Object[]{world, previous});
+                }
+            }
+        }
+        return worldGroups;
+    }
+
+    /**
+     * Checks whether a world group name may be used as part of a file or table name.
+     *
+     * @param group The world group name.
+     * @return Whether the name is valid.
+     */
+    public static boolean isValidGroupName(final @NotNull String group) {
+        return GROUP_NAME_PATTERN.matcher(group).matches();
+    }
+
+    /**
+     * Gets the account manager whose accounts a world's economy uses.
+     *
+     * @param worldName The world name, or {@code null} for the default accounts.
+     * @return The world group's account manager, or the default account manager if the world is not in a group.
+     */
+    public @NotNull AccountManager getAccountManager(final @Nullable String worldName) {
+        if (worldName == null || this.partitions.isEmpty()) {
+            return this.defaultAccounts;
+        }
+        return this.resolvedWorlds.computeIfAbsent(worldName, this::resolve);
+    }
+
+    /**
+     * Gets the account manager of each world group.
+     *
+     * @return The world group account managers, keyed by group name.
+     */
+    public @NotNull Map<String, PlayerAccountManagerBase> getPartitions() {
+        return this.partitions;
+    }
+
+    /**
+     * Replaces the configured world groups, such as after the configuration is reloaded. Worlds may only be moved
+     * between groups which already have a partition; new groups need a restart.
+     *
+     * @param worldGroups The group of each configured world.
+     */
+    public void setWorldGroups(final @NotNull Map<String, String> worldGroups) {
+        this.worldGroups = Map.copyOf(worldGroups);
+        this.resolvedWorlds.clear();
+    }
+
+    // Finds the account manager of the group a world belongs to.
+    private @NotNull AccountManager resolve(final @NotNull String worldName) {
+        final String key = worldName.toLowerCase(Locale.ROOT);
+        final Map<String, String> worldGroups = this.worldGroups;
+        String group = worldGroups.get(key);
+        if (group == null) {
+            for (final String suffix : DIMENSION_SUFFIXES) {
+                if (key.endsWith(suffix)) {
+                    group = worldGroups.get(key.substring(0, key.length() - suffix.length()));
+                    break;
+                }
+            }
+        }
+        final PlayerAccountManagerBase partition = group == null ? null : this.partitions.get(group);
+        return partition == null ? this.defaultAccounts : partition;
+    }
+}
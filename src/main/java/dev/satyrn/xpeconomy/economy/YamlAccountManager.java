@@ -1,15 +1,32 @@
 package dev.satyrn.xpeconomy.economy;
 
 import dev.satyrn.xpeconomy.configuration.Configuration;
-import org.bukkit.configuration.InvalidConfigurationException;
-import org.bukkit.configuration.file.YamlConfiguration;
+import dev.satyrn.xpeconomy.storage.StorageExecutor;
 import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.emitter.Emitter;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.*;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
 
-import java.io.File;
-import java.io.IOException;
+import java.io.*;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
 import java.util.logging.Level;
 
 /**
@@ -21,9 +38,41 @@ public final class YamlAccountManager extends PlayerAccountManagerBase {
      */
     private final transient Plugin plugin;
     /**
-     * The config file.
+     * The account file used by earlier versions, and when accounts are kept in a single shard.
      */
-    private final transient YamlConfiguration ymlConfigFile = new YamlConfiguration();
+    private final transient String legacyFile;
+    /**
+     * Matches the names of shard account files.
+     */
+    private final transient Pattern shardFilePattern;
+    /**
+     * The file bank accounts are saved to.
+     */
+    private final transient String banksFile;
+    /**
+     * The emitter options used when saving.
+     */
+    private static final DumperOptions DUMPER_OPTIONS = new DumperOptions();
+    /**
+     * The resolver used to decide which scalars must be quoted.
+     */
+    private static final Resolver RESOLVER = new Resolver();
+
+    static {
+        DUMPER_OPTIONS.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        DUMPER_OPTIONS.setIndent(2);
+        DUMPER_OPTIONS.setAllowUnicode(true);
+        DUMPER_OPTIONS.setSplitLines(false);
+    }
+
+    /**
+     * Account files which do not belong to the configured shard layout, removed once every shard has been saved.
+     */
+    private final transient List<File> obsoleteFiles = new ArrayList<>();
+    /**
+     * Whether every shard must be written at the next save, because the shard layout changed.
+     */
+    private transient volatile boolean rewriteAllShards = false;
 
     /**
      * Creates a new instance of an account manager with a YAML backend.
@@ -31,85 +80,577 @@ public final class YamlAccountManager extends PlayerAccountManagerBase {
      * @param plugin The plugin instance.
      */
     public YamlAccountManager(final Configuration configuration, final Plugin plugin) {
-        super(configuration);
+        this(configuration, plugin, null, null);
+    }
+
+    /**
+     * Creates a new instance of an account manager with a YAML backend for a world group partition.
+     *
+     * @param configuration The configuration instance.
+     * @param plugin        The plugin instance.
+     * @param partition       The world group whose accounts are held, or {@code null} for the default accounts.
+     * @param storageExecutor The storage executor shared with other account managers, or {@code null} to create one.
+     */
+    public YamlAccountManager(final Configuration configuration, final Plugin plugin, final @Nullable String partition, final @Nullable StorageExecutor storageExecutor) {
+        super(configuration, partition, storageExecutor);
         this.plugin = plugin;
+        this.legacyFile = this.getStorageName("accounts") + ".yml";
+        this.shardFilePattern = Pattern.compile(Pattern.quote(this.getStorageName("accounts")) + "\\.\\d+\\.yml");
+        this.banksFile = this.getStorageName("banks") + ".yml";
     }
 
     /**
-     * Loads account data from a YAML file.
+     * Loads account data from the YAML account files.
+     * <p>
+     * Every account file is loaded, whichever shard layout wrote it. If the files on disk do not match the
+     * configured number of shards, every shard is rewritten at the next save and the leftover files are removed.
+     * Accounts found in the files of the configured layout take precedence over those in leftover files.
+     * A file which cannot be parsed is copied aside first, so that the next save does not destroy its contents.
      */
     @Override
     public void load() {
-        final File configPath = new File(plugin.getDataFolder().getPath() + File.separator + "accounts.yml");
-        if (!configPath.exists()) {
+        final File[] files = this.plugin.getDataFolder()
+                .listFiles((directory, name) -> name.equals(this.legacyFile) || this.shardFilePattern.matcher(name).matches());
+        if (files == null || files.length == 0) {
             return;
         }
 
-        try {
-            this.ymlConfigFile.load(configPath);
-        } catch (InvalidConfigurationException | IOException ex) {
-            this.plugin.getLogger().log(Level.SEVERE, "[Storage] Failed to load accounts.yml.", ex);
-            return;
+        final Set<File> shardFiles = new HashSet<>();
+        for (final AccountShard shard : this.shards) {
+            shardFiles.add(this.getShardFile(shard));
         }
+        // An account in more than one file takes its value from the last file loaded, so the files of the configured
+        // shard layout are loaded after any left over from another layout, and leftover files oldest first.
+        Arrays.sort(files, Comparator.comparing((File file) -> shardFiles.contains(file))
+                .thenComparingLong(File::lastModified)
+                .thenComparing(File::getName));
 
-        String loadingVersion = this.ymlConfigFile.getString("version");
-        if (!Objects.equals(loadingVersion, this.plugin.getDescription().getVersion())) {
+        final List<PlayerAccount> loadedAccounts = new ArrayList<>();
+        for (final File file : files) {
+            if (!shardFiles.contains(file)) {
+                this.obsoleteFiles.add(file);
+            }
+            try {
+                this.loadFile(file, loadedAccounts);
+            } catch (final IOException | YAMLException | NoSuchElementException ex) {
+                this.plugin.getLogger().log(Level.SEVERE, "[Storage] Failed to load " + file.getName() + ".", ex);
+                this.preserveUnreadableFile(file);
+            }
+        }
+
+        for (final PlayerAccount account : loadedAccounts) {
+            this.addAccount(account);
+        }
+        if (!this.obsoleteFiles.isEmpty()) {
+            this.rewriteAllShards = true;
             this.plugin.getLogger()
-                    .log(Level.WARNING, "[Storage] Account storage file {0} is version {1} (expected {2})... Loading will continue but data loss may occur!", new Object[]{configPath.getPath(), loadingVersion == null ? "unknown" : loadingVersion, this.plugin.getDescription().getVersion()});
+                    .log(Level.INFO, "[Storage] Account files will be rearranged into {0} shard(s) at the next save.", this.shards.length);
         }
+    }
 
-        final List<Map<?, ?>> accountsSection = this.ymlConfigFile.getMapList("accounts");
-        for (final Map<?, ?> savedAccount : accountsSection) {
-            final PlayerAccount account = new PlayerAccount(this.configuration);
-            try {
-                for (final Map.Entry<?, ?> accountDetails : savedAccount.entrySet()) {
-                    if (accountDetails.getKey().toString().equals("uuid")) {
-                        account.setUUID(UUID.fromString(accountDetails.getValue().toString()));
-                    } else if (accountDetails.getKey().toString().equals("balance")) {
-                        final double balance = Double.parseDouble(accountDetails.getValue().toString());
-                        account.setBalanceRaw(BigDecimal.valueOf(balance)
-                                .setScale(0, RoundingMode.HALF_UP)
-                                .toBigInteger(), false);
-                    } else if (accountDetails.getKey().toString().equals("name")) {
-                        final String name = accountDetails.getValue().toString();
-                        account.setName(name);
+    /**
+     * Loads the accounts in a single YAML account file.
+     * <p>
+     * The file is read as a stream of parser events rather than as a document tree. Account records are collected
+     * in chunks of raw strings and each chunk is decoded on its own, optionally on the common fork-join pool while
+     * the next chunk is read.
+     *
+     * @param file           The account file.
+     * @param loadedAccounts The loaded accounts.
+     * @throws IOException Thrown if the file cannot be read.
+     */
+    private void loadFile(final @NotNull File file, final @NotNull List<PlayerAccount> loadedAccounts) throws IOException {
+        final boolean parallel = this.configuration.yamlStorage.parallelLoad.value();
+        final int chunkSize = this.configuration.yamlStorage.loadChunkSize.value();
+        final int maxPendingChunks = Math.max(2, ForkJoinPool.getCommonPoolParallelism() * 2);
+        final Deque<CompletableFuture<List<PlayerAccount>>> pendingChunks = new ArrayDeque<>();
+        final List<PlayerAccount> fileAccounts = new ArrayList<>();
+
+        try (final Reader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            final Iterator<Event> events = new Yaml().parse(reader).iterator();
+            if (!(next(events) instanceof StreamStartEvent)) {
+                throw new YAMLException("Expected the start of a YAML stream.");
+            }
+            if (!(next(events) instanceof DocumentStartEvent)) {
+                this.plugin.getLogger().log(Level.FINE, "[Storage] {0} is empty.", file.getPath());
+                return;
+            }
+            if (!(next(events) instanceof MappingStartEvent)) {
+                throw new YAMLException("Expected " + file.getName() + " to contain a mapping.");
+            }
+
+            Event event;
+            while (!((event = next(events)) instanceof MappingEndEvent)) {
+                final String key = event instanceof final ScalarEvent scalarEvent ? scalarEvent.getValue() : null;
+                if (key == null) {
+                    skipNode(event, events);
+                    skipNode(next(events), events);
+                } else if (key.equals("version")) {
+                    final Event value = next(events);
+                    final String loadingVersion = value instanceof final ScalarEvent scalarEvent ? scalarEvent.getValue() : null;
+                    skipNode(value, events);
+                    if (!Objects.equals(loadingVersion, this.plugin.getDescription().getVersion())) {
+                        this.plugin.getLogger()
+                                .log(Level.WARNING, "[Storage] Account storage file {0} is version {1} (expected {2})... Loading will continue but data loss may occur!", new Object[]{file.getPath(), loadingVersion == null ? "unknown" : loadingVersion, this.plugin.getDescription().getVersion()});
+                    }
+                } else if (key.equals("accounts")) {
+                    final Event value = next(events);
+                    if (!(value instanceof SequenceStartEvent)) {
+                        skipNode(value, events);
+                        continue;
                     }
+                    List<AccountRecord> chunk = new ArrayList<>(chunkSize);
+                    Event item;
+                    while (!((item = next(events)) instanceof SequenceEndEvent)) {
+                        if (!(item instanceof MappingStartEvent)) {
+                            skipNode(item, events);
+                            continue;
+                        }
+                        chunk.add(readRecord(events));
+                        if (chunk.size() >= chunkSize) {
+                            this.decodeChunk(chunk, parallel, pendingChunks, fileAccounts);
+                            chunk = new ArrayList<>(chunkSize);
+                            while (pendingChunks.size() > maxPendingChunks) {
+                                fileAccounts.addAll(pendingChunks.removeFirst().join());
+                            }
+                        }
+                    }
+                    if (!chunk.isEmpty()) {
+                        this.decodeChunk(chunk, parallel, pendingChunks, fileAccounts);
+                    }
+                } else {
+                    skipNode(next(events), events);
                 }
+            }
+            while (!pendingChunks.isEmpty()) {
+                fileAccounts.addAll(pendingChunks.removeFirst().join());
+            }
+        } finally {
+            pendingChunks.forEach(future -> future.cancel(false));
+        }
 
+        loadedAccounts.addAll(fileAccounts);
+        this.plugin.getLogger()
+                .log(Level.FINER, "[Storage] Loaded {0} account(s) from {1}.", new Object[]{fileAccounts.size(), file.getPath()});
+    }
+
+    /**
+     * Copies an account file which could not be parsed aside, so that it is not lost when its shard is next saved.
+     *
+     * @param file The account file.
+     */
+    private void preserveUnreadableFile(final @NotNull File file) {
+        final File copy = new File(file.getParentFile(), file.getName() + ".corrupt-" + System.currentTimeMillis());
+        try {
+            Files.copy(file.toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            this.plugin.getLogger()
+                    .log(Level.SEVERE, "[Storage] A copy of {0} has been saved as {1}.", new Object[]{file.getName(), copy.getName()});
+        } catch (final IOException ex) {
+            this.plugin.getLogger().log(Level.SEVERE, "[Storage] Failed to copy " + file.getName() + " aside.", ex);
+        }
+    }
+
+    /**
+     * Gets the file a shard is saved to. A single shard is saved to accounts.yml, as in earlier versions.
+     *
+     * @param shard The shard.
+     * @return The shard file.
+     */
+    private @NotNull File getShardFile(final @NotNull AccountShard shard) {
+        if (this.shards.length == 1) {
+            return new File(this.plugin.getDataFolder(), this.legacyFile);
+        }
+        return new File(this.plugin.getDataFolder(), this.getStorageName("accounts") + "." + shard.getIndex() + ".yml");
+    }
+
+    /**
+     * Decodes a chunk of account records, either immediately or on the common fork-join pool.
+     *
+     * @param chunk          The account records.
+     * @param parallel       Whether to decode the chunk on the common fork-join pool.
+     * @param pendingChunks  The chunks still being decoded, in file order.
+     * @param loadedAccounts The decoded accounts.
+     */
+    private void decodeChunk(final @NotNull List<AccountRecord> chunk, final boolean parallel, final @NotNull Deque<CompletableFuture<List<PlayerAccount>>> pendingChunks, final @NotNull List<PlayerAccount> loadedAccounts) {
+        if (parallel) {
+            pendingChunks.addLast(CompletableFuture.supplyAsync(() -> this.decode(chunk)));
+        } else {
+            loadedAccounts.addAll(this.decode(chunk));
+        }
+    }
+
+    /**
+     * Decodes account records into accounts. Invalid records are logged and skipped.
+     *
+     * @param records The account records.
+     * @return The decoded accounts.
+     */
+    private @NotNull List<PlayerAccount> decode(final @NotNull List<AccountRecord> records) {
+        final List<PlayerAccount> decoded = new ArrayList<>(records.size());
+        for (final AccountRecord record : records) {
+            try {
+                if (record.uuid() == null) {
+                    throw new IllegalArgumentException("The account has no UUID.");
+                }
+                final PlayerAccount account = new PlayerAccount(this.configuration, UUID.fromString(record.uuid()));
+                if (record.balance() != null) {
+                    account.setBalanceRaw(parseBalance(record.balance()), false);
+                }
+                if (record.name() != null) {
+                    account.setName(record.name());
+                }
+                account.markPersisted(account.getRevision());
                 this.plugin.getLogger()
                         .log(Level.FINE, "[Storage] Loaded an account for player {0} with balance {1}", new Object[]{account.getUUID(), account.getBalance().doubleValue()});
-                this.accounts.add(account);
+                decoded.add(account);
             } catch (IllegalArgumentException ex) {
                 this.plugin.getLogger()
                         .log(Level.WARNING, "[Storage] Failed to load an account from accounts.yml.", ex);
             }
         }
+        return decoded;
+    }
+
+    /**
+     * Reads the fields of an account record. The mapping start event must already have been consumed.
+     *
+     * @param events The parser events.
+     * @return The raw account record.
+     */
+    private static @NotNull AccountRecord readRecord(final @NotNull Iterator<Event> events) {
+        String uuid = null;
+        String balance = null;
+        String name = null;
+        Event event;
+        while (!((event = next(events)) instanceof MappingEndEvent)) {
+            final String key = event instanceof final ScalarEvent scalarEvent ? scalarEvent.getValue() : null;
+            skipNode(event, events);
+            final Event value = next(events);
+            final String scalar = value instanceof final ScalarEvent scalarEvent ? scalarEvent.getValue() : null;
+            skipNode(value, events);
+            if ("uuid".equals(key)) {
+                uuid = scalar;
+            } else if ("balance".equals(key)) {
+                balance = scalar;
+            } else if ("name".equals(key)) {
+                name = scalar;
+            }
+        }
+        return new AccountRecord(uuid, balance, name);
+    }
+
+    /**
+     * Skips the remainder of a node. Scalars and aliases are complete in one event; collections are skipped up to
+     * and including their matching end event.
+     *
+     * @param first  The first event of the node, which has already been consumed.
+     * @param events The parser events.
+     */
+    private static void skipNode(final @NotNull Event first, final @NotNull Iterator<Event> events) {
+        if (!(first instanceof CollectionStartEvent)) {
+            return;
+        }
+        int depth = 1;
+        while (depth > 0) {
+            final Event event = next(events);
+            if (event instanceof CollectionStartEvent) {
+                depth++;
+            } else if (event instanceof CollectionEndEvent) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Gets the next parser event.
+     *
+     * @param events The parser events.
+     * @return The next event.
+     * @throws YAMLException Thrown if the stream ends unexpectedly.
+     */
+    private static @NotNull Event next(final @NotNull Iterator<Event> events) {
+        if (!events.hasNext()) {
+            throw new YAMLException("Unexpected end of accounts.yml.");
+        }
+        return events.next();
+    }
+
+    /**
+     * Parses a stored balance. Plain integers, which is how balances are saved, are parsed directly; decimal and
+     * exponent forms written by older versions are rounded half up to the nearest integer.
+     *
+     * @param value The stored balance.
+     * @return The raw balance.
+     * @throws NumberFormatException Thrown if the value is not a number.
+     */
+    static @NotNull BigInteger parseBalance(final @NotNull String value) {
+        final int length = value.length();
+        if (length > 0 && length <= 18) {
+            final boolean negative = value.charAt(0) == '-';
+            int index = negative || value.charAt(0) == '+' ? 1 : 0;
+            long result = 0;
+            if (index < length) {
+                for (; index < length; index++) {
+                    final char c = value.charAt(index);
+                    if (c < '0' || c > '9') {
+                        break;
+                    }
+                    result = result * 10 + (c - '0');
+                }
+                if (index == length) {
+                    return BigInteger.valueOf(negative ? -result : result);
+                }
+            }
+        }
+        return new BigDecimal(value.trim()).setScale(0, RoundingMode.HALF_UP).toBigInteger();
     }
 
     /**
-     * Saves account data to a YAML file.
+     * Saves account data to the YAML account files. Each shard with unsaved changes is written to its own file, in
+     * parallel with the others.
      */
     @Override
-    public synchronized void save() {
-        final File configPath = new File(plugin.getDataFolder().getPath() + File.separator + "accounts.yml");
-        final List<Map<?, ?>> mapList = new ArrayList<>();
+    public void save() {
+        final boolean rewriteAllShards = this.rewriteAllShards;
+        final AtomicBoolean failed = new AtomicBoolean();
+        this.saveShards(shard -> {
+            if (!this.saveShard(shard)) {
+                failed.set(true);
+            }
+        }, rewriteAllShards);
+
+        if (rewriteAllShards && !failed.get()) {
+            synchronized (this.obsoleteFiles) {
+                for (final File file : this.obsoleteFiles) {
+                    try {
+                        Files.deleteIfExists(file.toPath());
+                    } catch (final IOException ex) {
+                        this.plugin.getLogger().log(Level.WARNING, "[Storage] Failed to remove " + file.getName() + ".", ex);
+                    }
+                }
+                this.obsoleteFiles.clear();
+                this.rewriteAllShards = false;
+            }
+        }
+    }
+
+    /**
+     * Writes a shard to its file.
+     * <p>
+     * Accounts are streamed straight to a temporary file beside the shard file, which is synced to disk and then
+     * moved over the original. A crash mid-save leaves the previous file intact.
+     *
+     * @param shard The shard.
+     * @return Whether the shard was written.
+     */
+    private boolean saveShard(final @NotNull AccountShard shard) {
+        final File configPath = this.getShardFile(shard);
+        final File tempPath = new File(configPath.getPath() + ".tmp");
+
+        final List<PlayerAccount> dirtyAccounts = shard.drainDirtyAccounts();
+        final List<PlayerAccount> snapshot = new ArrayList<>(shard.getAccounts());
+        final long[] revisions = new long[snapshot.size()];
+        try {
+            try (final FileOutputStream outputStream = new FileOutputStream(tempPath);
+                 final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
+                final Emitter emitter = new Emitter(writer, DUMPER_OPTIONS);
+                emitter.emit(new StreamStartEvent(null, null));
+                emitter.emit(new DocumentStartEvent(null, null, false, null, null));
+                emitter.emit(new MappingStartEvent(null, null, true, null, null, DumperOptions.FlowStyle.BLOCK));
+                emitter.emit(scalar("version"));
+                emitter.emit(scalar(this.plugin.getDescription().getVersion()));
+                emitter.emit(scalar("accounts"));
+                emitter.emit(new SequenceStartEvent(null, null, true, null, null, DumperOptions.FlowStyle.BLOCK));
+                for (int i = 0; i < snapshot.size(); i++) {
+                    final PlayerAccount account = snapshot.get(i);
+                    revisions[i] = account.getRevision();
+                    emitter.emit(new MappingStartEvent(null, null, true, null, null, DumperOptions.FlowStyle.BLOCK));
+                    emitter.emit(scalar("uuid"));
+                    emitter.emit(scalar(account.getUUID().toString()));
+                    emitter.emit(scalar("balance"));
+                    emitter.emit(scalar(account.getBalanceRaw().toString()));
+                    final String name = account.getName();
+                    if (name != null) {
+                        emitter.emit(scalar("name"));
+                        emitter.emit(scalar(name));
+                    }
+                    emitter.emit(new MappingEndEvent(null, null));
+                }
+                emitter.emit(new SequenceEndEvent(null, null));
+                emitter.emit(new MappingEndEvent(null, null));
+                emitter.emit(new DocumentEndEvent(null, null, false));
+                emitter.emit(new StreamEndEvent(null, null));
+                writer.flush();
+                outputStream.getFD().sync();
+            }
+
+            this.replaceFile(tempPath, configPath);
+        } catch (final IOException ex) {
+            shard.requeue(dirtyAccounts);
+            this.plugin.getLogger().log(Level.SEVERE, "[Storage] Failed to save " + configPath.getName() + ".", ex);
+            return false;
+        }
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            snapshot.get(i).markPersisted(revisions[i]);
+        }
+        return true;
+    }
+
+    /**
+     * Moves a fully written temporary file over the file it replaces, atomically where the file system allows it.
+     *
+     * @param tempPath   The temporary file.
+     * @param targetPath The file to replace.
+     * @throws IOException Thrown if the file cannot be moved.
+     */
+    private void replaceFile(final @NotNull File tempPath, final @NotNull File targetPath) throws IOException {
+        try {
+            Files.move(tempPath.toPath(), targetPath.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final AtomicMoveNotSupportedException ex) {
+            this.plugin.getLogger()
+                    .log(Level.FINE, "[Storage] Atomic moves are not supported for {0}, replacing it directly.", targetPath.getPath());
+            Files.move(tempPath.toPath(), targetPath.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
 
-        this.ymlConfigFile.set("version", this.plugin.getDescription().getVersion());
+    /**
+     * Checks whether the storage backend can persist bank accounts. Banks are kept with the default accounts only.
+     *
+     * @return {@code true} unless the account manager holds a world group's accounts.
+     */
+    @Override
+    protected boolean supportsBanks() {
+        return this.getPartition() == null;
+    }
 
-        for (final PlayerAccount account : this.accounts) {
-            final Map<String, String> map = new HashMap<>();
-            map.put("uuid", account.getUUID().toString());
-            map.put("balance", Double.toString(account.getBalanceRaw().doubleValue()));
-            map.put("name", account.getName());
-            mapList.add(map);
+    /**
+     * Loads bank accounts from the YAML bank file. A file which cannot be parsed is copied aside first, so that the
+     * next save does not destroy its contents.
+     */
+    @Override
+    protected void loadBanks() {
+        final File file = new File(this.plugin.getDataFolder(), this.banksFile);
+        if (!file.exists()) {
+            return;
+        }
+        final Object document;
+        try (final Reader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            document = new Yaml().load(reader);
+        } catch (final IOException | YAMLException ex) {
+            this.plugin.getLogger().log(Level.SEVERE, "[Storage] Failed to load " + file.getName() + ".", ex);
+            this.preserveUnreadableFile(file);
+            return;
+        }
+        if (!(document instanceof final Map<?, ?> root) || !(root.get("banks") instanceof final List<?> records)) {
+            return;
+        }
+        for (final Object record : records) {
+            if (!(record instanceof final Map<?, ?> fields)) {
+                continue;
+            }
+            try {
+                final Object name = fields.get("name");
+                final Object owner = fields.get("owner");
+                if (!(name instanceof String) || !BankIndex.isValidName((String) name) || owner == null) {
+                    throw new IllegalArgumentException("The bank has no valid name or owner.");
+                }
+                final BankAccount bank = new BankAccount(this.configuration, (String) name, UUID.fromString(owner.toString()));
+                final Set<UUID> members = new HashSet<>();
+                if (fields.get("members") instanceof final List<?> memberList) {
+                    for (final Object member : memberList) {
+                        members.add(UUID.fromString(String.valueOf(member)));
+                    }
+                }
+                final Object balance = fields.get("balance");
+                bank.restore(balance == null ? BigInteger.ZERO : parseBalance(balance.toString()), members);
+                this.banks.put(bank);
+            } catch (final IllegalArgumentException ex) {
+                this.plugin.getLogger().log(Level.WARNING, "[Storage] Failed to load a bank from " + file.getName() + ".", ex);
+            }
         }
+        this.plugin.getLogger()
+                .log(Level.FINER, "[Storage] Loaded {0} bank(s) from {1}.", new Object[]{this.banks.getBanks().size(), file.getPath()});
+    }
 
-        this.ymlConfigFile.set("accounts", mapList);
+    /**
+     * Writes every bank to the YAML bank file, replacing it the same way as an account shard file.
+     */
+    @Override
+    protected void saveBanks() {
+        final File configPath = new File(this.plugin.getDataFolder(), this.banksFile);
+        final File tempPath = new File(configPath.getPath() + ".tmp");
 
+        final List<String> deletedBanks = this.banks.drainDeletedBanks();
+        final List<BankAccount> snapshot = new ArrayList<>(this.banks.getBanks());
+        final long[] revisions = new long[snapshot.size()];
         try {
-            this.ymlConfigFile.save(configPath);
+            try (final FileOutputStream outputStream = new FileOutputStream(tempPath);
+                 final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
+                final Emitter emitter = new Emitter(writer, DUMPER_OPTIONS);
+                emitter.emit(new StreamStartEvent(null, null));
+                emitter.emit(new DocumentStartEvent(null, null, false, null, null));
+                emitter.emit(new MappingStartEvent(null, null, true, null, null, DumperOptions.FlowStyle.BLOCK));
+                emitter.emit(scalar("version"));
+                emitter.emit(scalar(this.plugin.getDescription().getVersion()));
+                emitter.emit(scalar("banks"));
+                emitter.emit(new SequenceStartEvent(null, null, true, null, null, DumperOptions.FlowStyle.BLOCK));
+                for (int i = 0; i < snapshot.size(); i++) {
+                    final BankAccount bank = snapshot.get(i);
+                    revisions[i] = bank.getRevision();
+                    emitter.emit(new MappingStartEvent(null, null, true, null, null, DumperOptions.FlowStyle.BLOCK));
+                    emitter.emit(scalar("name"));
+                    emitter.emit(scalar(bank.getName()));
+                    emitter.emit(scalar("owner"));
+                    emitter.emit(scalar(bank.getOwner().toString()));
+                    emitter.emit(scalar("balance"));
+                    emitter.emit(scalar(bank.getBalanceRaw().toString()));
+                    emitter.emit(scalar("members"));
+                    emitter.emit(new SequenceStartEvent(null, null, true, null, null, DumperOptions.FlowStyle.BLOCK));
+                    for (final UUID member : bank.getMembers()) {
+                        emitter.emit(scalar(member.toString()));
+                    }
+                    emitter.emit(new SequenceEndEvent(null, null));
+                    emitter.emit(new MappingEndEvent(null, null));
+                }
+                emitter.emit(new SequenceEndEvent(null, null));
+                emitter.emit(new MappingEndEvent(null, null));
+                emitter.emit(new DocumentEndEvent(null, null, false));
+                emitter.emit(new StreamEndEvent(null, null));
+                writer.flush();
+                outputStream.getFD().sync();
+            }
+            this.replaceFile(tempPath, configPath);
         } catch (final IOException ex) {
-            this.plugin.getLogger().log(Level.SEVERE, "[Storage] Failed to save accounts.yml.", ex);
+            this.banks.requeueDeletedBanks(deletedBanks);
+            this.plugin.getLogger().log(Level.SEVERE, "[Storage] Failed to save " + configPath.getName() + ".", ex);
+            return;
+        }
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            snapshot.get(i).markPersisted(revisions[i]);
         }
     }
+
+    /**
+     * Creates a scalar event for a string value. Values which would read back as another type when written plain,
+     * such as numbers or booleans, are quoted, matching how the values were represented by the configuration API.
+     *
+     * @param value The value.
+     * @return The scalar event.
+     */
+    private static @NotNull ScalarEvent scalar(final @NotNull String value) {
+        final boolean plainIsString = Tag.STR.equals(RESOLVER.resolve(NodeId.scalar, value, true));
+        return new ScalarEvent(null, null, new ImplicitTuple(plainIsString, true), value, null, null, DumperOptions.ScalarStyle.PLAIN);
+    }
+
+    /**
+     * An account record as read from accounts.yml, before decoding.
+     *
+     * @param uuid    The account UUID.
+     * @param balance The stored balance.
+     * @param name    The player name.
+     */
+    private record AccountRecord(@Nullable String uuid, @Nullable String balance, @Nullable String name) {
+    }
 }
@@ -0,0 +1,72 @@
+package dev.satyrn.xpeconomy.listeners;
+
+import dev.satyrn.xpeconomy.commands.HelpCommandHandler;
+import dev.satyrn.xpeconomy.commands.XPEconomyCommandHandler;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerCommandSendEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Discards the command completions and help permissions cached for a player whenever their permissions may have
+ * changed.
+ * <p>
+ * Permission plugins resend the command list to a player after changing their permissions, which fires a command
+ * send event; per-world permissions change when the player changes worlds.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.2
+ */
+public final class CommandPermissionEventListener implements Listener {
+    // The command handler whose completions are cached.
+    private final @NotNull XPEconomyCommandHandler commandHandler;
+    // The help command handler whose permissions are cached.
+    private final @NotNull HelpCommandHandler helpCommandHandler;
+
+    /**
+     * Creates a new command permission event listener.
+     *
+     * @param commandHandler     The command handler whose completions are cached.
+     * @param helpCommandHandler The help command handler whose permissions are cached.
+     */
+    public CommandPermissionEventListener(final @NotNull XPEconomyCommandHandler commandHandler, final @NotNull HelpCommandHandler helpCommandHandler) {
+        this.commandHandler = commandHandler;
+        this.helpCommandHandler = helpCommandHandler;
+    }
+
+    /**
+     * Discards a player's cached completions and help permissions when their command list is sent again.
+     *
+     * @param e The event arguments.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onCommandSend(PlayerCommandSendEvent e) {
+        this.commandHandler.invalidateCompletions(e.getPlayer().getUniqueId());
+        this.helpCommandHandler.invalidate(e.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Discards a player's cached completions and help permissions when they change worlds.
+     *
+     * @param e The event arguments.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChangedWorld(PlayerChangedWorldEvent e) {
+        this.commandHandler.invalidateCompletions(e.getPlayer().getUniqueId());
+        this.helpCommandHandler.invalidate(e.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Discards a player's cached completions and help permissions when they quit.
+     *
+     * @param e The event arguments.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        this.commandHandler.invalidateCompletions(e.getPlayer().getUniqueId());
+        this.helpCommandHandler.invalidate(e.getPlayer().getUniqueId());
+    }
+}
@@ -112,8 +112,8 @@ public final class ExperienceBottleEventListener implements Listener {
 
         final Account account = this.accountManager.getAccount(player.getUniqueId());
         if (account != null) {
-            final BigInteger newBalance = account.getBalanceRaw().add(BigInteger.valueOf(this.getPointsPerBottle()));
-            account.setBalanceRaw(newBalance, true);
+            final BigInteger newBalance = account.addBalanceRaw(BigInteger.valueOf(this.getPointsPerBottle()));
+            PlayerXPUtils.setPlayerXPTotal(player.getUniqueId(), newBalance);
         } else {
             final BigInteger newXpTotal = PlayerXPUtils.getPlayerXPTotal(player)
                     .add(BigInteger.valueOf(this.getPointsPerBottle()));
@@ -164,12 +164,15 @@ public final class ExperienceBottleEventListener implements Listener {
 
         final @Nullable Account account = this.accountManager.getAccount(player.getUniqueId());
         if (account != null) {
-            final BigInteger currentBalance = account.getBalanceRaw();
-            if (currentBalance.compareTo(BigInteger.valueOf(this.getPointsPerBottle())) < 0) {
-                player.sendMessage(I18n.tr("bottle.fill.lowBalance", EconomyMethod.POINTS.toString(new BigDecimal(currentBalance), true), EconomyMethod.POINTS.toString(BigDecimal.valueOf(this.getPointsPerBottle()), true)));
-                return;
-            }
-            account.setBalanceRaw(currentBalance.subtract(BigInteger.valueOf(this.getPointsPerBottle())), true);
+            BigInteger currentBalance;
+            do {
+                currentBalance = account.getBalanceRaw();
+                if (currentBalance.compareTo(BigInteger.valueOf(this.getPointsPerBottle())) < 0) {
+                    player.sendMessage(I18n.tr("bottle.fill.lowBalance", EconomyMethod.POINTS.toString(new BigDecimal(currentBalance), true), EconomyMethod.POINTS.toString(BigDecimal.valueOf(this.getPointsPerBottle()), true)));
+                    return;
+                }
+            } while (!account.compareAndSetBalanceRaw(currentBalance, currentBalance.subtract(BigInteger.valueOf(this.getPointsPerBottle()))));
+            PlayerXPUtils.setPlayerXPTotal(player.getUniqueId(), account.getBalanceRaw());
         } else {
             final BigInteger currentXpTotal = PlayerXPUtils.getPlayerXPTotal(player);
             if (currentXpTotal.compareTo(BigInteger.valueOf(this.getPointsPerBottle())) < 0) {
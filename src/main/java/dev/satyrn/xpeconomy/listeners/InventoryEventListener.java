@@ -40,7 +40,7 @@ public record InventoryEventListener(Plugin plugin, AccountManager accountManage
         this.plugin.getLogger()
                 .log(Level.FINER, "[Event] Enchanting table usage scheduled account balance synchronization.");
         final UUID uuid = e.getEnchanter().getUniqueId();
-        new PlayerBalanceSynchronizationTask(this.plugin, e.getEnchanter(), this.accountManager.getAccount(uuid)).runTaskLater(this.plugin, 1L);
+        PlayerBalanceSynchronizationTask.schedule(this.plugin, e.getEnchanter(), this.accountManager.getAccount(uuid));
     }
 
     /**
@@ -74,7 +74,7 @@ public record InventoryEventListener(Plugin plugin, AccountManager accountManage
                 this.plugin.getLogger()
                         .log(Level.FINER, "[Event] Anvil usage scheduled account balance synchronization.");
 
-                new PlayerBalanceSynchronizationTask(this.plugin, player, this.accountManager.getAccount(player.getUniqueId())).runTaskLater(this.plugin, 1L);
+                PlayerBalanceSynchronizationTask.schedule(this.plugin, player, this.accountManager.getAccount(player.getUniqueId()));
             }
         }
     }
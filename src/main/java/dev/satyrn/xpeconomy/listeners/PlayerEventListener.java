@@ -4,26 +4,75 @@ import dev.satyrn.xpeconomy.api.economy.Account;
 import dev.satyrn.xpeconomy.api.economy.AccountManager;
 import dev.satyrn.xpeconomy.tasks.PlayerBalanceSynchronizationTask;
 import dev.satyrn.xpeconomy.tasks.PlayerExperienceSynchronizationTask;
+import dev.satyrn.xpeconomy.tasks.SaveAccountDataTask;
+import dev.satyrn.xpeconomy.utils.Commands;
+import dev.satyrn.xpeconomy.utils.PlayerResolver;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerExpChangeEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
 /**
  * Listener class for player events.
  */
-public record PlayerEventListener(Plugin plugin, AccountManager accountManager) implements Listener {
+public final class PlayerEventListener implements Listener {
+    // The plugin instance.
+    private final Plugin plugin;
+    // The account manager instance.
+    private final AccountManager accountManager;
+    // The player resolver instance.
+    private final PlayerResolver playerResolver;
+    // The number of joining players whose account was already in memory.
+    private final AtomicLong prefetchHits = new AtomicLong();
+    // The number of joining players whose account had to be loaded or created on join.
+    private final AtomicLong prefetchMisses = new AtomicLong();
+
     /**
      * Initializes the player event listener.
      *
+     * @param plugin         The plugin instance.
      * @param accountManager The account manager instance.
+     * @param playerResolver The player resolver instance.
+     */
+    public PlayerEventListener(final Plugin plugin, final AccountManager accountManager, final PlayerResolver playerResolver) {
+        this.plugin = plugin;
+        this.accountManager = accountManager;
+        this.playerResolver = playerResolver;
+        // Players already online when the plugin is enabled, such as after a reload, never fire a join event.
+        for (final Player player : plugin.getServer().getOnlinePlayers()) {
+            Commands.getOnlinePlayerNameIndex().add(player.getName(), player.getUniqueId());
+        }
+    }
+
+    /**
+     * Loads a connecting player's account on the login thread, so that it is already in memory when they join.
+     *
+     * @param e The event arguments.
      */
-    public PlayerEventListener {
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent e) {
+        if (e.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        try {
+            if (this.accountManager.getAccount(e.getUniqueId()) != null) {
+                this.plugin.getLogger().log(Level.FINEST, "[Event] Prefetched account for {0}.", e.getName());
+            }
+        } catch (final IllegalStateException ex) {
+            this.plugin.getLogger()
+                    .log(Level.FINER, "[Event] Could not prefetch account for {0}: {1}", new Object[]{e.getName(), ex.getMessage()});
+        }
     }
 
     /**
@@ -36,13 +85,69 @@ public record PlayerEventListener(Plugin plugin, AccountManager accountManager)
         this.plugin.getLogger()
                 .log(Level.FINER, "[Event] Player joined world, scheduling attempt to apply offline balance changes.");
 
-        final UUID uuid = e.getPlayer().getUniqueId();
-        @Nullable Account account = this.accountManager.getAccount(uuid);
-        if (account == null) {
-            account = this.accountManager.createAccount(e.getPlayer());
+        final Player player = e.getPlayer();
+        Commands.getOnlinePlayerNameIndex().add(player.getName(), player.getUniqueId());
+        this.playerResolver.forget(player.getName());
+        if (!this.accountManager.whenLoaded().isDone()) {
+            this.plugin.getLogger()
+                    .log(Level.FINER, "[Event] Account data is still loading, deferring account setup for {0}.", player.getName());
+            this.accountManager.whenLoaded()
+                    .thenRunAsync(() -> {
+                        if (player.isOnline()) {
+                            this.setupAccount(player);
+                        }
+                    }, this.plugin.getServer().getScheduler().getMainThreadExecutor(this.plugin));
+            return;
+        }
+        if (this.accountManager.whenLoaded().isCompletedExceptionally()) {
+            this.plugin.getLogger()
+                    .log(Level.WARNING, "[Event] Account data failed to load, skipping account setup for {0}.", player.getName());
+            return;
+        }
+        this.setupAccount(player);
+    }
+
+    /**
+     * Gets or creates a joining player's account and schedules applying its balance to the player.
+     *
+     * @param player The player.
+     */
+    private void setupAccount(final @NotNull Player player) {
+        final UUID uuid = player.getUniqueId();
+        if (this.accountManager.isAccountLoaded(uuid)) {
+            this.prefetchHits.incrementAndGet();
+        } else {
+            this.prefetchMisses.incrementAndGet();
+        }
+        @Nullable Account account;
+        try {
+            // Creating an account checks storage first, so an account stored by another server is not overwritten.
+            account = this.accountManager.getAccount(uuid);
+            if (account == null) {
+                account = this.accountManager.createAccount(player);
+            }
+        } catch (final IllegalStateException ex) {
+            this.plugin.getLogger()
+                    .log(Level.WARNING, "[Event] Could not load or create the account for {0}: {1}", new Object[]{player.getName(), ex.getMessage()});
+            return;
         }
-        account.setName(e.getPlayer().getName());
-        new PlayerExperienceSynchronizationTask(this.plugin, uuid, this.accountManager.getAccount(uuid)).runTaskLater(this.plugin, 1L);
+        account.setName(player.getName());
+        new PlayerExperienceSynchronizationTask(this.plugin, uuid, account).runTaskLater(this.plugin, 1L);
+    }
+
+    /**
+     * Writes a departing player's account to storage without waiting for the next full save.
+     *
+     * @param e The event arguments.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        Commands.getOnlinePlayerNameIndex().remove(e.getPlayer().getName(), e.getPlayer().getUniqueId());
+        if (!this.accountManager.whenLoaded().isDone() || this.accountManager.whenLoaded().isCompletedExceptionally()) {
+            return;
+        }
+        this.plugin.getLogger().log(Level.FINER, "[Event] Player quit, scheduling a write of their account.");
+        new SaveAccountDataTask(this.plugin, this.accountManager, e.getPlayer().getUniqueId()).runTaskAsynchronously(this.plugin);
     }
 
     /**
@@ -55,7 +160,30 @@ public record PlayerEventListener(Plugin plugin, AccountManager accountManager)
         this.plugin.getLogger()
                 .log(Level.FINER, "[Event] Player Experience Update scheduled account balance synchronization.");
 
+        // The player's balance is applied to their experience once their account is set up.
+        if (!this.accountManager.whenLoaded().isDone() || this.accountManager.whenLoaded().isCompletedExceptionally()) {
+            return;
+        }
+
         final UUID uuid = e.getPlayer().getUniqueId();
-        new PlayerBalanceSynchronizationTask(this.plugin, e.getPlayer(), this.accountManager.getAccount(uuid)).runTaskLater(this.plugin, 1L);
+        PlayerBalanceSynchronizationTask.schedule(this.plugin, e.getPlayer(), this.accountManager.getAccount(uuid));
+    }
+
+    /**
+     * Gets the number of joining players whose account was already in memory.
+     *
+     * @return The number of prefetch hits.
+     */
+    public long getPrefetchHits() {
+        return this.prefetchHits.get();
+    }
+
+    /**
+     * Gets the number of joining players whose account had to be loaded from storage or created on join.
+     *
+     * @return The number of prefetch misses.
+     */
+    public long getPrefetchMisses() {
+        return this.prefetchMisses.get();
     }
 }
@@ -0,0 +1,392 @@
+package dev.satyrn.xpeconomy.storage;
+
+import dev.satyrn.papermc.api.storage.v1.ConnectionManager;
+import dev.satyrn.xpeconomy.configuration.Configuration;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * A bounded connection pool which wraps another connection manager.
+ * <p>
+ * Connections handed out by the pool return to it when they are closed. Each physical connection keeps a small cache
+ * of prepared statements, so repeated saves and loads do not have to prepare the same SQL again.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.2
+ */
+public final class PooledConnectionManager implements ConnectionManager, AutoCloseable {
+    // The plugin instance.
+    private final transient @NotNull Plugin plugin;
+    // The connection manager which opens physical connections.
+    private final transient @NotNull ConnectionManager connectionManager;
+    // The pool settings.
+    private final transient @NotNull Configuration.ConnectionPoolContainer options;
+    // Limits the number of connections which may be open at once.
+    private final transient @NotNull Semaphore permits;
+    // Idle physical connections, most recently returned first. Guarded by itself.
+    private final transient @NotNull Deque<PooledConnection> idleConnections = new ArrayDeque<>();
+    // The number of connections currently borrowed from the pool.
+    private final transient @NotNull AtomicInteger activeConnections = new AtomicInteger();
+    // Pool counters.
+    private final transient @NotNull AtomicLong created = new AtomicLong();
+    private final transient @NotNull AtomicLong destroyed = new AtomicLong();
+    private final transient @NotNull AtomicLong borrowed = new AtomicLong();
+    private final transient @NotNull AtomicLong validationFailures = new AtomicLong();
+    private final transient @NotNull AtomicLong idleEvictions = new AtomicLong();
+    private final transient @NotNull AtomicLong waitTimeouts = new AtomicLong();
+    private final transient @NotNull AtomicLong statementCacheHits = new AtomicLong();
+    private final transient @NotNull AtomicLong statementCacheMisses = new AtomicLong();
+    // Whether the pool has been shut down.
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a new connection pool.
+     *
+     * @param plugin            The plugin instance.
+     * @param connectionManager The connection manager which opens physical connections.
+     * @param options           The pool settings.
+     */
+    public PooledConnectionManager(final @NotNull Plugin plugin, final @NotNull ConnectionManager connectionManager, final @NotNull Configuration.ConnectionPoolContainer options) {
+        this.plugin = plugin;
+        this.connectionManager = connectionManager;
+        this.options = options;
+        this.permits = new Semaphore(options.maxSize.value(), true);
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if no idle connection is available.
+     * <p>
+     * Closing the returned connection hands it back to the pool.
+     *
+     * @return The connection, or {@code null} if the underlying connection manager could not open one.
+     * @throws SQLException Thrown if the pool is closed or no connection becomes free in time.
+     */
+    @Override
+    public @Nullable Connection connect() throws SQLException {
+        if (this.closed) {
+            throw new SQLException("The connection pool has been closed.");
+        }
+        try {
+            if (!this.permits.tryAcquire(this.options.connectionTimeout.value(), TimeUnit.MILLISECONDS)) {
+                this.waitTimeouts.incrementAndGet();
+                throw new SQLException(String.format("Timed out waiting for a free connection after %dms.", this.options.connectionTimeout.value()));
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a free connection.", ex);
+        }
+
+        try {
+            @Nullable PooledConnection pooledConnection;
+            while ((pooledConnection = this.pollIdle()) != null) {
+                if (pooledConnection.isValid(this.options.validationTimeout.value())) {
+                    break;
+                }
+                this.validationFailures.incrementAndGet();
+                this.plugin.getLogger().log(Level.FINER, "[Storage] Discarding a pooled connection which failed validation.");
+                this.destroy(pooledConnection);
+            }
+            if (pooledConnection == null) {
+                final @Nullable Connection physicalConnection = this.connectionManager.connect();
+                if (physicalConnection == null) {
+                    this.permits.release();
+                    return null;
+                }
+                this.created.incrementAndGet();
+                pooledConnection = new PooledConnection(physicalConnection);
+            }
+            this.activeConnections.incrementAndGet();
+            this.borrowed.incrementAndGet();
+            return pooledConnection.borrow();
+        } catch (final SQLException | RuntimeException ex) {
+            this.permits.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Closes every idle connection which has not been used within the configured idle timeout.
+     */
+    public void evictIdleConnections() {
+        final long cutoff = System.nanoTime() - TimeUnit.SECONDS.toNanos(this.options.idleTimeout.value());
+        final Deque<PooledConnection> evicted = new ArrayDeque<>();
+        synchronized (this.idleConnections) {
+            final Iterator<PooledConnection> iterator = this.idleConnections.iterator();
+            while (iterator.hasNext()) {
+                final PooledConnection pooledConnection = iterator.next();
+                if (pooledConnection.lastReturned - cutoff < 0) {
+                    iterator.remove();
+                    evicted.add(pooledConnection);
+                }
+            }
+        }
+        for (final PooledConnection pooledConnection : evicted) {
+            this.idleEvictions.incrementAndGet();
+            this.destroy(pooledConnection);
+        }
+        if (!evicted.isEmpty()) {
+            this.plugin.getLogger().log(Level.FINER, "[Storage] Closed {0} idle pooled connection(s).", evicted.size());
+        }
+    }
+
+    /**
+     * Gets a snapshot of the pool counters.
+     *
+     * @return The pool metrics.
+     */
+    public @NotNull Metrics getMetrics() {
+        final int idle;
+        synchronized (this.idleConnections) {
+            idle = this.idleConnections.size();
+        }
+        return new Metrics(this.activeConnections.get(), idle, this.options.maxSize.value(), this.created.get(),
+                this.destroyed.get(), this.borrowed.get(), this.validationFailures.get(), this.idleEvictions.get(),
+                this.waitTimeouts.get(), this.statementCacheHits.get(), this.statementCacheMisses.get());
+    }
+
+    /**
+     * Closes every idle connection and prevents new connections from being borrowed.
+     * Borrowed connections are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        final Deque<PooledConnection> remaining;
+        synchronized (this.idleConnections) {
+            remaining = new ArrayDeque<>(this.idleConnections);
+            this.idleConnections.clear();
+        }
+        for (final PooledConnection pooledConnection : remaining) {
+            this.destroy(pooledConnection);
+        }
+        this.plugin.getLogger().log(Level.FINE, "[Storage] Connection pool closed. {0}", this.getMetrics());
+    }
+
+    // Takes the most recently used idle connection, if any.
+    private @Nullable PooledConnection pollIdle() {
+        synchronized (this.idleConnections) {
+            return this.idleConnections.pollFirst();
+        }
+    }
+
+    // Hands a connection back to the pool, or closes it if it can no longer be used.
+    private void release(final @NotNull PooledConnection pooledConnection) {
+        this.activeConnections.decrementAndGet();
+        try {
+            if (this.closed || !pooledConnection.reset()) {
+                this.destroy(pooledConnection);
+                return;
+            }
+            pooledConnection.lastReturned = System.nanoTime();
+            synchronized (this.idleConnections) {
+                this.idleConnections.addFirst(pooledConnection);
+            }
+        } finally {
+            this.permits.release();
+        }
+    }
+
+    // Closes a physical connection and its cached statements.
+    private void destroy(final @NotNull PooledConnection pooledConnection) {
+        this.destroyed.incrementAndGet();
+        pooledConnection.closePhysical();
+    }
+
+    /**
+     * A snapshot of the connection pool counters.
+     *
+     * @param active               The number of connections currently borrowed.
+     * @param idle                 The number of open connections waiting in the pool.
+     * @param maxSize              The maximum number of open connections.
+     * @param created              The number of physical connections opened.
+     * @param destroyed            The number of physical connections closed.
+     * @param borrowed             The number of times a connection was handed out.
+     * @param validationFailures   The number of idle connections discarded because they failed validation.
+     * @param idleEvictions        The number of idle connections closed after the idle timeout.
+     * @param waitTimeouts         The number of requests which timed out waiting for a free connection.
+     * @param statementCacheHits   The number of prepared statements served from a connection's cache.
+     * @param statementCacheMisses The number of prepared statements which had to be prepared.
+     */
+    public record Metrics(int active, int idle, int maxSize, long created, long destroyed, long borrowed,
+                          long validationFailures, long idleEvictions, long waitTimeouts,
+                          long statementCacheHits, long statementCacheMisses) {
+    }
+
+    /**
+     * A physical connection owned by the pool, along with its prepared statement cache.
+     */
+    private final class PooledConnection {
+        // The physical connection.
+        private final @NotNull Connection connection;
+        // Cached statements by SQL, least recently used first. Only touched by the borrowing thread.
+        private final @NotNull Map<String, PreparedStatement> statementCache;
+        // When the connection was last returned to the pool.
+        private volatile long lastReturned = System.nanoTime();
+
+        private PooledConnection(final @NotNull Connection connection) {
+            this.connection = connection;
+            final int cacheSize = PooledConnectionManager.this.options.statementCacheSize.value();
+            this.statementCache = new LinkedHashMap<>(16, 0.75F, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, PreparedStatement> eldest) {
+                    if (this.size() > cacheSize) {
+                        closeQuietly(eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        // Checks that the physical connection is still alive.
+        private boolean isValid(final int timeoutSeconds) {
+            try {
+                return !this.connection.isClosed() && this.connection.isValid(timeoutSeconds);
+            } catch (final SQLException ex) {
+                return false;
+            }
+        }
+
+        // Restores the connection to its default state before it goes back into the pool.
+        private boolean reset() {
+            try {
+                if (this.connection.isClosed()) {
+                    return false;
+                }
+                if (!this.connection.getAutoCommit()) {
+                    this.connection.rollback();
+                    this.connection.setAutoCommit(true);
+                }
+                this.connection.clearWarnings();
+                return true;
+            } catch (final SQLException ex) {
+                return false;
+            }
+        }
+
+        // Closes the physical connection and all cached statements.
+        private void closePhysical() {
+            for (final PreparedStatement statement : this.statementCache.values()) {
+                closeQuietly(statement);
+            }
+            this.statementCache.clear();
+            try {
+                this.connection.close();
+            } catch (final SQLException ex) {
+                PooledConnectionManager.this.plugin.getLogger()
+                        .log(Level.FINEST, "[Storage] Failed to close a pooled connection cleanly.", ex);
+            }
+        }
+
+        // Creates a handle for a single borrower.
+        private @NotNull Connection borrow() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, new ConnectionHandle(this));
+        }
+
+        // Gets a cached statement for the SQL or prepares a new one.
+        private @NotNull PreparedStatement prepareCached(final @NotNull String sql) throws SQLException {
+            @Nullable PreparedStatement statement = this.statementCache.get(sql);
+            if (statement != null && !statement.isClosed()) {
+                PooledConnectionManager.this.statementCacheHits.incrementAndGet();
+            } else {
+                PooledConnectionManager.this.statementCacheMisses.incrementAndGet();
+                statement = this.connection.prepareStatement(sql);
+                if (PooledConnectionManager.this.options.statementCacheSize.value() <= 0) {
+                    return statement;
+                }
+                this.statementCache.put(sql, statement);
+            }
+            final PreparedStatement cachedStatement = statement;
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                    // Keep the statement open for the next borrower, but drop anything left over from this one.
+                    cachedStatement.clearParameters();
+                    cachedStatement.clearBatch();
+                    return null;
+                }
+                return invoke(cachedStatement, method, args);
+            });
+        }
+    }
+
+    /**
+     * The connection handed out to a borrower. Closing it returns the physical connection to the pool.
+     */
+    private final class ConnectionHandle implements InvocationHandler {
+        // The pooled connection.
+        private final @NotNull PooledConnection pooledConnection;
+        // Whether the borrower has already closed this handle.
+        private boolean released = false;
+
+        private ConnectionHandle(final @NotNull PooledConnection pooledConnection) {
+            this.pooledConnection = pooledConnection;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final String name = method.getName();
+            if ("close".equals(name) && method.getParameterCount() == 0) {
+                if (!this.released) {
+                    this.released = true;
+                    PooledConnectionManager.this.release(this.pooledConnection);
+                }
+                return null;
+            }
+            if ("isClosed".equals(name) && method.getParameterCount() == 0) {
+                return this.released || this.pooledConnection.connection.isClosed();
+            }
+            if ("equals".equals(name) && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(name) && method.getParameterCount() == 0) {
+                return System.identityHashCode(proxy);
+            }
+            if ("toString".equals(name) && method.getParameterCount() == 0) {
+                return "Pooled" + this.pooledConnection.connection;
+            }
+            if (this.released) {
+                throw new SQLException("Connection has already been returned to the pool.");
+            }
+            if ("prepareStatement".equals(name) && method.getParameterCount() == 1) {
+                return this.pooledConnection.prepareCached((String) args[0]);
+            }
+            return PooledConnectionManager.invoke(this.pooledConnection.connection, method, args);
+        }
+    }
+
+    // Invokes a method on the target and unwraps any exception it throws.
+    private static Object invoke(final @NotNull Object target, final @NotNull Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (final InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    // Closes a statement, ignoring any errors.
+    private static void closeQuietly(final @NotNull PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (final SQLException ignored) {
+        }
+    }
+}
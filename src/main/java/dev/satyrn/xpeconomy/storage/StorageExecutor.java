@@ -0,0 +1,125 @@
+package dev.satyrn.xpeconomy.storage;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking storage work off the server's shared scheduler threads.
+ * <p>
+ * By default each task runs on its own virtual thread, so many reads and writes can wait on storage at once without
+ * tying up a platform thread each. Storage operations run through {@link #limit(Supplier)}, which bounds how many may
+ * use the storage backend at the same time. Tasks waiting for a permit are parked cheaply instead of queued.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.2
+ */
+public final class StorageExecutor implements Executor {
+    // Runs submitted tasks.
+    private final transient @NotNull ExecutorService executor;
+    // Limits the number of storage operations which may run at once.
+    private final transient @NotNull Semaphore permits;
+    // The number of permits held by the current thread, so nested operations do not wait on themselves.
+    private final transient @NotNull ThreadLocal<int[]> heldPermits = ThreadLocal.withInitial(() -> new int[1]);
+    // Whether each task runs on its own virtual thread rather than on a fixed pool.
+    private final transient boolean threadPerTask;
+
+    /**
+     * Creates a new storage executor.
+     *
+     * @param threads                 The number of platform threads to run tasks on, or 0 to run each task on its
+     *                                own virtual thread.
+     * @param maxConcurrentOperations The maximum number of storage operations which may run at once.
+     */
+    public StorageExecutor(final int threads, final int maxConcurrentOperations) {
+        this.threadPerTask = threads == 0;
+        if (threads == 0) {
+            this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("XPEconomy-Storage-", 0).factory());
+        } else {
+            this.executor = Executors.newFixedThreadPool(threads, Thread.ofPlatform()
+                    .name("XPEconomy-Storage-", 0)
+                    .daemon(true)
+                    .factory());
+        }
+        this.permits = new Semaphore(maxConcurrentOperations, true);
+    }
+
+    /**
+     * Checks whether each task runs on its own thread. Only then may a task submit more tasks to this executor and
+     * wait for them; on a fixed pool, the waiting task could hold the thread the others need.
+     *
+     * @return {@code true} if tasks run on their own virtual threads; {@code false} if they share a fixed pool.
+     */
+    public boolean isThreadPerTask() {
+        return this.threadPerTask;
+    }
+
+    /**
+     * Runs a task on a storage thread.
+     *
+     * @param command The task.
+     */
+    @Override
+    public void execute(final @NotNull Runnable command) {
+        this.executor.execute(command);
+    }
+
+    /**
+     * Runs a storage operation on the current thread once fewer than the maximum number of operations are running.
+     * Operations started from within another operation on the same thread run immediately.
+     *
+     * @param operation The storage operation.
+     * @param <T>       The result type.
+     * @return The operation's result.
+     */
+    public <T> T limit(final @NotNull Supplier<T> operation) {
+        final int[] held = this.heldPermits.get();
+        if (held[0] > 0) {
+            return operation.get();
+        }
+        this.permits.acquireUninterruptibly();
+        held[0]++;
+        try {
+            return operation.get();
+        } finally {
+            held[0]--;
+            this.permits.release();
+        }
+    }
+
+    /**
+     * Runs a storage operation on the current thread once fewer than the maximum number of operations are running.
+     *
+     * @param operation The storage operation.
+     */
+    public void limit(final @NotNull Runnable operation) {
+        this.limit(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Stops accepting tasks and waits for running tasks to finish. Tasks still running after the timeout are
+     * interrupted.
+     *
+     * @param timeout The maximum time to wait.
+     * @param unit    The unit of the timeout.
+     */
+    public void shutdown(final long timeout, final @NotNull TimeUnit unit) {
+        this.executor.shutdown();
+        try {
+            if (!this.executor.awaitTermination(timeout, unit)) {
+                this.executor.shutdownNow();
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            this.executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package dev.satyrn.xpeconomy.tasks;
+
+import dev.satyrn.xpeconomy.economy.PlayerAccountManagerBase;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.logging.Level;
+
+/**
+ * Task used to remove idle offline accounts from memory when accounts are loaded on demand.
+ */
+public final class AccountCacheEvictionTask extends BukkitRunnable {
+    // The plugin instance.
+    private final transient Plugin plugin;
+    // The account manager.
+    private final transient PlayerAccountManagerBase accountManager;
+
+    /**
+     * Creates a new account cache eviction task.
+     *
+     * @param plugin         The plugin instance.
+     * @param accountManager The account manager.
+     */
+    public AccountCacheEvictionTask(final Plugin plugin, final PlayerAccountManagerBase accountManager) {
+        this.plugin = plugin;
+        this.accountManager = accountManager;
+    }
+
+    /**
+     * When an object implementing interface {@code Runnable} is used
+     * to create a thread, starting the thread causes the object's
+     * {@code run} method to be called in that separately executing
+     * thread.
+     * <p>
+     * The general contract of the method {@code run} is that it may
+     * take any action whatsoever.
+     *
+     * @see Thread#run()
+     */
+    @Override
+    public void run() {
+        final int evicted = this.accountManager.evictIdleAccounts(uuid -> this.plugin.getServer().getPlayer(uuid) != null);
+        if (evicted > 0) {
+            this.plugin.getLogger().log(Level.FINER, "[Scheduled Task] Evicted {0} idle account(s) from memory.", evicted);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package dev.satyrn.xpeconomy.tasks;
+
+import dev.satyrn.xpeconomy.economy.BalanceChangePublisher;
+import org.bukkit.scheduler.BukkitRunnable;
+
+/**
+ * Task used to publish the balance changes of each tick as a single event.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.2
+ */
+public final class BalanceChangePublishTask extends BukkitRunnable {
+    // The balance change publisher.
+    private final transient BalanceChangePublisher publisher;
+
+    /**
+     * Creates a new balance change publish task.
+     *
+     * @param publisher The balance change publisher.
+     */
+    public BalanceChangePublishTask(final BalanceChangePublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    /**
+     * When an object implementing interface {@code Runnable} is used
+     * to create a thread, starting the thread causes the object's
+     * {@code run} method to be called in that separately executing
+     * thread.
+     * <p>
+     * The general contract of the method {@code run} is that it may
+     * take any action whatsoever.
+     *
+     * @see Thread#run()
+     */
+    @Override
+    public void run() {
+        this.publisher.publish();
+    }
+}
@@ -0,0 +1,45 @@
+package dev.satyrn.xpeconomy.tasks;
+
+import dev.satyrn.xpeconomy.storage.PooledConnectionManager;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.logging.Level;
+
+/**
+ * Task used to close idle pooled database connections.
+ */
+public final class ConnectionPoolEvictionTask extends BukkitRunnable {
+    // The plugin instance.
+    private final transient Plugin plugin;
+    // The connection pool.
+    private final transient PooledConnectionManager connectionPool;
+
+    /**
+     * Creates a new connection pool eviction task.
+     *
+     * @param plugin         The plugin instance.
+     * @param connectionPool The connection pool.
+     */
+    public ConnectionPoolEvictionTask(final Plugin plugin, final PooledConnectionManager connectionPool) {
+        this.plugin = plugin;
+        this.connectionPool = connectionPool;
+    }
+
+    /**
+     * When an object implementing interface {@code Runnable} is used
+     * to create a thread, starting the thread causes the object's
+     * {@code run} method to be called in that separately executing
+     * thread.
+     * <p>
+     * The general contract of the method {@code run} is that it may
+     * take any action whatsoever.
+     *
+     * @see Thread#run()
+     */
+    @Override
+    public void run() {
+        this.connectionPool.evictIdleConnections();
+        this.plugin.getLogger().log(Level.FINEST, "[Scheduled Task] Connection pool status: {0}", this.connectionPool.getMetrics());
+    }
+}
@@ -0,0 +1,50 @@
+package dev.satyrn.xpeconomy.tasks;
+
+import dev.satyrn.xpeconomy.economy.PlayerAccountManagerBase;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.logging.Level;
+
+/**
+ * Task used to end balance holds which were not committed or released before they expired.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.2
+ */
+public final class HoldExpiryTask extends BukkitRunnable {
+    // The plugin instance.
+    private final transient Plugin plugin;
+    // The account manager.
+    private final transient PlayerAccountManagerBase accountManager;
+
+    /**
+     * Creates a new hold expiry task.
+     *
+     * @param plugin         The plugin instance.
+     * @param accountManager The account manager.
+     */
+    public HoldExpiryTask(final Plugin plugin, final PlayerAccountManagerBase accountManager) {
+        this.plugin = plugin;
+        this.accountManager = accountManager;
+    }
+
+    /**
+     * When an object implementing interface {@code Runnable} is used
+     * to create a thread, starting the thread causes the object's
+     * {@code run} method to be called in that separately executing
+     * thread.
+     * <p>
+     * The general contract of the method {@code run} is that it may
+     * take any action whatsoever.
+     *
+     * @see Thread#run()
+     */
+    @Override
+    public void run() {
+        final int expired = this.accountManager.expireHolds();
+        if (expired > 0) {
+            this.plugin.getLogger().log(Level.FINER, "[Scheduled Task] Released {0} expired balance hold(s).", expired);
+        }
+    }
+}
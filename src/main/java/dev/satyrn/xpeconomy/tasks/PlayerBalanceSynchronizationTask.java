@@ -5,10 +5,21 @@ import dev.satyrn.xpeconomy.utils.PlayerXPUtils;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitRunnable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.math.BigInteger;
 import java.util.logging.Level;
 
+/**
+ * Task used to add a change to a player's experience, such as picking up experience or enchanting an item, to their
+ * account balance.
+ * <p>
+ * The player's experience total is read when the task is scheduled, before the change, and again when it runs. Only
+ * the difference is added to the balance, so balance changes made in the meantime on other threads are kept. The
+ * player's experience is then set to the balance, which includes both. Until the task runs, updates which set the
+ * player's experience to their balance are skipped, so the change cannot be discarded before it is counted.
+ */
 public final class PlayerBalanceSynchronizationTask extends BukkitRunnable {
     // The plugin instance
     private final transient Plugin plugin;
@@ -16,11 +27,30 @@ public final class PlayerBalanceSynchronizationTask extends BukkitRunnable {
     private final transient Player player;
     // The account to synchronize
     private final transient Account account;
+    // The player's experience total before the change.
+    private final transient BigInteger previousXPTotal;
 
-    public PlayerBalanceSynchronizationTask(final Plugin plugin, final Player player, final Account account) {
+    private PlayerBalanceSynchronizationTask(final Plugin plugin, final Player player, final Account account) {
         this.plugin = plugin;
         this.player = player;
         this.account = account;
+        this.previousXPTotal = PlayerXPUtils.getPlayerXPTotal(player);
+    }
+
+    /**
+     * Schedules adding a change to a player's experience to their balance on the next tick. Must be called on the main
+     * thread before the change is applied. If a change is already pending for the player, the scheduled task counts
+     * this change as well.
+     *
+     * @param plugin  The plugin instance.
+     * @param player  The player.
+     * @param account The player's account, or {@code null} if the player has no account.
+     */
+    public static void schedule(final @NotNull Plugin plugin, final @NotNull Player player, final @Nullable Account account) {
+        if (account == null || !PlayerXPUtils.beginExperienceChange(player.getUniqueId())) {
+            return;
+        }
+        new PlayerBalanceSynchronizationTask(plugin, player, account).runTaskLater(plugin, 1L);
     }
 
     /**
@@ -36,12 +66,14 @@ public final class PlayerBalanceSynchronizationTask extends BukkitRunnable {
      */
     @Override
     public void run() {
-        final int level = player.getLevel();
-        final float progress = player.getExp();
-
-        final BigInteger currentXPBalance = PlayerXPUtils.getTotalXPValue(level, progress);
+        PlayerXPUtils.endExperienceChange(this.player.getUniqueId());
+        final BigInteger currentXPTotal = PlayerXPUtils.getPlayerXPTotal(this.player);
+        final BigInteger change = currentXPTotal.subtract(this.previousXPTotal);
+        final BigInteger balance = change.signum() == 0 ? this.account.getBalanceRaw() : this.account.addBalanceRaw(change);
         this.plugin.getLogger().log(Level.FINER,
-                String.format("[Scheduled Task] Setting player account balance to \"%s\"", currentXPBalance.doubleValue()));
-        this.account.setBalanceRaw(currentXPBalance, false);
+                String.format("[Scheduled Task] Added \"%s\" to player account balance", change.doubleValue()));
+        if (this.player.isOnline() && !balance.equals(currentXPTotal)) {
+            PlayerXPUtils.setPlayerXPTotal(this.player, balance);
+        }
     }
 }
@@ -0,0 +1,64 @@
+package dev.satyrn.xpeconomy.tasks;
+
+import dev.satyrn.xpeconomy.api.economy.Account;
+import dev.satyrn.xpeconomy.utils.PlayerXPUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Task used to synchronize the experience of every online player in a batch of changed accounts, once each.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.2
+ */
+public final class PlayerExperienceBatchSynchronizationTask extends BukkitRunnable {
+    // The plugin instance.
+    private final transient Plugin plugin;
+    // The changed accounts.
+    private final transient Collection<Account> accounts;
+
+    /**
+     * Creates a new batch experience synchronization task.
+     *
+     * @param plugin   The plugin instance.
+     * @param accounts The changed accounts.
+     */
+    public PlayerExperienceBatchSynchronizationTask(final Plugin plugin, final @NotNull Collection<Account> accounts) {
+        this.plugin = plugin;
+        this.accounts = List.copyOf(accounts);
+    }
+
+    /**
+     * When an object implementing interface {@code Runnable} is used
+     * to create a thread, starting the thread causes the object's
+     * {@code run} method to be called in that separately executing
+     * thread.
+     * <p>
+     * The general contract of the method {@code run} is that it may
+     * take any action whatsoever.
+     *
+     * @see Thread#run()
+     */
+    @Override
+    public void run() {
+        int updated = 0;
+        for (final Account account : this.accounts) {
+            final Player player = Bukkit.getPlayer(account.getUUID());
+            // Players with a pending experience change have their experience set once the change is counted.
+            if (player != null && !PlayerXPUtils.isExperienceChangePending(player.getUniqueId())) {
+                // The latest balance is read, so changes made since the batch was applied are included.
+                PlayerXPUtils.setPlayerXPTotal(player, account.getBalanceRaw());
+                updated++;
+            }
+        }
+        this.plugin.getLogger()
+                .log(Level.FINER, "[Scheduled Task] Set experience for {0} online player(s) after a batch balance change.", updated);
+    }
+}
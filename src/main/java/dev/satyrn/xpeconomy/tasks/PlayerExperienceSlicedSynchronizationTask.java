@@ -0,0 +1,99 @@
+package dev.satyrn.xpeconomy.tasks;
+
+import dev.satyrn.xpeconomy.api.economy.Account;
+import dev.satyrn.xpeconomy.utils.PlayerXPUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * Task used to synchronize the experience of the online players in a large batch of changed accounts, spread over as
+ * many ticks as it takes.
+ * <p>
+ * Each run works through the queue until its time budget is spent, then yields the rest of the tick. At least one
+ * player is updated per run, so the task always finishes. Schedule it to run every tick.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.2
+ */
+public final class PlayerExperienceSlicedSynchronizationTask extends BukkitRunnable {
+    // The plugin instance.
+    private final transient Plugin plugin;
+    // The changed accounts which have not been synchronized yet.
+    private final transient Queue<Account> accounts;
+    // The time each run may spend, in nanoseconds.
+    private final transient long budgetNanos;
+    // Completed once every account has been synchronized.
+    private final transient CompletableFuture<Integer> completion = new CompletableFuture<>();
+    // The number of online players updated so far.
+    private transient int updated = 0;
+    // The number of runs so far.
+    private transient int slices = 0;
+
+    /**
+     * Creates a new time-sliced experience synchronization task.
+     *
+     * @param plugin      The plugin instance.
+     * @param accounts    The changed accounts.
+     * @param budgetNanos The time each run may spend, in nanoseconds.
+     */
+    public PlayerExperienceSlicedSynchronizationTask(final Plugin plugin, final @NotNull Collection<Account> accounts, final long budgetNanos) {
+        this.plugin = plugin;
+        this.accounts = new ArrayDeque<>(accounts);
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Gets a future which completes with the number of online players updated once the task has finished.
+     *
+     * @return The completion future.
+     */
+    public @NotNull CompletableFuture<Integer> whenComplete() {
+        return this.completion;
+    }
+
+    /**
+     * When an object implementing interface {@code Runnable} is used
+     * to create a thread, starting the thread causes the object's
+     * {@code run} method to be called in that separately executing
+     * thread.
+     * <p>
+     * The general contract of the method {@code run} is that it may
+     * take any action whatsoever.
+     *
+     * @see Thread#run()
+     */
+    @Override
+    public void run() {
+        final long start = System.nanoTime();
+        this.slices++;
+        do {
+            final Account account = this.accounts.poll();
+            if (account == null) {
+                break;
+            }
+            final Player player = Bukkit.getPlayer(account.getUUID());
+            // Players with a pending experience change have their experience set once the change is counted.
+            if (player != null && !PlayerXPUtils.isExperienceChangePending(player.getUniqueId())) {
+                // The latest balance is read, so changes made since the batch was applied are included.
+                PlayerXPUtils.setPlayerXPTotal(player, account.getBalanceRaw());
+                this.updated++;
+            }
+        } while (System.nanoTime() - start < this.budgetNanos);
+
+        if (this.accounts.isEmpty()) {
+            this.cancel();
+            this.plugin.getLogger()
+                    .log(Level.FINER, "[Scheduled Task] Set experience for {0} online player(s) over {1} tick(s) after a bulk balance change.", new Object[]{this.updated, this.slices});
+            this.completion.complete(this.updated);
+        }
+    }
+}
@@ -3,16 +3,33 @@ package dev.satyrn.xpeconomy.tasks;
 import dev.satyrn.xpeconomy.api.economy.AccountManager;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitRunnable;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 
 public final class SaveAccountDataTask extends BukkitRunnable {
     private final transient Plugin plugin;
     private final transient AccountManager accountManager;
+    // The single account to save, or null to save every account.
+    private final transient @Nullable UUID uuid;
 
     public SaveAccountDataTask(final Plugin plugin, final AccountManager accountManager) {
+        this(plugin, accountManager, null);
+    }
+
+    /**
+     * Creates a task which saves a single account.
+     *
+     * @param plugin         The plugin instance.
+     * @param accountManager The account manager instance.
+     * @param uuid           The UUID of the account to save, or {@code null} to save every account.
+     */
+    public SaveAccountDataTask(final Plugin plugin, final AccountManager accountManager, final @Nullable UUID uuid) {
         this.plugin = plugin;
         this.accountManager = accountManager;
+        this.uuid = uuid;
     }
 
     /**
@@ -28,7 +45,26 @@ public final class SaveAccountDataTask extends BukkitRunnable {
      */
     @Override
     public void run() {
-        this.plugin.getLogger().log(Level.FINER, "[Scheduled Task] Saving account data.");
-        this.accountManager.save();
+        if (!this.accountManager.whenLoaded().isDone()) {
+            this.plugin.getLogger().log(Level.FINER, "[Scheduled Task] Account data is still loading, skipping save.");
+            return;
+        }
+        if (this.accountManager.whenLoaded().isCompletedExceptionally()) {
+            this.plugin.getLogger().log(Level.FINER, "[Scheduled Task] Account data failed to load, skipping save.");
+            return;
+        }
+        // The write runs on the storage executor, so this task's thread is released immediately.
+        final CompletableFuture<Void> write;
+        if (this.uuid != null) {
+            this.plugin.getLogger().log(Level.FINER, "[Scheduled Task] Saving account data for {0}.", this.uuid);
+            write = this.accountManager.saveAccountAsync(this.uuid);
+        } else {
+            this.plugin.getLogger().log(Level.FINER, "[Scheduled Task] Saving account data.");
+            write = this.accountManager.flushAsync();
+        }
+        write.exceptionally(ex -> {
+            this.plugin.getLogger().log(Level.SEVERE, "[Scheduled Task] Failed to save account data.", ex);
+            return null;
+        });
     }
 }
@@ -0,0 +1,164 @@
+package dev.satyrn.xpeconomy.utils;
+
+import dev.satyrn.xpeconomy.api.economy.Account;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Selects the accounts a bulk balance operation applies to. Selectors are written in place of a player argument:
+ * <ul>
+ *     <li>{@code @a} selects the accounts of every online player.</li>
+ *     <li>{@code @accounts} selects every account.</li>
+ *     <li>{@code @balance:MIN..MAX} selects accounts with a balance between two amounts, inclusive. Either amount may
+ *     be left out.</li>
+ *     <li>{@code @permission:NODE} selects accounts whose owner has a permission.</li>
+ * </ul>
+ *
+ * @param type       The kind of selector.
+ * @param minimum    The lowest balance selected, or {@code null} if there is no lower bound.
+ * @param maximum    The highest balance selected, or {@code null} if there is no upper bound.
+ * @param permission The permission account owners must have, or {@code null} if the selector is not a permission
+ *                   selector.
+ * @author Isabel Maskrey
+ * @since 1.1.2
+ */
+public record AccountSelector(@NotNull Type type,
+                              @Nullable BigDecimal minimum,
+                              @Nullable BigDecimal maximum,
+                              @Nullable String permission) {
+    // The prefix of a balance range selector.
+    private static final String BALANCE_PREFIX = "@balance:";
+    // The prefix of a permission selector.
+    private static final String PERMISSION_PREFIX = "@permission:";
+    // The selectors offered when completing an argument.
+    private static final List<String> COMPLETIONS = List.of("@a", "@accounts", BALANCE_PREFIX, PERMISSION_PREFIX);
+
+    /**
+     * Checks whether an argument is written as a selector rather than a player name or UUID.
+     *
+     * @param argument The argument.
+     * @return {@code true} if the argument starts with {@code @}; otherwise, {@code false}.
+     */
+    public static boolean isSelector(final @NotNull String argument) {
+        return argument.startsWith("@");
+    }
+
+    /**
+     * Parses a selector argument.
+     *
+     * @param argument The argument.
+     * @return The selector, or an empty optional if the argument is not a valid selector.
+     */
+    public static @NotNull Optional<AccountSelector> parse(final @NotNull String argument) {
+        final String lowerArgument = argument.toLowerCase(Locale.ROOT);
+        if ("@a".equals(lowerArgument)) {
+            return Optional.of(new AccountSelector(Type.ONLINE, null, null, null));
+        }
+        if ("@accounts".equals(lowerArgument)) {
+            return Optional.of(new AccountSelector(Type.ALL, null, null, null));
+        }
+        if (lowerArgument.startsWith(PERMISSION_PREFIX)) {
+            final String permission = argument.substring(PERMISSION_PREFIX.length());
+            return permission.isBlank() ? Optional.empty() : Optional.of(new AccountSelector(Type.PERMISSION, null, null, permission));
+        }
+        if (lowerArgument.startsWith(BALANCE_PREFIX)) {
+            final String range = argument.substring(BALANCE_PREFIX.length());
+            final int separator = range.indexOf("..");
+            try {
+                final BigDecimal minimum;
+                final BigDecimal maximum;
+                if (separator < 0) {
+                    minimum = new BigDecimal(range);
+                    maximum = minimum;
+                } else {
+                    final String minimumArg = range.substring(0, separator);
+                    final String maximumArg = range.substring(separator + 2);
+                    minimum = minimumArg.isEmpty() ? null : new BigDecimal(minimumArg);
+                    maximum = maximumArg.isEmpty() ? null : new BigDecimal(maximumArg);
+                }
+                if (minimum != null && maximum != null && minimum.compareTo(maximum) > 0) {
+                    return Optional.empty();
+                }
+                return Optional.of(new AccountSelector(Type.BALANCE, minimum, maximum, null));
+            } catch (NumberFormatException ex) {
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the selectors starting with a prefix, ignoring case.
+     *
+     * @param prefix The prefix.
+     * @return The matching selectors.
+     */
+    public static @NotNull List<String> complete(final @NotNull String prefix) {
+        final String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        final List<String> completions = new ArrayList<>();
+        for (final String completion : COMPLETIONS) {
+            if (completion.startsWith(lowerPrefix)) {
+                completions.add(completion);
+            }
+        }
+        return completions;
+    }
+
+    /**
+     * Checks whether an account's balance is within the selected range. Selectors which are not balance selectors
+     * accept every balance.
+     *
+     * @param account The account.
+     * @return {@code true} if the account's balance is selected; otherwise, {@code false}.
+     */
+    public boolean matchesBalance(final @NotNull Account account) {
+        if (this.type != Type.BALANCE) {
+            return true;
+        }
+        final BigDecimal balance = account.getBalance();
+        return (this.minimum == null || balance.compareTo(this.minimum) >= 0) && (this.maximum == null || balance.compareTo(this.maximum) <= 0);
+    }
+
+    /**
+     * Formats the selector as it is written in a command.
+     *
+     * @return The selector argument.
+     */
+    @Override
+    public @NotNull String toString() {
+        return switch (this.type) {
+            case ONLINE -> "@a";
+            case ALL -> "@accounts";
+            case BALANCE -> BALANCE_PREFIX + (this.minimum == null ? "" : this.minimum.toPlainString()) + ".." + (this.maximum == null ? "" : this.maximum.toPlainString());
+            case PERMISSION -> PERMISSION_PREFIX + this.permission;
+        };
+    }
+
+    /**
+     * The kinds of selector.
+     */
+    public enum Type {
+        /**
+         * Selects the accounts of every online player.
+         */
+        ONLINE,
+        /**
+         * Selects every account.
+         */
+        ALL,
+        /**
+         * Selects accounts with a balance in a range.
+         */
+        BALANCE,
+        /**
+         * Selects accounts whose owner has a permission.
+         */
+        PERMISSION
+    }
+}
@@ -1,26 +1,23 @@
 package dev.satyrn.xpeconomy.utils;
 
-import org.bukkit.Bukkit;
-import org.bukkit.OfflinePlayer;
-import org.bukkit.entity.HumanEntity;
-import org.bukkit.entity.Player;
+import dev.satyrn.xpeconomy.api.economy.AccountManager;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Collection;
-import java.util.Comparator;
-import java.util.Optional;
-import java.util.UUID;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.List;
 
 /**
  * Handles common Command tasks.
  */
 public final class Commands {
     /**
-     * UUID pattern matcher. h/t code4copy
+     * The names of the players online, maintained as players join and quit.
      */
-    private final static Pattern UUID_PATTERN = Pattern.compile("(?i)^[{]?[0-9A-F]{8}-([0-9A-F]{4}-){3}[0-9A-F]{12}[}]?$");
+    private final static PlayerNameTrie ONLINE_PLAYER_NAMES = new PlayerNameTrie();
+
+    /**
+     * The largest number of player names suggested when completing a player argument.
+     */
+    public static final int MAX_PLAYER_COMPLETIONS = 50;
 
     /**
      * Do not instantiate this class.
@@ -29,52 +26,33 @@ public final class Commands {
     }
 
     /**
-     * Gets all player names from the online player list.
+     * Gets the names of account owners starting with the argument being completed, ignoring case. Online players
+     * are included, as each has an account.
      *
-     * @return All player names from the online player list.
+     * @param accountManager The account manager instance.
+     * @param prefix         The argument being completed.
+     * @return Up to {@link #MAX_PLAYER_COMPLETIONS} player names, in alphabetical order.
      */
-    public static Collection<String> getPlayerNames() {
-        final Collection<? extends Player> players = Bukkit.getOnlinePlayers();
-        return players.stream()
-                .map(HumanEntity::getName)
-                .sorted(Comparator.naturalOrder())
-                .collect(Collectors.toList());
+    public static @NotNull List<String> getPlayerNames(final @NotNull AccountManager accountManager, final @NotNull String prefix) {
+        return accountManager.findAccountNames(prefix, MAX_PLAYER_COMPLETIONS);
     }
 
     /**
-     * Gets a target from all online players
+     * Gets the names of online players starting with the argument being completed, ignoring case.
      *
-     * @param target The target identifier.
-     * @return An optional of player.
+     * @param prefix The argument being completed.
+     * @return Up to {@link #MAX_PLAYER_COMPLETIONS} player names, in alphabetical order.
      */
-    public static @NotNull Optional<? extends Player> getOnlinePlayer(final @NotNull String target) {
-        final Collection<? extends Player> players = Bukkit.getOnlinePlayers();
-        final Optional<? extends Player> onlinePlayer;
-        if (UUID_PATTERN.matcher(target).matches()) {
-            final UUID uuid = UUID.fromString(target);
-            onlinePlayer = players.stream()
-                    .filter(player -> player.getUniqueId() == uuid && player.isOnline())
-                    .findFirst();
-        } else {
-            onlinePlayer = Optional.ofNullable(Bukkit.getPlayerExact(target));
-        }
-        return onlinePlayer;
+    public static @NotNull List<String> getOnlinePlayerNames(final @NotNull String prefix) {
+        return ONLINE_PLAYER_NAMES.complete(prefix, MAX_PLAYER_COMPLETIONS);
     }
 
     /**
-     * Gets a target from all players.
+     * Gets the index of online player names, which player event listeners update as players join and quit.
      *
-     * @param target The target identifier.
-     * @return An optional of OfflinePlayer.
+     * @return The online player name index.
      */
-    public static @NotNull Optional<OfflinePlayer> getPlayer(final @NotNull String target) {
-        final Optional<OfflinePlayer> player;
-        if (UUID_PATTERN.matcher(target).matches()) {
-            final UUID uuid = UUID.fromString(target);
-            player = Optional.of(Bukkit.getOfflinePlayer(uuid));
-        } else {
-            player = Optional.ofNullable(Bukkit.getOfflinePlayerIfCached(target));
-        }
-        return player;
+    public static @NotNull PlayerNameTrie getOnlinePlayerNameIndex() {
+        return ONLINE_PLAYER_NAMES;
     }
 }
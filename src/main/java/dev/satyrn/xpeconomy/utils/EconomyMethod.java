@@ -27,6 +27,17 @@ public enum EconomyMethod {
      */
     PER_HUNDRED(2, RoundingMode.DOWN, "currency.perHundred");
 
+    /**
+     * The exclusive upper bound of amounts which convert to POINTS with primitive arithmetic. Every double below it
+     * truncates exactly into a long.
+     */
+    private static final double MAX_PRIMITIVE_POINTS = 0x1p63;
+    /**
+     * The exclusive upper bound of amounts which convert to PER_HUNDRED with primitive arithmetic. Below it, doubles
+     * are fine-grained enough that every amount with at most two decimal places is distinct.
+     */
+    private static final double MAX_PRIMITIVE_PER_HUNDRED = 1E12;
+
     /**
      * The decimal scale of the economy method.
      */
@@ -168,6 +179,56 @@ public enum EconomyMethod {
         }
     }
 
+    /**
+     * Converts a raw XP value which fits in a long into an economy value.
+     *
+     * @param rawBalance The raw XP value.
+     * @return The economy value.
+     */
+    public double fromRawBalance(final long rawBalance) {
+        switch (this) {
+            case POINTS -> {
+                return rawBalance;
+            }
+            case PER_HUNDRED -> {
+                return rawBalance / 100L;
+            }
+            default -> {
+                return this.fromRawBalance(BigInteger.valueOf(rawBalance)).doubleValue();
+            }
+        }
+    }
+
+    /**
+     * Converts a non-negative economy amount into a raw XP amount using primitive arithmetic. Gives the same result
+     * as {@link #toRawBalance(BigDecimal, BigInteger)} for {@code BigDecimal.valueOf(amount)}.
+     *
+     * @param amount The economy amount.
+     * @return The raw XP amount, or -1 if the amount is negative, the economy method is LEVELS, or the amount cannot
+     *         be converted exactly without {@link BigDecimal}.
+     */
+    public long toRawAmount(final double amount) {
+        if (!(amount >= 0D)) {
+            return -1L;
+        }
+        switch (this) {
+            case POINTS -> {
+                return amount < MAX_PRIMITIVE_POINTS ? (long) amount : -1L;
+            }
+            case PER_HUNDRED -> {
+                if (amount >= MAX_PRIMITIVE_PER_HUNDRED) {
+                    return -1L;
+                }
+                // Only amounts with at most two decimal places scale exactly; finer amounts are truncated.
+                final long hundredths = Math.round(amount * 100D);
+                return hundredths / 100D == amount ? hundredths : -1L;
+            }
+            default -> {
+                return -1L;
+            }
+        }
+    }
+
     /**
      * Converts economy values into raw XP values.
      *
@@ -0,0 +1,197 @@
+package dev.satyrn.xpeconomy.utils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A case-insensitive prefix trie of player names and their UUIDs, used to complete and resolve player name arguments.
+ * <p>
+ * Names are keyed by their lowercase form and completed with the case they were last added with. Looking up a single
+ * name costs only the length of the name. Branches are removed as soon as they hold no names, so every branch visited
+ * while completing leads to at least one match: finding the first {@code limit} matches for a prefix costs the length
+ * of the prefix plus the length of the names returned, regardless of how many names are stored.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.2
+ */
+public final class PlayerNameTrie {
+    // The root node, for the empty prefix.
+    private final @NotNull Node root = new Node();
+    // Held while reading or changing the trie.
+    private final @NotNull ReadWriteLock lock = new ReentrantReadWriteLock();
+    // The number of names in the trie.
+    private int size = 0;
+
+    /**
+     * Adds a name to the trie, replacing the case and UUID of the name if it is already present. Empty names are
+     * ignored.
+     *
+     * @param name The name.
+     * @param uuid The UUID of the player with the name.
+     */
+    public void add(final @Nullable String name, final @NotNull UUID uuid) {
+        if (name == null || name.isEmpty()) {
+            return;
+        }
+        final String key = name.toLowerCase(Locale.ROOT);
+        this.lock.writeLock().lock();
+        try {
+            Node node = this.root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+            }
+            if (node.name == null) {
+                this.size++;
+            }
+            node.name = name;
+            node.uuid = uuid;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a name from the trie, ignoring case, unless it has since been added for another player.
+     *
+     * @param name The name.
+     * @param uuid The UUID of the player the name is removed for.
+     * @return {@code true} if the name was removed; {@code false} if it was not in the trie for the player.
+     */
+    public boolean remove(final @Nullable String name, final @NotNull UUID uuid) {
+        if (name == null || name.isEmpty()) {
+            return false;
+        }
+        final String key = name.toLowerCase(Locale.ROOT);
+        this.lock.writeLock().lock();
+        try {
+            final Node[] path = new Node[key.length() + 1];
+            path[0] = this.root;
+            for (int i = 0; i < key.length(); i++) {
+                path[i + 1] = path[i].children.get(key.charAt(i));
+                if (path[i + 1] == null) {
+                    return false;
+                }
+            }
+            final Node node = path[key.length()];
+            if (node.name == null || !uuid.equals(node.uuid)) {
+                return false;
+            }
+            node.name = null;
+            node.uuid = null;
+            this.size--;
+            // Prune the branches left without names.
+            for (int i = key.length(); i > 0 && path[i].name == null && path[i].children.isEmpty(); i--) {
+                path[i - 1].children.remove(key.charAt(i - 1));
+            }
+            return true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the UUID of the player with a name, ignoring case.
+     *
+     * @param name The name.
+     * @return The player UUID, or {@code null} if the name is not in the trie.
+     */
+    public @Nullable UUID find(final @NotNull String name) {
+        final String key = name.toLowerCase(Locale.ROOT);
+        this.lock.readLock().lock();
+        try {
+            Node node = this.root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            return node == null ? null : node.uuid;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the names starting with a prefix, ignoring case, in alphabetical order.
+     *
+     * @param prefix The prefix.
+     * @param limit  The largest number of names to return.
+     * @return Up to {@code limit} names starting with the prefix.
+     */
+    public @NotNull List<String> complete(final @NotNull String prefix, final int limit) {
+        final List<String> names = new ArrayList<>(Math.min(Math.max(limit, 0), 16));
+        if (limit <= 0) {
+            return names;
+        }
+        final String key = prefix.toLowerCase(Locale.ROOT);
+        this.lock.readLock().lock();
+        try {
+            Node node = this.root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            if (node == null) {
+                return names;
+            }
+            // Depth-first, in key order, so the names come out sorted.
+            final Deque<Iterator<Node>> branches = new ArrayDeque<>();
+            if (node.name != null) {
+                names.add(node.name);
+            }
+            branches.push(node.children.values().iterator());
+            while (!branches.isEmpty() && names.size() < limit) {
+                final Iterator<Node> branch = branches.peek();
+                if (!branch.hasNext()) {
+                    branches.pop();
+                    continue;
+                }
+                final Node child = branch.next();
+                if (child.name != null) {
+                    names.add(child.name);
+                }
+                if (!child.children.isEmpty()) {
+                    branches.push(child.children.values().iterator());
+                }
+            }
+            return names;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of names in the trie.
+     *
+     * @return The number of names.
+     */
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.size;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * A node of the trie.
+     */
+    private static final class Node {
+        // The child nodes, by the next character of the key.
+        private final @NotNull Map<Character, Node> children = new TreeMap<>();
+        // The name ending at this node, or null if no name ends here.
+        private @Nullable String name;
+        // The UUID of the player with the name ending at this node, or null if no name ends here.
+        private @Nullable UUID uuid;
+    }
+}
@@ -0,0 +1,178 @@
+package dev.satyrn.xpeconomy.utils;
+
+import dev.satyrn.xpeconomy.api.economy.Account;
+import dev.satyrn.xpeconomy.api.economy.AccountManager;
+import org.bukkit.Server;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves player name or UUID command arguments to the player's account and, if they are online, their player.
+ * <p>
+ * Online players are found through the server's player maps, and offline account owners through the account name
+ * index, so each lookup costs only the length of the argument. Names which match no player are remembered for a
+ * short time, so repeated lookups of the same unknown player do not reach storage. A name is forgotten as soon as an
+ * account is added under it or a player with it joins.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.2
+ */
+public final class PlayerResolver {
+    // UUID pattern matcher, optionally wrapped in braces. h/t code4copy
+    private static final Pattern UUID_PATTERN = Pattern.compile("(?i)^[{]?[0-9A-F]{8}-([0-9A-F]{4}-){3}[0-9A-F]{12}[}]?$");
+    // How long a name which matched no player is remembered, in milliseconds.
+    private static final long NEGATIVE_CACHE_MILLIS = 30_000L;
+    // The largest number of names remembered as matching no player.
+    private static final int NEGATIVE_CACHE_SIZE = 1024;
+
+    // The server instance.
+    private final @NotNull Server server;
+    // The account manager instance.
+    private final @NotNull AccountManager accountManager;
+    // The lowercase names which matched no player, and the time each stops being remembered.
+    private final @NotNull Map<String, Long> unknownPlayers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new player resolver.
+     *
+     * @param server         The server instance.
+     * @param accountManager The account manager instance.
+     */
+    public PlayerResolver(final @NotNull Server server, final @NotNull AccountManager accountManager) {
+        this.server = server;
+        this.accountManager = accountManager;
+    }
+
+    /**
+     * Resolves a player name or UUID to the player's account and online player.
+     *
+     * @param target The player name or UUID.
+     * @return The resolved player, or an empty optional if the argument is a name which matches no online player or
+     * account. UUIDs always resolve, without an account if the player has none.
+     */
+    public @NotNull Optional<Target> resolve(final @NotNull String target) {
+        final UUID uuid = parseUUID(target);
+        final Player player = uuid == null ? this.server.getPlayerExact(target) : this.server.getPlayer(uuid);
+        if (player != null) {
+            return Optional.of(this.resolve(player));
+        }
+
+        if (uuid != null) {
+            // UUIDs are not remembered as unknown, since a well-formed UUID always resolves.
+            final Account account = this.accountManager.getAccount(uuid);
+            return Optional.of(account == null ? new Target(uuid, target, null, null) : this.resolve(account, target));
+        }
+
+        final String key = target.toLowerCase(Locale.ROOT);
+        if (!this.isUnknown(key)) {
+            final UUID owner = this.accountManager.findAccountOwner(target);
+            final Account account = owner == null ? null : this.accountManager.getAccount(owner);
+            if (account != null) {
+                return Optional.of(this.resolve(account, target));
+            }
+            this.rememberUnknown(key);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Resolves an online player to their account.
+     *
+     * @param player The player.
+     * @return The resolved player.
+     */
+    public @NotNull Target resolve(final @NotNull Player player) {
+        return new Target(player.getUniqueId(), player.getName(), player, this.accountManager.getAccount(player.getUniqueId()));
+    }
+
+    /**
+     * Resolves a player name or UUID to an online player, without looking up their account.
+     *
+     * @param target The player name or UUID.
+     * @return The online player, or an empty optional if no online player matches.
+     */
+    public @NotNull Optional<Player> resolveOnline(final @NotNull String target) {
+        final UUID uuid = parseUUID(target);
+        return Optional.ofNullable(uuid == null ? this.server.getPlayerExact(target) : this.server.getPlayer(uuid));
+    }
+
+    /**
+     * Forgets that a name matched no player, so the next lookup of it reaches the account manager. Called when an
+     * account is added under the name or a player with it joins.
+     *
+     * @param name The player name.
+     */
+    public void forget(final @NotNull String name) {
+        if (!name.isEmpty()) {
+            this.unknownPlayers.remove(name.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    // Resolves an offline player's account, naming them by the argument if their name is not known.
+    private @NotNull Target resolve(final @NotNull Account account, final @NotNull String target) {
+        return new Target(account.getUUID(), account.getName().isEmpty() ? target : account.getName(), null, account);
+    }
+
+    // Checks whether a name recently matched no player, forgetting it once it has expired.
+    private boolean isUnknown(final @NotNull String key) {
+        final Long expiresAt = this.unknownPlayers.get(key);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt > System.currentTimeMillis()) {
+            return true;
+        }
+        this.unknownPlayers.remove(key, expiresAt);
+        return false;
+    }
+
+    // Remembers that a name matched no player.
+    private void rememberUnknown(final @NotNull String key) {
+        if (this.unknownPlayers.size() >= NEGATIVE_CACHE_SIZE) {
+            this.unknownPlayers.clear();
+        }
+        this.unknownPlayers.put(key, System.currentTimeMillis() + NEGATIVE_CACHE_MILLIS);
+    }
+
+    /**
+     * Parses a UUID argument.
+     *
+     * @param target The argument.
+     * @return The UUID, or {@code null} if the argument is not a UUID.
+     */
+    private static @Nullable UUID parseUUID(final @NotNull String target) {
+        if (!UUID_PATTERN.matcher(target).matches()) {
+            return null;
+        }
+        return UUID.fromString(target.replace("{", "").replace("}", ""));
+    }
+
+    /**
+     * A resolved player.
+     *
+     * @param uuid    The player UUID.
+     * @param name    The player's name, or the argument they were resolved from if their name is not known.
+     * @param player  The online player, or {@code null} if the player is offline.
+     * @param account The player's account, or {@code null} if the player has no account.
+     */
+    public record Target(@NotNull UUID uuid, @NotNull String name, @Nullable Player player, @Nullable Account account) {
+        /**
+         * Checks whether the player is the sender of a command.
+         *
+         * @param sender The command sender.
+         * @return {@code true} if the sender is the resolved player; otherwise, {@code false}.
+         */
+        public boolean isSender(final @NotNull CommandSender sender) {
+            return sender instanceof final Player player && player.getUniqueId().equals(this.uuid);
+        }
+    }
+}
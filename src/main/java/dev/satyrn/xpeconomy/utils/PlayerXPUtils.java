@@ -11,10 +11,15 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
 /**
  * Performs XP conversion, calculation, and updating.
+ * <p>
+ * Player experience is owned by the main thread. Every method which reads or changes a player's experience must be
+ * called there.
  */
 public final class PlayerXPUtils {
     /**
@@ -29,15 +34,54 @@ public final class PlayerXPUtils {
      * The maximum level count at which the second function should be used.
      */
     private static final BigInteger FUNC_2_MAX = BigInteger.valueOf(31);
+    /**
+     * The players whose experience has changed by an amount which has not been added to their balance yet.
+     */
+    private static final Set<UUID> PENDING_EXPERIENCE_CHANGES = new HashSet<>();
+
+    /**
+     * Records that a player's experience is about to change by an amount which is added to their balance later.
+     * Until {@link #endExperienceChange(UUID)} is called, setting the player's experience to their balance would
+     * discard the change, so {@link #setPlayerXPTotal(UUID, BigInteger)} does nothing for the player.
+     *
+     * @param uuid The player UUID.
+     * @return {@code true} if no change was pending for the player; otherwise, {@code false}.
+     */
+    public static boolean beginExperienceChange(final @NotNull UUID uuid) {
+        return PENDING_EXPERIENCE_CHANGES.add(uuid);
+    }
 
     /**
-     * Sets a player's experience values to a specific balance.
+     * Records that a player's pending experience change has been added to their balance.
+     *
+     * @param uuid The player UUID.
+     */
+    public static void endExperienceChange(final @NotNull UUID uuid) {
+        PENDING_EXPERIENCE_CHANGES.remove(uuid);
+    }
+
+    /**
+     * Checks whether a player's experience has changed by an amount which has not been added to their balance yet.
+     *
+     * @param uuid The player UUID.
+     * @return {@code true} if a change is pending; otherwise, {@code false}.
+     */
+    public static boolean isExperienceChangePending(final @NotNull UUID uuid) {
+        return PENDING_EXPERIENCE_CHANGES.contains(uuid);
+    }
+
+    /**
+     * Sets a player's experience values to a specific balance. Does nothing while an experience change is pending for
+     * the player; the task which adds the change to the balance sets the player's experience once it has.
      *
      * @param uuid  The player UUID.
      * @param total The player balance.
      */
     @SuppressWarnings("unused")
     public static void setPlayerXPTotal(final @NotNull UUID uuid, final @NotNull BigInteger total) {
+        if (isExperienceChangePending(uuid)) {
+            return;
+        }
         final OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(uuid);
         final Player player = offlinePlayer.getPlayer();
         if (!offlinePlayer.isOnline() || player == null) {
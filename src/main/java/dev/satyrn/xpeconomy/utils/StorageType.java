@@ -0,0 +1,32 @@
+package dev.satyrn.xpeconomy.utils;
+
+/**
+ * Account storage backend.
+ */
+public enum StorageType {
+    /**
+     * Stores accounts in the accounts.yml file.
+     */
+    YAML,
+    /**
+     * Stores accounts in a MySQL database.
+     */
+    MYSQL,
+    /**
+     * Stores accounts in an embedded SQLite database file.
+     */
+    SQLITE,
+    /**
+     * Stores accounts as fixed-width records in a memory-mapped binary file.
+     */
+    BINARY;
+
+    /**
+     * Returns the default storage type.
+     *
+     * @return YAML
+     */
+    public static StorageType getDefault() {
+        return YAML;
+    }
+}
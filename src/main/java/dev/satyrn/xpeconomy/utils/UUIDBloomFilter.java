@@ -0,0 +1,96 @@
+package dev.satyrn.xpeconomy.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread-safe Bloom filter of UUIDs. Answers whether a UUID was definitely never added, or might have been.
+ *
+ * @author Isabel Maskrey
+ * @since 1.1.2
+ */
+public final class UUIDBloomFilter {
+    // The filter bits, 64 per element.
+    private final @NotNull AtomicLongArray bits;
+    // The number of filter bits.
+    private final long bitCount;
+    // The number of bits set for each UUID.
+    private final int hashCount;
+
+    /**
+     * Creates a filter sized to hold a number of UUIDs at a target false positive probability.
+     *
+     * @param expectedInsertions       The number of UUIDs expected to be added.
+     * @param falsePositiveProbability The probability of reporting a UUID which was never added, between 0 and 1.
+     */
+    public UUIDBloomFilter(final long expectedInsertions, final double falsePositiveProbability) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive.");
+        }
+        if (falsePositiveProbability <= 0D || falsePositiveProbability >= 1D) {
+            throw new IllegalArgumentException("False positive probability must be between 0 and 1.");
+        }
+        final double optimalBits = -expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2));
+        final int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1L, ((long) Math.ceil(optimalBits) + 63) / 64));
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) this.bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Adds a UUID to the filter.
+     *
+     * @param uuid The UUID.
+     */
+    public void add(final @NotNull UUID uuid) {
+        final long hash1 = mix(uuid.getMostSignificantBits() ^ Long.rotateLeft(uuid.getLeastSignificantBits(), 32));
+        final long hash2 = mix(uuid.getLeastSignificantBits() + hash1) | 1L;
+        for (int i = 0; i < this.hashCount; i++) {
+            final long bit = Math.floorMod(hash1 + i * hash2, this.bitCount);
+            final int word = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            long current;
+            do {
+                current = this.bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!this.bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    /**
+     * Checks whether a UUID might have been added to the filter.
+     *
+     * @param uuid The UUID.
+     * @return {@code false} if the UUID was definitely never added; otherwise, {@code true}.
+     */
+    public boolean mightContain(final @NotNull UUID uuid) {
+        final long hash1 = mix(uuid.getMostSignificantBits() ^ Long.rotateLeft(uuid.getLeastSignificantBits(), 32));
+        final long hash2 = mix(uuid.getLeastSignificantBits() + hash1) | 1L;
+        for (int i = 0; i < this.hashCount; i++) {
+            final long bit = Math.floorMod(hash1 + i * hash2, this.bitCount);
+            if ((this.bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Scrambles the bits of a value (the MurmurHash3 64-bit finalizer).
+     *
+     * @param value The value.
+     * @return The scrambled value.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,49 @@
+package dev.satyrn.xpeconomy.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Converts UUIDs to and from their binary storage form.
+ */
+public final class UUIDUtils {
+    /**
+     * Do not instantiate this class.
+     */
+    private UUIDUtils() {
+    }
+
+    /**
+     * Converts a UUID to a 16-byte array, most significant bits first.
+     *
+     * @param uuid The UUID to convert.
+     * @return The byte array representation.
+     */
+    public static byte @NotNull [] toBytes(final @NotNull UUID uuid) {
+        final byte[] bytes = new byte[16];
+        final long mostSigBits = uuid.getMostSignificantBits();
+        final long leastSigBits = uuid.getLeastSignificantBits();
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (mostSigBits >>> (8 * (7 - i)));
+            bytes[8 + i] = (byte) (leastSigBits >>> (8 * (7 - i)));
+        }
+        return bytes;
+    }
+
+    /**
+     * Converts a 16-byte array to a UUID.
+     *
+     * @param bytes The byte array to convert.
+     * @return The UUID.
+     */
+    public static @NotNull UUID fromBytes(final byte @NotNull [] bytes) {
+        long mostSigBits = 0;
+        long leastSigBits = 0;
+        for (int i = 0; i < 8; i++) {
+            mostSigBits = (mostSigBits << 8) | (bytes[i] & 0xff);
+            leastSigBits = (leastSigBits << 8) | (bytes[8 + i] & 0xff);
+        }
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}